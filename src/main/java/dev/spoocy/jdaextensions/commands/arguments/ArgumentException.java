@@ -0,0 +1,57 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Thrown if the arguments of a prefix command do not match the arguments of the command.
+ * <br> The message is meant to be shown to the user.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class ArgumentException extends IllegalArgumentException {
+
+    private final Argument argument;
+
+    public ArgumentException(@NotNull Argument argument, @NotNull String message) {
+        super(message);
+        this.argument = argument;
+    }
+
+    /**
+     * Creates an exception for a missing required argument.
+     *
+     * @param argument
+     *        the missing argument
+     *
+     * @return the exception
+     */
+    @NotNull
+    public static ArgumentException missing(@NotNull Argument argument) {
+        return new ArgumentException(argument, "Missing argument '" + argument.name() + "'.");
+    }
+
+    /**
+     * Creates an exception for an invalid value of an argument.
+     *
+     * @param argument
+     *        the argument
+     * @param requirement
+     *        what the value has to be, for example {@code "a whole number"}
+     *
+     * @return the exception
+     */
+    @NotNull
+    public static ArgumentException invalid(@NotNull Argument argument, @NotNull String requirement) {
+        return new ArgumentException(argument, "Argument '" + argument.name() + "' must be " + requirement + ".");
+    }
+
+    /**
+     * @return the argument which caused the exception
+     */
+    @NotNull
+    public Argument getArgument() {
+        return this.argument;
+    }
+
+}
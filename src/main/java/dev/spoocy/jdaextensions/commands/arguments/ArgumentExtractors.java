@@ -0,0 +1,102 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import dev.spoocy.jdaextensions.commands.event.CommandContext;
+import net.dv8tion.jda.api.entities.IMentionable;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.unions.GuildChannelUnion;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Typed readers of the arguments of a {@link CommandContext} by their slot,
+ * used by compiled and generated executors of annotated commands.
+ * <br> Arguments of a context without {@link CommandContext#hasArgumentSlots() slots}
+ * are looked up by their name instead.
+ * <br> Missing arguments are returned as {@code null}, or as the default value
+ * ({@code 0}, {@code false}) by the primitive readers.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class ArgumentExtractors {
+
+    private ArgumentExtractors() { }
+
+    @Nullable
+    public static String text(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsString() : null;
+    }
+
+    public static int integer(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsInt() : 0;
+    }
+
+    @Nullable
+    public static Integer boxedInteger(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsInt() : null;
+    }
+
+    public static boolean bool(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null && argument.getAsBoolean();
+    }
+
+    @Nullable
+    public static Boolean boxedBool(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsBoolean() : null;
+    }
+
+    public static double number(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsDouble() : 0.0;
+    }
+
+    @Nullable
+    public static Double boxedNumber(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsDouble() : null;
+    }
+
+    @Nullable
+    public static User user(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsUser() : null;
+    }
+
+    @Nullable
+    public static GuildChannelUnion channel(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsChannel() : null;
+    }
+
+    @Nullable
+    public static Role role(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsRole() : null;
+    }
+
+    @Nullable
+    public static IMentionable mentionable(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsMentionable() : null;
+    }
+
+    @Nullable
+    public static Message.Attachment attachment(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = argument(context, slot, name);
+        return argument != null ? argument.getAsAttachment() : null;
+    }
+
+    @Nullable
+    private static ProvidedArgument argument(@NotNull CommandContext context, int slot, @NotNull String name) {
+        ProvidedArgument argument = context.getArgument(slot);
+        return argument != null || context.hasArgumentSlots() ? argument : context.getArgument(name);
+    }
+
+}
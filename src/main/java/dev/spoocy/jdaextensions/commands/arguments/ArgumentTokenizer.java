@@ -0,0 +1,159 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Splits the arguments of a prefix command into tokens.
+ * <br> Tokens are separated by whitespace, text in double quotes is a single token without the quotes.
+ * Quotes cannot be escaped, an unterminated quote is part of the token.
+ * <br> Tokens are {@link CharSequence} views on the message content, nothing is copied
+ * until {@link Object#toString()} is called on a token.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class ArgumentTokenizer {
+
+    private static final char QUOTE = '"';
+
+    private final CharSequence content;
+    private final int length;
+    private int position;
+
+    /**
+     * @param content
+     *        the content of the message
+     * @param offset
+     *        the index the arguments start at
+     */
+    public ArgumentTokenizer(@NotNull CharSequence content, int offset) {
+        if (offset < 0 || offset > content.length()) {
+            throw new IllegalArgumentException("Offset is out of bounds.");
+        }
+        this.content = content;
+        this.length = content.length();
+        this.position = offset;
+    }
+
+    public boolean hasNext() {
+        skipWhitespace();
+        return this.position < this.length;
+    }
+
+    /**
+     * Reads the next token.
+     *
+     * @return the token, or {@code null} if there are no more tokens
+     */
+    @Nullable
+    public CharSequence next() {
+        if (!hasNext()) {
+            return null;
+        }
+
+        int start = this.position;
+        if (this.content.charAt(start) == QUOTE) {
+            int close = indexOf(QUOTE, start + 1);
+            if (close > 0) {
+                this.position = close + 1;
+                return new Token(this.content, start + 1, close);
+            }
+        }
+
+        int end = start;
+        while (end < this.length && !Character.isWhitespace(this.content.charAt(end))) {
+            end++;
+        }
+        this.position = end;
+        return new Token(this.content, start, end);
+    }
+
+    /**
+     * Reads all remaining content as a single token, without the surrounding whitespace.
+     * If the remaining content is quoted as a whole, the quotes are removed.
+     *
+     * @return the remaining content, or {@code null} if there is none
+     */
+    @Nullable
+    public CharSequence rest() {
+        if (!hasNext()) {
+            return null;
+        }
+
+        int start = this.position;
+        int end = this.length;
+        while (Character.isWhitespace(this.content.charAt(end - 1))) {
+            end--;
+        }
+        this.position = this.length;
+
+        if (end - start >= 2 && this.content.charAt(start) == QUOTE && this.content.charAt(end - 1) == QUOTE
+                && indexOf(QUOTE, start + 1) == end - 1) {
+            return new Token(this.content, start + 1, end - 1);
+        }
+        return new Token(this.content, start, end);
+    }
+
+    private void skipWhitespace() {
+        while (this.position < this.length && Character.isWhitespace(this.content.charAt(this.position))) {
+            this.position++;
+        }
+    }
+
+    private int indexOf(char c, int from) {
+        for (int i = from; i < this.length; i++) {
+            if (this.content.charAt(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * A view on a range of the message content.
+     */
+    private static final class Token implements CharSequence {
+
+        private final CharSequence source;
+        private final int start;
+        private final int end;
+        private String string;
+
+        private Token(@NotNull CharSequence source, int start, int end) {
+            this.source = source;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int length() {
+            return this.end - this.start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index < 0 || index >= length()) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for length " + length());
+            }
+            return this.source.charAt(this.start + index);
+        }
+
+        @Override
+        public @NotNull CharSequence subSequence(int start, int end) {
+            if (start < 0 || end > length() || start > end) {
+                throw new IndexOutOfBoundsException("Range " + start + "-" + end + " is out of bounds for length " + length());
+            }
+            return new Token(this.source, this.start + start, this.start + end);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            if (this.string == null) {
+                this.string = this.source.subSequence(this.start, this.end).toString();
+            }
+            return this.string;
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Parses snowflake IDs from argument tokens, either as a mention or as a plain ID, without allocating.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class MentionTokens {
+
+    public static final String USER = "<@";
+    public static final String USER_NICKNAME = "<@!";
+    public static final String ROLE = "<@&";
+    public static final String CHANNEL = "<#";
+
+    // snowflakes fit into 19 digits, longer numbers are rejected before parsing
+    private static final int MAX_DIGITS = 19;
+
+    private MentionTokens() { }
+
+    /**
+     * Parses a user mention in either format, or a plain ID.
+     *
+     * @param token
+     *        the token
+     *
+     * @return the ID, or {@code 0} if the token is neither
+     */
+    public static long userId(@NotNull CharSequence token) {
+        long id = parse(token, USER_NICKNAME);
+        return id != 0L ? id : parse(token, USER);
+    }
+
+    /**
+     * Parses a mention with the given prefix, for example {@code <@&id>} for {@link #ROLE},
+     * or a plain ID.
+     *
+     * @param token
+     *        the token
+     * @param mentionPrefix
+     *        the prefix of the mention
+     *
+     * @return the ID, or {@code 0} if the token is neither
+     */
+    public static long parse(@NotNull CharSequence token, @NotNull String mentionPrefix) {
+        int length = token.length();
+        if (length == 0) {
+            return 0L;
+        }
+
+        if (token.charAt(0) != '<') {
+            return digits(token, 0, length);
+        }
+
+        int prefixLength = mentionPrefix.length();
+        if (length < prefixLength + 2 || token.charAt(length - 1) != '>') {
+            return 0L;
+        }
+        for (int i = 0; i < prefixLength; i++) {
+            if (token.charAt(i) != mentionPrefix.charAt(i)) {
+                return 0L;
+            }
+        }
+        return digits(token, prefixLength, length - 1);
+    }
+
+    /**
+     * Parses a plain whole number.
+     *
+     * @param token
+     *        the token
+     *
+     * @return the number
+     *
+     * @throws NumberFormatException
+     *         if the token is not a whole number
+     */
+    public static long parseLong(@NotNull CharSequence token) {
+        return Long.parseLong(token, 0, token.length(), 10);
+    }
+
+    private static long digits(@NotNull CharSequence token, int start, int end) {
+        if (start == end || end - start > MAX_DIGITS) {
+            return 0L;
+        }
+
+        long id = 0L;
+        for (int i = start; i < end; i++) {
+            char c = token.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0L;
+            }
+            id = id * 10 + (c - '0');
+        }
+        // 19 digits may still exceed Long.MAX_VALUE, which wraps into a negative value
+        return id < 0L ? 0L : id;
+    }
+
+}
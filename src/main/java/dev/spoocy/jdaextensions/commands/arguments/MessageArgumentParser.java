@@ -0,0 +1,134 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument;
+import dev.spoocy.jdaextensions.commands.arguments.impl.AttachmentArgument;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Converts the content of a prefix command into the arguments of the command.
+ * <br> Arguments are read in declaration order, one token each. If the last argument reading
+ * a token is a string, it receives all remaining content, so it does not have to be quoted.
+ * Attachment arguments receive the attachments of the message in order instead of a token.
+ * <br> Mentions and IDs are only resolved from the message and the cache, no REST requests are made.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class MessageArgumentParser {
+
+    private MessageArgumentParser() { }
+
+    /**
+     * Parses the arguments of a command.
+     *
+     * @param arguments
+     *        the arguments of the command
+     * @param content
+     *        the content of the message
+     * @param offset
+     *        the index the arguments start at
+     * @param message
+     *        the message of the command
+     *
+     * @return the provided arguments, missing optional arguments are left out
+     *
+     * @throws ArgumentException
+     *         if a required argument is missing or a value is invalid
+     */
+    @NotNull
+    public static List<ParsedArgument> parse(@NotNull List<AbstractArgument> arguments,
+                                             @NotNull CharSequence content,
+                                             int offset,
+                                             @NotNull Message message) {
+        ParsedArgument[] slots = parseSlots(arguments, content, offset, message);
+        if (slots.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<ParsedArgument> parsed = new ArrayList<>(slots.length);
+        for (ParsedArgument argument : slots) {
+            if (argument != null) {
+                parsed.add(argument);
+            }
+        }
+        return parsed;
+    }
+
+    /**
+     * Parses the arguments of a command into their slots.
+     * <br> The returned array has one slot per argument, in the order of the given arguments.
+     *
+     * @param arguments
+     *        the arguments of the command
+     * @param content
+     *        the content of the message
+     * @param offset
+     *        the index the arguments start at
+     * @param message
+     *        the message of the command
+     *
+     * @return the provided arguments by slot, missing optional arguments are {@code null}
+     *
+     * @throws ArgumentException
+     *         if a required argument is missing or a value is invalid
+     */
+    @NotNull
+    public static ParsedArgument[] parseSlots(@NotNull List<AbstractArgument> arguments,
+                                              @NotNull CharSequence content,
+                                              int offset,
+                                              @NotNull Message message) {
+        ParsedArgument[] parsed = new ParsedArgument[arguments.size()];
+        if (parsed.length == 0) {
+            return parsed;
+        }
+
+        int greedy = -1;
+        for (int i = arguments.size() - 1; i >= 0; i--) {
+            OptionType type = arguments.get(i).type();
+            if (type != OptionType.ATTACHMENT) {
+                greedy = type == OptionType.STRING ? i : -1;
+                break;
+            }
+        }
+
+        ArgumentTokenizer tokens = new ArgumentTokenizer(content, offset);
+        List<Message.Attachment> attachments = null;
+        int attachmentIndex = 0;
+
+        for (int i = 0; i < arguments.size(); i++) {
+            AbstractArgument argument = arguments.get(i);
+
+            if (argument instanceof AttachmentArgument) {
+                if (attachments == null) {
+                    attachments = message.getAttachments();
+                }
+
+                if (attachmentIndex < attachments.size()) {
+                    parsed[i] = ((AttachmentArgument) argument).parse(attachments.get(attachmentIndex++), message);
+                } else if (argument.required()) {
+                    throw ArgumentException.missing(argument);
+                }
+                continue;
+            }
+
+            CharSequence token = i == greedy ? tokens.rest() : tokens.next();
+            if (token == null) {
+                if (argument.required()) {
+                    throw ArgumentException.missing(argument);
+                }
+                continue;
+            }
+
+            parsed[i] = argument.parse(token, message);
+        }
+
+        return parsed;
+    }
+
+}
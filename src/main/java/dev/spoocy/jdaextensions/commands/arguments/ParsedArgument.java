@@ -0,0 +1,155 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import net.dv8tion.jda.api.entities.*;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.unions.GuildChannelUnion;
+import net.dv8tion.jda.api.interactions.commands.OptionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An argument of a prefix command, converted from the message content.
+ * <br> The getters behave like the ones of {@link net.dv8tion.jda.api.interactions.commands.OptionMapping}
+ * and throw an {@link IllegalStateException} if the value is of a different type.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class ParsedArgument implements ProvidedArgument {
+
+    private final Argument argument;
+    private final CharSequence raw;
+    @Nullable
+    private final Object value;
+    @Nullable
+    private final Member member;
+    private final Message message;
+
+    /**
+     * @param argument
+     *        the argument the value was parsed for
+     * @param raw
+     *        the token as written in the message
+     * @param value
+     *        the converted value
+     * @param member
+     *        the member of a user value, if cached
+     * @param message
+     *        the message of the command
+     */
+    public ParsedArgument(@NotNull Argument argument,
+                          @NotNull CharSequence raw,
+                          @Nullable Object value,
+                          @Nullable Member member,
+                          @NotNull Message message) {
+        this.argument = argument;
+        this.raw = raw;
+        this.value = value;
+        this.member = member;
+        this.message = message;
+    }
+
+    @Override
+    public String getName() {
+        return this.argument.name();
+    }
+
+    @Override
+    public OptionType getType() {
+        return this.argument.type();
+    }
+
+    @Override
+    public Mentions getMentions() {
+        return this.message.getMentions();
+    }
+
+    @Override
+    public Message.Attachment getAsAttachment() {
+        return as(Message.Attachment.class);
+    }
+
+    @Override
+    public String getAsString() {
+        return this.raw.toString();
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return as(Boolean.class);
+    }
+
+    @Override
+    public int getAsInt() {
+        return Math.toIntExact(getAsLong());
+    }
+
+    @Override
+    public long getAsLong() {
+        if (this.value instanceof ISnowflake) {
+            return ((ISnowflake) this.value).getIdLong();
+        }
+        return as(Long.class);
+    }
+
+    @Override
+    public double getAsDouble() {
+        return as(Number.class).doubleValue();
+    }
+
+    @Override
+    public IMentionable getAsMentionable() {
+        return as(IMentionable.class);
+    }
+
+    @Override
+    @Nullable
+    public Member getAsMember() {
+        if (this.member == null && !(this.value instanceof User)) {
+            throw wrongType("USER");
+        }
+        return this.member;
+    }
+
+    @Override
+    public User getAsUser() {
+        return as(User.class);
+    }
+
+    @Override
+    public Role getAsRole() {
+        return as(Role.class);
+    }
+
+    @Override
+    public ChannelType getAsChannelType() {
+        return getAsChannel().getType();
+    }
+
+    @Override
+    public GuildChannelUnion getAsChannel() {
+        return as(GuildChannelUnion.class);
+    }
+
+    @NotNull
+    private <T> T as(@NotNull Class<T> type) {
+        if (!type.isInstance(this.value)) {
+            throw wrongType(type.getSimpleName());
+        }
+        return type.cast(this.value);
+    }
+
+    @NotNull
+    private IllegalStateException wrongType(@NotNull String expected) {
+        return new IllegalStateException("Cannot convert argument '" + getName() + "' of type " + getType() + " to " + expected + "!");
+    }
+
+    @Override
+    public String toString() {
+        return "ParsedArgument{" +
+                "name='" + getName() + '\'' +
+                ", type=" + getType() +
+                ", raw='" + raw + '\'' +
+                '}';
+    }
+}
@@ -1,8 +1,15 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
 import dev.spoocy.jdaextensions.commands.arguments.Argument;
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * @author Spoocy99 | GitHub: Spoocy99
@@ -55,4 +62,43 @@ public abstract class AbstractArgument implements Argument {
 
     protected abstract void apply(@NotNull OptionData optionData);
 
+    /**
+     * Converts a token of a prefix command into a value of this argument
+     * and checks the restrictions of this argument, such as bounds or choices.
+     * <br> Mentions and IDs are only resolved from the message and the cache, no REST requests are made.
+     *
+     * @param token
+     *        the token
+     * @param message
+     *        the message of the command
+     *
+     * @return the converted argument
+     *
+     * @throws ArgumentException
+     *         if the token is not a valid value of this argument
+     */
+    @NotNull
+    public abstract ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message);
+
+    @Nullable
+    protected static User resolveUser(long id, @NotNull Message message) {
+        for (User user : message.getMentions().getUsers()) {
+            if (user.getIdLong() == id) {
+                return user;
+            }
+        }
+        Member member = resolveMember(id, message);
+        return member != null ? member.getUser() : message.getJDA().getUserById(id);
+    }
+
+    @Nullable
+    protected static Member resolveMember(long id, @NotNull Message message) {
+        return message.isFromGuild() ? message.getGuild().getMemberById(id) : null;
+    }
+
+    @Nullable
+    protected static Role resolveRole(long id, @NotNull Message message) {
+        return message.isFromGuild() ? message.getGuild().getRoleById(id) : null;
+    }
+
 }
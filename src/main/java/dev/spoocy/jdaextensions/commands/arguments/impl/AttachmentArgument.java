@@ -1,5 +1,8 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +26,22 @@ public class AttachmentArgument extends AbstractArgument {
         return OptionType.ATTACHMENT;
     }
 
+    /**
+     * Attachments are not part of the message content, use {@link #parse(Message.Attachment, Message)} instead.
+     *
+     * @throws ArgumentException
+     *         always
+     */
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        throw ArgumentException.invalid(this, "uploaded as an attachment");
+    }
+
+    @NotNull
+    public ParsedArgument parse(@NotNull Message.Attachment attachment, @NotNull Message message) {
+        return new ParsedArgument(this, attachment.getFileName(), attachment, null, message);
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
     }
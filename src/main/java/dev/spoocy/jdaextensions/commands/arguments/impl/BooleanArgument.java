@@ -1,5 +1,8 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +26,34 @@ public class BooleanArgument extends AbstractArgument {
         return OptionType.BOOLEAN;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        if (matches(token, "true", "yes", "on", "1")) {
+            return new ParsedArgument(this, token, Boolean.TRUE, null, message);
+        }
+        if (matches(token, "false", "no", "off", "0")) {
+            return new ParsedArgument(this, token, Boolean.FALSE, null, message);
+        }
+        throw ArgumentException.invalid(this, "true or false");
+    }
+
+    private static boolean matches(@NotNull CharSequence token, @NotNull String... values) {
+        for (String value : values) {
+            if (value.length() != token.length()) {
+                continue;
+            }
+
+            boolean equal = true;
+            for (int i = 0; i < value.length() && equal; i++) {
+                equal = Character.toLowerCase(token.charAt(i)) == value.charAt(i);
+            }
+            if (equal) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
     }
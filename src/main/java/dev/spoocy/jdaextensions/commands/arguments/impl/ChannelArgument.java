@@ -1,6 +1,11 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.MentionTokens;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.middleman.GuildChannel;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
@@ -41,6 +46,23 @@ public class ChannelArgument extends AbstractArgument {
         return this;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        long id = MentionTokens.parse(token, MentionTokens.CHANNEL);
+        if (id == 0L) {
+            throw ArgumentException.invalid(this, "a channel mention or ID");
+        }
+
+        GuildChannel channel = message.isFromGuild() ? message.getGuild().getGuildChannelById(id) : null;
+        if (channel == null) {
+            throw ArgumentException.invalid(this, "a channel of this server");
+        }
+        if (!this.channelTypes.isEmpty() && !this.channelTypes.contains(channel.getType())) {
+            throw ArgumentException.invalid(this, "a channel of type " + this.channelTypes);
+        }
+        return new ParsedArgument(this, token, channel, null, message);
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
         if (!this.channelTypes.isEmpty()) {
@@ -1,5 +1,9 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.MentionTokens;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
@@ -52,6 +56,28 @@ public class IntegerArgument extends AbstractArgument {
         return this;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        long value;
+        try {
+            value = MentionTokens.parseLong(token);
+        } catch (NumberFormatException e) {
+            throw ArgumentException.invalid(this, "a whole number");
+        }
+
+        if (this.minValue != null && value < this.minValue) {
+            throw ArgumentException.invalid(this, "at least " + this.minValue);
+        }
+        if (this.maxValue != null && value > this.maxValue) {
+            throw ArgumentException.invalid(this, "at most " + this.maxValue);
+        }
+        if (!this.choices.isEmpty() && this.choices.stream().noneMatch(choice -> choice.getAsLong() == value)) {
+            throw ArgumentException.invalid(this, "one of the choices");
+        }
+
+        return new ParsedArgument(this, token, value, null, message);
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
         if (this.minValue != null) {
@@ -1,5 +1,11 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.MentionTokens;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +29,23 @@ public class MentionableArgument extends AbstractArgument {
         return OptionType.MENTIONABLE;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        long roleId = MentionTokens.parse(token, MentionTokens.ROLE);
+        Role role = roleId == 0L ? null : resolveRole(roleId, message);
+        if (role != null) {
+            return new ParsedArgument(this, token, role, null, message);
+        }
+
+        long userId = MentionTokens.userId(token);
+        User user = userId == 0L ? null : resolveUser(userId, message);
+        if (user != null) {
+            return new ParsedArgument(this, token, user, resolveMember(userId, message), message);
+        }
+
+        throw ArgumentException.invalid(this, "a known user or role");
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
     }
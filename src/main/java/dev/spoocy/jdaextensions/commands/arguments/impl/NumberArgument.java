@@ -1,5 +1,8 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
@@ -57,6 +60,82 @@ public class NumberArgument extends AbstractArgument {
         return this;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        // Double.parseDouble also accepts type suffixes like "5d" and hexadecimal literals
+        if (!isDecimal(token)) {
+            throw ArgumentException.invalid(this, "a number");
+        }
+
+        double value;
+        try {
+            value = Double.parseDouble(token.toString());
+        } catch (NumberFormatException e) {
+            throw ArgumentException.invalid(this, "a number");
+        }
+
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            throw ArgumentException.invalid(this, "a finite number");
+        }
+        if (this.minValue != null && value < this.minValue) {
+            throw ArgumentException.invalid(this, "at least " + this.minValue);
+        }
+        if (this.maxValue != null && value > this.maxValue) {
+            throw ArgumentException.invalid(this, "at most " + this.maxValue);
+        }
+        if (!this.choices.isEmpty() && this.choices.stream().noneMatch(choice -> choice.getAsDouble() == value)) {
+            throw ArgumentException.invalid(this, "one of the choices");
+        }
+
+        return new ParsedArgument(this, token, value, null, message);
+    }
+
+    /**
+     * Checks whether the token is a plain decimal number, like {@code -1.5}, {@code .5} or {@code 2e3}.
+     */
+    private static boolean isDecimal(@NotNull CharSequence token) {
+        int length = token.length();
+        int i = 0;
+        if (i < length && (token.charAt(i) == '+' || token.charAt(i) == '-')) {
+            i++;
+        }
+
+        int digits = 0;
+        while (i < length && isDigit(token.charAt(i))) {
+            i++;
+            digits++;
+        }
+        if (i < length && token.charAt(i) == '.') {
+            i++;
+            while (i < length && isDigit(token.charAt(i))) {
+                i++;
+                digits++;
+            }
+        }
+        if (digits == 0) {
+            return false;
+        }
+
+        if (i < length && (token.charAt(i) == 'e' || token.charAt(i) == 'E')) {
+            i++;
+            if (i < length && (token.charAt(i) == '+' || token.charAt(i) == '-')) {
+                i++;
+            }
+            int exponent = i;
+            while (i < length && isDigit(token.charAt(i))) {
+                i++;
+            }
+            if (i == exponent) {
+                return false;
+            }
+        }
+        return i == length;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
         if (this.minValue != null) {
@@ -1,5 +1,10 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.MentionTokens;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +28,20 @@ public class RoleArgument extends AbstractArgument {
         return OptionType.ROLE;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        long id = MentionTokens.parse(token, MentionTokens.ROLE);
+        if (id == 0L) {
+            throw ArgumentException.invalid(this, "a role mention or ID");
+        }
+
+        Role role = resolveRole(id, message);
+        if (role == null) {
+            throw ArgumentException.invalid(this, "a role of this server");
+        }
+        return new ParsedArgument(this, token, role, null, message);
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
     }
@@ -1,6 +1,9 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.interactions.commands.Command;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
@@ -53,6 +56,37 @@ public class StringArgument extends AbstractArgument {
         return this;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        if (this.minLength > 0 && token.length() < this.minLength) {
+            throw ArgumentException.invalid(this, "at least " + this.minLength + " characters long");
+        }
+        if (this.maxLength > 0 && token.length() > this.maxLength) {
+            throw ArgumentException.invalid(this, "at most " + this.maxLength + " characters long");
+        }
+
+        if (!this.choices.isEmpty()) {
+            String value = token.toString();
+            if (this.choices.stream().noneMatch(choice -> choice.getAsString().equals(value))) {
+                throw ArgumentException.invalid(this, "one of " + choiceValues());
+            }
+        }
+
+        return new ParsedArgument(this, token, token, null, message);
+    }
+
+    @NotNull
+    private String choiceValues() {
+        StringBuilder values = new StringBuilder();
+        for (Command.Choice choice : this.choices) {
+            if (values.length() > 0) {
+                values.append(", ");
+            }
+            values.append(choice.getAsString());
+        }
+        return values.toString();
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
         if (this.minLength > 0) {
@@ -1,5 +1,10 @@
 package dev.spoocy.jdaextensions.commands.arguments.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.MentionTokens;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.interactions.commands.OptionType;
 import net.dv8tion.jda.api.interactions.commands.build.OptionData;
 import org.jetbrains.annotations.NotNull;
@@ -23,6 +28,20 @@ public class UserArgument extends AbstractArgument {
         return OptionType.USER;
     }
 
+    @Override
+    public @NotNull ParsedArgument parse(@NotNull CharSequence token, @NotNull Message message) {
+        long id = MentionTokens.userId(token);
+        if (id == 0L) {
+            throw ArgumentException.invalid(this, "a user mention or ID");
+        }
+
+        User user = resolveUser(id, message);
+        if (user == null) {
+            throw ArgumentException.invalid(this, "a known user");
+        }
+        return new ParsedArgument(this, token, user, resolveMember(id, message), message);
+    }
+
     @Override
     protected void apply(@NotNull OptionData optionData) {
     }
@@ -0,0 +1,216 @@
+package dev.spoocy.jdaextensions.commands.event;
+
+import net.dv8tion.jda.api.interactions.callbacks.IReplyCallback;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+
+/**
+ * Tracks how an interaction is acknowledged, either by the first reply of the command,
+ * which is then sent as initial response, or by deferring it.
+ * <br> An adaptive acknowledgement defers the interaction once its budget has passed without a reply,
+ * so fast commands only need a single request while slow commands still answer within Discord's limit.
+ * <br> The latency of the acknowledgement is measured from the creation time of the interaction.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class Acknowledgement {
+
+    /**
+     * The time in milliseconds after its creation in which an interaction has to be acknowledged.
+     */
+    public static final long DEADLINE = 3000;
+
+    /**
+     * The time in milliseconds after its creation in which the hook of an interaction can be used.
+     */
+    public static final long HOOK_LIFETIME = TimeUnit.MINUTES.toMillis(15);
+
+    private static final int PENDING = 0;
+    private static final int REPLIED = 1;
+    private static final int DEFERRED = 2;
+
+    private final IReplyCallback interaction;
+    private final boolean ephemeral;
+    private final AtomicInteger state;
+    @Nullable
+    private final LongConsumer latency;
+    private volatile Future<?> deferral;
+
+    private Acknowledgement(@NotNull IReplyCallback interaction, boolean ephemeral, @Nullable LongConsumer latency) {
+        this.interaction = interaction;
+        this.ephemeral = ephemeral;
+        this.state = new AtomicInteger(PENDING);
+        this.latency = latency;
+    }
+
+    /**
+     * Defers the interaction immediately, all replies are sent through its hook.
+     *
+     * @param interaction
+     *        the interaction
+     * @param ephemeral
+     *        whether the replies are only visible to the user
+     * @param latency
+     *        receives the latency of the acknowledgement in milliseconds, may be {@code null}
+     *
+     * @return the acknowledgement
+     */
+    @NotNull
+    public static Acknowledgement deferred(@NotNull IReplyCallback interaction, boolean ephemeral, @Nullable LongConsumer latency) {
+        Acknowledgement acknowledgement = new Acknowledgement(interaction, ephemeral, latency);
+        acknowledgement.defer();
+        return acknowledgement;
+    }
+
+    /**
+     * Sends the first reply as initial response, the interaction is not deferred automatically.
+     *
+     * @param interaction
+     *        the interaction
+     * @param ephemeral
+     *        whether the replies are only visible to the user
+     * @param latency
+     *        receives the latency of the acknowledgement in milliseconds, may be {@code null}
+     *
+     * @return the acknowledgement
+     */
+    @NotNull
+    public static Acknowledgement manual(@NotNull IReplyCallback interaction, boolean ephemeral, @Nullable LongConsumer latency) {
+        return new Acknowledgement(interaction, ephemeral, latency);
+    }
+
+    /**
+     * Sends the first reply as initial response if it is sent within the given budget,
+     * measured from the creation of the interaction. Otherwise the interaction is deferred
+     * and all replies are sent through its hook.
+     * <br> The interaction is deferred at most {@code budget} milliseconds after this call,
+     * even if the local clock lags behind the creation time of the interaction.
+     *
+     * @param interaction
+     *        the interaction
+     * @param ephemeral
+     *        whether the replies are only visible to the user
+     * @param budget
+     *        the time in milliseconds after the creation of the interaction to wait for a reply
+     * @param latency
+     *        receives the latency of the acknowledgement in milliseconds, may be {@code null}
+     *
+     * @return the acknowledgement
+     */
+    @NotNull
+    public static Acknowledgement adaptive(@NotNull IReplyCallback interaction, boolean ephemeral, long budget, @Nullable LongConsumer latency) {
+        Acknowledgement acknowledgement = new Acknowledgement(interaction, ephemeral, latency);
+
+        long delay = Math.min(budget, timeCreated(interaction.getIdLong()) + budget - System.currentTimeMillis());
+        if (delay <= 0) {
+            acknowledgement.defer();
+        } else {
+            acknowledgement.deferral = interaction.getJDA().getRateLimitPool().schedule(acknowledgement::defer, delay, TimeUnit.MILLISECONDS);
+        }
+        return acknowledgement;
+    }
+
+    /**
+     * Gets the creation time of a snowflake without creating a date object.
+     *
+     * @param id
+     *        the snowflake id
+     *
+     * @return the creation time in epoch milliseconds
+     */
+    public static long timeCreated(long id) {
+        return (id >>> TimeUtil.TIMESTAMP_OFFSET) + TimeUtil.DISCORD_EPOCH;
+    }
+
+    /**
+     * Gets the age of an interaction by the creation time of its snowflake.
+     *
+     * @param interaction
+     *        the interaction
+     *
+     * @return the age in milliseconds
+     */
+    public static long age(@NotNull IReplyCallback interaction) {
+        return System.currentTimeMillis() - timeCreated(interaction.getIdLong());
+    }
+
+    /**
+     * Claims the initial response of the interaction for a reply.
+     *
+     * @return true if the reply has to be sent as initial response,
+     *         false if the interaction is already acknowledged and the reply has to use the hook
+     */
+    public boolean claim() {
+        if (this.interaction.isAcknowledged() || !this.state.compareAndSet(PENDING, REPLIED)) {
+            return false;
+        }
+
+        Future<?> deferral = this.deferral;
+        if (deferral != null) {
+            deferral.cancel(false);
+        }
+        acknowledged();
+        return true;
+    }
+
+    /**
+     * Defers the interaction if it was not acknowledged yet.
+     */
+    public void defer() {
+        if (!this.interaction.isAcknowledged() && this.state.compareAndSet(PENDING, DEFERRED)) {
+            this.interaction.deferReply(this.ephemeral).queue();
+            acknowledged();
+        }
+    }
+
+    private void acknowledged() {
+        if (this.latency != null) {
+            this.latency.accept(age(this.interaction));
+        }
+    }
+
+    /**
+     * @return true if the interaction was acknowledged by a reply or deferral
+     */
+    public boolean isAcknowledged() {
+        return this.state.get() != PENDING || this.interaction.isAcknowledged();
+    }
+
+    /**
+     * Checks if the interaction cannot be answered anymore, because it was not acknowledged
+     * within the {@link #DEADLINE} or its hook exceeded the {@link #HOOK_LIFETIME}.
+     */
+    public boolean isExpired() {
+        return isExpired(0);
+    }
+
+    /**
+     * Checks if the interaction cannot be answered anymore, allowing the given margin for a local clock
+     * running ahead of Discord's.
+     *
+     * @param grace
+     *        the time in milliseconds added to the limits
+     *
+     * @see #isExpired()
+     */
+    public boolean isExpired(long grace) {
+        return age(this.interaction) >= (isAcknowledged() ? HOOK_LIFETIME : DEADLINE) + grace;
+    }
+
+    public boolean isEphemeral() {
+        return this.ephemeral;
+    }
+
+    @NotNull
+    public IReplyCallback getInteraction() {
+        return this.interaction;
+    }
+
+}
@@ -75,6 +75,36 @@ public interface CommandContext extends MessageReply {
     @Nullable
     ProvidedArgument getArgument(@NotNull String name);
 
+    /**
+     * Gets the provided argument by its slot.
+     * <br> The slot of an argument is its position in the argument list of the executed command node,
+     * see {@link dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData#slotOf(String)}.
+     * Resolve the slot once and reuse it to avoid looking up the argument by name on every call.
+     * <br> Contexts which do not know the slots of their command return {@code null}, their arguments
+     * are then only available by name.
+     *
+     * @param slot
+     *         the slot of the argument
+     *
+     * @return the provided argument, or {@code null} if the argument was not provided
+     *         or the context is not bound to a command node
+     */
+    @Nullable
+    default ProvidedArgument getArgument(int slot) {
+        return null;
+    }
+
+    /**
+     * Checks whether the arguments of this context can be read by their slot.
+     *
+     * @return {@code true} if the context is bound to a command node
+     *
+     * @see #getArgument(int)
+     */
+    default boolean hasArgumentSlots() {
+        return false;
+    }
+
     /**
      * Gets the {@link CommandManager} that manages this CommandContext.
      *
@@ -1,10 +1,9 @@
 package dev.spoocy.jdaextensions.commands.event;
 
 import dev.spoocy.jdaextensions.commands.arguments.ProvidedArgument;
-import dev.spoocy.jdaextensions.commands.arguments.WrappedOption;
 import dev.spoocy.jdaextensions.commands.manager.CommandManager;
 import dev.spoocy.jdaextensions.commands.message.ReplyAction;
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.components.MessageTopLevelComponent;
 import net.dv8tion.jda.api.components.tree.ComponentTree;
@@ -25,7 +24,9 @@ import net.dv8tion.jda.api.utils.messages.MessagePollData;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -39,12 +40,37 @@ public class MessageCommandContext extends AbstractCommandContext {
     private final String subcommandName;
 
     private final MessageReceivedEvent event;
-    private final List<WrappedOption> arguments;
+    @Nullable
+    private final CommandNodeData node;
+    private final ProvidedArgument[] slots;
+    private List<? extends ProvidedArgument> arguments;
+
+    public MessageCommandContext(@NotNull String fullName,
+                                 @NotNull String commandName,
+                                 @Nullable String subcommandName,
+                                 @NotNull List<? extends ProvidedArgument> arguments,
+                                 @NotNull CommandManager manager,
+                                 @NotNull MessageReceivedEvent event
+    ) {
+        this(fullName, commandName, subcommandName, null, arguments.toArray(new ProvidedArgument[0]), manager, event);
+        this.arguments = arguments;
+    }
 
+    /**
+     * Creates a context holding the parsed arguments by the argument slots of the given node.
+     *
+     * @param node
+     *        the executed command node, or {@code null} if the slots are not bound to a node
+     * @param slots
+     *        the provided arguments by slot, missing arguments are {@code null}
+     *
+     * @see dev.spoocy.jdaextensions.commands.arguments.MessageArgumentParser#parseSlots
+     */
     public MessageCommandContext(@NotNull String fullName,
                                  @NotNull String commandName,
                                  @Nullable String subcommandName,
-                                 @NotNull List<WrappedOption> arguments,
+                                 @Nullable CommandNodeData node,
+                                 @NotNull ProvidedArgument[] slots,
                                  @NotNull CommandManager manager,
                                  @NotNull MessageReceivedEvent event
     ) {
@@ -52,7 +78,8 @@ public class MessageCommandContext extends AbstractCommandContext {
         this.fullName = fullName;
         this.commandName = commandName;
         this.subcommandName = subcommandName;
-        this.arguments = arguments;
+        this.node = node;
+        this.slots = slots;
         this.event = event;
     }
 
@@ -92,13 +119,45 @@ public class MessageCommandContext extends AbstractCommandContext {
     @NotNull
     @Override
     public List<? extends ProvidedArgument> getArguments() {
+        if (this.arguments == null) {
+            List<ProvidedArgument> arguments = new ArrayList<>(this.slots.length);
+            for (ProvidedArgument argument : this.slots) {
+                if (argument != null) {
+                    arguments.add(argument);
+                }
+            }
+            this.arguments = Collections.unmodifiableList(arguments);
+        }
         return this.arguments;
     }
 
     @Nullable
     @Override
     public ProvidedArgument getArgument(@NotNull String name) {
-        return Collector.of(this.arguments).first(a -> a.getName().equals(name)).orElse(null);
+        if (this.node != null) {
+            return getArgument(this.node.slotOf(name));
+        }
+
+        for (ProvidedArgument argument : this.slots) {
+            if (argument != null && argument.getName().equals(name)) {
+                return argument;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public ProvidedArgument getArgument(int slot) {
+        if (this.node == null) {
+            return null;
+        }
+        return slot >= 0 && slot < this.slots.length ? this.slots[slot] : null;
+    }
+
+    @Override
+    public boolean hasArgumentSlots() {
+        return this.node != null;
     }
 
     @Override
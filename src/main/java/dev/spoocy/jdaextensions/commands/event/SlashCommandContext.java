@@ -4,7 +4,11 @@ import dev.spoocy.jdaextensions.commands.arguments.ProvidedArgument;
 import dev.spoocy.jdaextensions.commands.arguments.WrappedOption;
 import dev.spoocy.jdaextensions.commands.manager.CommandManager;
 import dev.spoocy.jdaextensions.commands.message.ReplyAction;
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.jdaextensions.commands.message.action.InteractionReplyAction;
+import dev.spoocy.jdaextensions.commands.structure.DiscordCommand;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandGroupData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.components.MessageTopLevelComponent;
 import net.dv8tion.jda.api.components.tree.ComponentTree;
@@ -15,6 +19,7 @@ import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;
 import net.dv8tion.jda.api.events.Event;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.interactions.Interaction;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
 import net.dv8tion.jda.api.modals.Modal;
 import net.dv8tion.jda.api.requests.restaction.interactions.ModalCallbackAction;
 import net.dv8tion.jda.api.utils.FileUpload;
@@ -25,7 +30,9 @@ import net.dv8tion.jda.api.utils.messages.MessagePollData;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -35,13 +42,91 @@ import java.util.List;
 public class SlashCommandContext extends AbstractCommandContext {
 
     private final SlashCommandInteractionEvent event;
-    private final List<WrappedOption> arguments;
-
+    @Nullable
+    private final CommandNodeData node;
+    @Nullable
+    private final Acknowledgement acknowledgement;
+
+    // resolved on first access, most commands never read every option
+    private OptionMapping[] options;
+    private WrappedOption[] wrapped;
+    private List<WrappedOption> arguments;
+
+    /**
+     * Creates a context bound to the node of the executed command, looked up in the given manager.
+     *
+     * @param manager
+     *        the command manager
+     * @param event
+     *        the slash command event
+     */
     public SlashCommandContext(@NotNull CommandManager manager,
                                @NotNull SlashCommandInteractionEvent event) {
+        this(manager, event, findNode(manager, event));
+    }
+
+    /**
+     * Creates a context reading the options of the event by the argument slots of the given node.
+     * <br> A context without a node only finds arguments by their name, slot reads return {@code null}.
+     *
+     * @param manager
+     *        the command manager
+     * @param event
+     *        the slash command event
+     * @param node
+     *        the executed command node, or {@code null} if the context is not bound to a node
+     */
+    public SlashCommandContext(@NotNull CommandManager manager,
+                               @NotNull SlashCommandInteractionEvent event,
+                               @Nullable CommandNodeData node) {
+        this(manager, event, node, null);
+    }
+
+    /**
+     * Creates a context sending its replies depending on how the interaction is acknowledged.
+     *
+     * @param manager
+     *        the command manager
+     * @param event
+     *        the slash command event
+     * @param node
+     *        the executed command node, or {@code null} if the context is not bound to a node
+     * @param acknowledgement
+     *        the acknowledgement of the interaction, or {@code null} to always reply through the hook
+     */
+    public SlashCommandContext(@NotNull CommandManager manager,
+                               @NotNull SlashCommandInteractionEvent event,
+                               @Nullable CommandNodeData node,
+                               @Nullable Acknowledgement acknowledgement) {
         super(manager, event.getChannel());
         this.event = event;
-        this.arguments = WrappedOption.wrap(event.getOptions());
+        this.node = node;
+        this.acknowledgement = acknowledgement;
+    }
+
+    @Nullable
+    private static CommandNodeData findNode(@NotNull CommandManager manager, @NotNull SlashCommandInteractionEvent event) {
+        DiscordCommand command = manager.getCommand(event.getName());
+        if (!(command instanceof CommandData)) {
+            return null;
+        }
+
+        CommandData data = (CommandData) command;
+        String subName = event.getSubcommandName();
+        if (subName == null) {
+            return data.getRootCommand();
+        }
+
+        String groupName = event.getSubcommandGroup();
+        if (groupName == null) {
+            return data.hasNode(subName) ? data.getSubCommandData(subName) : null;
+        }
+        if (!data.hasGroup(groupName)) {
+            return null;
+        }
+
+        CommandGroupData group = data.getSubCommandGroupData(groupName);
+        return group.hasNode(subName) ? group.getSubCommandData(subName) : null;
     }
 
     @Override
@@ -80,13 +165,86 @@ public class SlashCommandContext extends AbstractCommandContext {
     @NotNull
     @Override
     public List<? extends ProvidedArgument> getArguments() {
+        if (this.arguments == null) {
+            OptionMapping[] options = options();
+            List<WrappedOption> arguments = new ArrayList<>(options.length);
+            for (int i = 0; i < options.length; i++) {
+                if (options[i] != null) {
+                    arguments.add(wrap(i));
+                }
+            }
+            this.arguments = Collections.unmodifiableList(arguments);
+        }
         return this.arguments;
     }
 
     @Nullable
     @Override
     public ProvidedArgument getArgument(@NotNull String name) {
-        return Collector.of(this.arguments).first(a -> a.getName().equals(name)).orElse(null);
+        if (this.node != null) {
+            return getArgument(this.node.slotOf(name));
+        }
+
+        OptionMapping[] options = options();
+        for (int i = 0; i < options.length; i++) {
+            if (options[i].getName().equals(name)) {
+                return wrap(i);
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    @Override
+    public ProvidedArgument getArgument(int slot) {
+        if (this.node == null) {
+            return null;
+        }
+
+        OptionMapping[] options = options();
+        if (slot < 0 || slot >= options.length || options[slot] == null) {
+            return null;
+        }
+        return wrap(slot);
+    }
+
+    @Override
+    public boolean hasArgumentSlots() {
+        return this.node != null;
+    }
+
+    @NotNull
+    private OptionMapping[] options() {
+        if (this.options == null) {
+            List<OptionMapping> provided = this.event.getOptions();
+
+            if (this.node == null) {
+                this.options = provided.toArray(new OptionMapping[0]);
+            } else {
+                OptionMapping[] options = new OptionMapping[this.node.slotCount()];
+                for (OptionMapping option : provided) {
+                    int slot = this.node.slotOf(option.getName());
+                    if (slot >= 0) {
+                        options[slot] = option;
+                    }
+                }
+                this.options = options;
+            }
+        }
+        return this.options;
+    }
+
+    @NotNull
+    private WrappedOption wrap(int slot) {
+        if (this.wrapped == null) {
+            this.wrapped = new WrappedOption[this.options.length];
+        }
+
+        WrappedOption option = this.wrapped[slot];
+        if (option == null) {
+            option = this.wrapped[slot] = new WrappedOption(this.options[slot]);
+        }
+        return option;
     }
 
     @Override
@@ -146,30 +304,41 @@ public class SlashCommandContext extends AbstractCommandContext {
 
     @Override
     public ReplyAction reply(@NotNull String content) {
-        return wrap(this.event.getHook().sendMessage(content));
+        return respond(MessageCreateData.fromContent(content));
     }
 
     @Override
     public ReplyAction reply(@NotNull Message message) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().applyMessage(message).build()));
+        return respond(new MessageCreateBuilder().applyMessage(message).build());
     }
 
     @Override
     public ReplyAction reply(@NotNull MessageCreateData message) {
-        return wrap(this.event.getHook().sendMessage(message));
+        return respond(message);
     }
 
     @Override
     public ReplyAction reply(@NotNull MessageEmbed embed, MessageEmbed... other) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addEmbeds(embed).addEmbeds(other).build()));
+        return respond(new MessageCreateBuilder().addEmbeds(embed).addEmbeds(other).build());
     }
 
     @Override
     public ReplyAction reply(@NotNull Collection<MessageEmbed> embed) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addEmbeds(embed).build()));
+        return respond(new MessageCreateBuilder().addEmbeds(embed).build());
     }
 
 
+    /**
+     * Sends a message as initial response or through the hook, depending on the acknowledgement of the interaction.
+     */
+    @NotNull
+    private ReplyAction respond(@NotNull MessageCreateData message) {
+        if (this.acknowledgement == null) {
+            return wrap(this.event.getHook().sendMessage(message));
+        }
+        return new InteractionReplyAction(this.acknowledgement, message);
+    }
+
     @Override
     public @NotNull ModalCallbackAction replyModal(@NotNull Modal modal) {
         return this.event.replyModal(modal);
@@ -177,47 +346,47 @@ public class SlashCommandContext extends AbstractCommandContext {
 
     @Override
     public ReplyAction replyComponents(@NotNull Collection<? extends MessageTopLevelComponent> components) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addComponents(components).build()));
+        return respond(new MessageCreateBuilder().addComponents(components).build());
     }
 
     @Override
     public ReplyAction replyComponents(@NotNull MessageTopLevelComponent component, @NotNull MessageTopLevelComponent... other) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addComponents(component).addComponents(other).build()));
+        return respond(new MessageCreateBuilder().addComponents(component).addComponents(other).build());
     }
 
     @Override
     public ReplyAction replyComponents(@NotNull ComponentTree<? extends MessageTopLevelComponent> tree) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addComponents(tree).build()));
+        return respond(new MessageCreateBuilder().addComponents(tree).build());
     }
 
     @Override
     public ReplyAction replyFiles(@NotNull FileUpload... files) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addFiles(files).build()));
+        return respond(new MessageCreateBuilder().addFiles(files).build());
     }
 
     @Override
     public ReplyAction replyFiles(@NotNull Collection<? extends FileUpload> files) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addFiles(files).build()));
+        return respond(new MessageCreateBuilder().addFiles(files).build());
     }
 
     @Override
     public ReplyAction replyPoll(@NotNull MessagePollData poll) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().setPoll(poll).build()));
+        return respond(new MessageCreateBuilder().setPoll(poll).build());
     }
 
     @Override
     public ReplyAction send(@NotNull String message) {
-        return wrap(this.event.getHook().sendMessage(message));
+        return respond(MessageCreateData.fromContent(message));
     }
 
     @Override
     public ReplyAction send(@NotNull Message message) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().applyMessage(message).build()));
+        return respond(new MessageCreateBuilder().applyMessage(message).build());
     }
 
     @Override
     public ReplyAction send(@NotNull MessageEmbed embed) {
-        return wrap(this.event.getHook().sendMessage(new MessageCreateBuilder().addEmbeds(embed).build()));
+        return respond(new MessageCreateBuilder().addEmbeds(embed).build());
     }
 
     @Override
@@ -1,9 +1,11 @@
 package dev.spoocy.jdaextensions.commands.manager;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
 import dev.spoocy.jdaextensions.commands.event.CommandContext;
 import dev.spoocy.jdaextensions.commands.event.CommandPreProcessContext;
 import dev.spoocy.utils.common.log.ILogger;
 import net.dv8tion.jda.api.EmbedBuilder;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import org.jetbrains.annotations.NotNull;
 
@@ -32,6 +34,17 @@ public interface CommandListener {
         event.getMessage().replyEmbeds(new EmbedBuilder().setDescription("Unknown Command.").setColor(Color.RED).build()).queue();
     }
 
+    /**
+     * Called when the arguments of a command are missing or invalid.
+     * <br> This is only called for message-based commands, slash commands are validated by Discord.
+     *
+     * @param event the message received event
+     * @param error the error describing the invalid argument
+     */
+    default void onInvalidArguments(@NotNull MessageReceivedEvent event, @NotNull ArgumentException error) {
+        event.getMessage().replyEmbeds(new EmbedBuilder().setDescription(error.getMessage()).setColor(Color.RED).build()).queue();
+    }
+
     /**
      * Called when a user lacks the necessary permissions to execute a command.
      * This is based on required {@link dev.spoocy.jdaextensions.commands.permission.CommandPermission}s.
@@ -52,6 +65,18 @@ public interface CommandListener {
         event.reply(new EmbedBuilder().setDescription("Please wait a bit before executing this command again.").setColor(Color.RED)).queue();
     }
 
+    /**
+     * Called instead of executing a slash command whose interaction expired, because it was not acknowledged
+     * within 3 seconds or its hook is older than 15 minutes. The interaction cannot be answered anymore.
+     * <br> Only called if expired interactions are dropped, see
+     * {@link dev.spoocy.jdaextensions.commands.manager.impl.DefaultCommandManager.Builder#dropExpiredInteractions()}.
+     * <br> This is called on the thread handling the command and should not block.
+     *
+     * @param event the slash command event
+     * @param age the age of the interaction in milliseconds
+     */
+    default void onInteractionExpired(@NotNull SlashCommandInteractionEvent event, long age) { }
+
     /**
      * Called when an exception occurs during command execution.
      *
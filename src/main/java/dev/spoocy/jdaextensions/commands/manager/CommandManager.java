@@ -2,6 +2,7 @@ package dev.spoocy.jdaextensions.commands.manager;
 
 import dev.spoocy.jdaextensions.commands.structure.DiscordCommand;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import org.jetbrains.annotations.ApiStatus;
@@ -40,6 +41,21 @@ public interface CommandManager {
     @Nullable
     String getPrefix();
 
+    /**
+     * Gets the command prefix used for prefix commands in the given guild.
+     *
+     * @param guild
+     *        the guild
+     *
+     * @return the prefix of the guild, or null if prefix commands are disabled.
+     *
+     * @see #getPrefix()
+     */
+    @Nullable
+    default String getPrefix(@NotNull Guild guild) {
+        return getPrefix();
+    }
+
     /**
      * Gets the {@link CommandListener} assigned to this manager.
      * This listener handles command events such as errors.
@@ -0,0 +1,35 @@
+package dev.spoocy.jdaextensions.commands.manager;
+
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Creates the command of an annotated {@link dev.spoocy.jdaextensions.commands.annotations.Command @Command} class
+ * without reflection.
+ * <br> Implementations are generated at compile time by the
+ * {@link dev.spoocy.jdaextensions.processor.CommandProcessor CommandProcessor} and listed in
+ * {@code META-INF/services}, so they can be found without scanning the classpath.
+ * When a registrar exists for a class, it is used instead of reading the annotations at runtime.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see dev.spoocy.jdaextensions.commands.manager.impl.DefaultCommandManager.Builder#registerIndexedCommands()
+ */
+
+public interface CommandRegistrar {
+
+    /**
+     * @return the annotated class this registrar was generated for
+     */
+    @NotNull
+    Class<?> commandClass();
+
+    /**
+     * Creates the command, equal to the command parsed from the annotations of the {@link #commandClass()}.
+     *
+     * @return the command
+     */
+    @NotNull
+    CommandData create();
+
+}
@@ -0,0 +1,33 @@
+package dev.spoocy.jdaextensions.commands.manager;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Loads the custom message prefix of a guild, for example from a database.
+ * <br> Results are cached by the command manager, so the resolver is only called
+ * when a guild is seen for the first time or its cached prefix expired.
+ * It is called asynchronously and may block.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see dev.spoocy.jdaextensions.commands.manager.impl.DefaultCommandManager.Builder#prefixResolver(PrefixResolver)
+ */
+
+@FunctionalInterface
+public interface PrefixResolver {
+
+    /**
+     * Loads the prefix of the given guild.
+     *
+     * @param guildId
+     *        the ID of the guild
+     *
+     * @return the prefix of the guild, or {@code null} to use the default prefix
+     *
+     * @throws Exception
+     *         if the prefix could not be loaded, the default prefix is used until the entry expires
+     */
+    @Nullable
+    String resolve(long guildId) throws Exception;
+
+}
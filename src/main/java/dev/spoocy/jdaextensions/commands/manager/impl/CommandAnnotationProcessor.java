@@ -4,10 +4,10 @@ import dev.spoocy.jdaextensions.commands.annotations.Choice;
 import dev.spoocy.jdaextensions.commands.annotations.Command;
 import dev.spoocy.jdaextensions.commands.annotations.Permissions;
 import dev.spoocy.jdaextensions.commands.arguments.Arguments;
-import dev.spoocy.jdaextensions.commands.arguments.ProvidedArgument;
 import dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument;
 import dev.spoocy.jdaextensions.commands.cooldown.*;
 import dev.spoocy.jdaextensions.commands.event.CommandContext;
+import dev.spoocy.jdaextensions.commands.manager.CommandRegistrar;
 import dev.spoocy.jdaextensions.commands.permission.CommandPermission;
 import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
 import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
@@ -33,6 +33,11 @@ import java.util.function.Consumer;
 public class CommandAnnotationProcessor {
 
     public static CommandData parseCommand(@NotNull Class<?> clazz) {
+        CommandRegistrar registrar = CommandIndex.find(clazz);
+        if(registrar != null) {
+            return registrar.create();
+        }
+
         CommandData data = createData(clazz);
 
         MethodAccessor defaultMethod = getDefaultMethod(clazz);
@@ -97,7 +102,7 @@ public class CommandAnnotationProcessor {
 
         Annotation[] argumentAnnotations = getArgumentAnnotations(method);
         List<AbstractArgument> arguments = createArgumentList(argumentAnnotations, method);
-        Consumer<CommandContext> executor = createExecutor(method, argumentAnnotations);
+        Consumer<CommandContext> executor = createExecutor(method, argumentAnnotations, arguments);
 
         Cooldown cooldown;
         dev.spoocy.jdaextensions.commands.annotations.Cooldown cooldownAnnotation = method.getAnnotation(dev.spoocy.jdaextensions.commands.annotations.Cooldown.class);
@@ -251,21 +256,8 @@ public class CommandAnnotationProcessor {
         return arguments;
     }
 
-    private static Consumer<CommandContext> createExecutor(@NotNull MethodAccessor method, @NotNull Annotation[] argumentAnnotations) {
-
-        return context -> {
-            Object[] args = new Object[argumentAnnotations.length + 1];
-            args[0] = context;
-
-            for(int i = 0; i < argumentAnnotations.length; i++) {
-                Annotation annotation = argumentAnnotations[i];
-                Object value = getArgumentValue(annotation, context);
-                args[i + 1] = value;
-            }
-
-            method.invoke(null, args);
-
-        };
+    private static Consumer<CommandContext> createExecutor(@NotNull MethodAccessor method, @NotNull Annotation[] argumentAnnotations, @NotNull List<AbstractArgument> arguments) {
+        return CompiledExecutor.compile(method.getMethod(), argumentAnnotations, arguments);
     }
 
     private static Cooldown createCooldown(@NotNull CooldownScope scope, @NotNull Duration duration) {
@@ -372,64 +364,5 @@ public class CommandAnnotationProcessor {
         return null;
     }
 
-    @Nullable
-    private static Object getArgumentValue(@NotNull Annotation annotation, @NotNull CommandContext context) {
-        if(annotation instanceof Arguments.Text) {
-            Arguments.Text textArg = (Arguments.Text) annotation;
-            ProvidedArgument arg = context.getArgument(textArg.name());
-            return arg != null ? arg.getAsString() : null;
-        }
-
-        if(annotation instanceof Arguments.Integer) {
-            Arguments.Integer intArg = (Arguments.Integer) annotation;
-            ProvidedArgument arg = context.getArgument(intArg.name());
-            return arg != null ? arg.getAsInt() : null;
-        }
-
-        if(annotation instanceof Arguments.Bool) {
-            Arguments.Bool boolArg = (Arguments.Bool) annotation;
-            ProvidedArgument arg = context.getArgument(boolArg.name());
-            return arg != null ? arg.getAsBoolean() : null;
-        }
-
-        if(annotation instanceof Arguments.User) {
-            Arguments.User userArg = (Arguments.User) annotation;
-            ProvidedArgument arg = context.getArgument(userArg.name());
-            return arg != null ? arg.getAsUser() : null;
-        }
-
-        if(annotation instanceof Arguments.Channel) {
-            Arguments.Channel channelArg = (Arguments.Channel) annotation;
-            ProvidedArgument arg = context.getArgument(channelArg.name());
-            return arg != null ? arg.getAsChannel() : null;
-        }
-
-        if(annotation instanceof Arguments.Role) {
-            Arguments.Role roleArg = (Arguments.Role) annotation;
-            ProvidedArgument arg = context.getArgument(roleArg.name());
-            return arg != null ? arg.getAsRole() : null;
-        }
-
-        if(annotation instanceof Arguments.Mentionable) {
-            Arguments.Mentionable mentionableArg = (Arguments.Mentionable) annotation;
-            ProvidedArgument arg = context.getArgument(mentionableArg.name());
-            return arg != null ? arg.getAsMentionable() : null;
-        }
-
-        if(annotation instanceof Arguments.Number) {
-            Arguments.Number numberArg = (Arguments.Number) annotation;
-            ProvidedArgument arg = context.getArgument(numberArg.name());
-            return arg != null ? arg.getAsDouble() : null;
-        }
-
-        if(annotation instanceof Arguments.Attachment) {
-            Arguments.Attachment attachmentArg = (Arguments.Attachment) annotation;
-            ProvidedArgument arg = context.getArgument(attachmentArg.name());
-            return arg != null ? arg.getAsAttachment() : null;
-        }
-
-        return null;
-    }
-
 
 }
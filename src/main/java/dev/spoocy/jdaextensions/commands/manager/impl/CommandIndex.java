@@ -0,0 +1,51 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import dev.spoocy.jdaextensions.commands.manager.CommandRegistrar;
+import dev.spoocy.jdaextensions.util.ServiceIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.ServiceLoader;
+
+/**
+ * Index of all {@link CommandRegistrar}s generated at compile time, loaded once through the
+ * {@link ServiceLoader} when it is first used.
+ * <br> A broken entry is skipped, its class is then parsed with reflection like without the index.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class CommandIndex {
+
+    private CommandIndex() { }
+
+    /**
+     * Gets the generated registrar of the given class.
+     *
+     * @param clazz
+     *        the annotated command class
+     *
+     * @return the registrar, or {@code null} if none was generated for the class
+     */
+    @Nullable
+    static CommandRegistrar find(@NotNull Class<?> clazz) {
+        return Holder.REGISTRARS.find(clazz);
+    }
+
+    /**
+     * @return all generated registrars on the classpath
+     */
+    @NotNull
+    static Collection<CommandRegistrar> all() {
+        return Holder.REGISTRARS.all();
+    }
+
+    private static final class Holder {
+
+        private static final ServiceIndex<CommandRegistrar> REGISTRARS =
+                ServiceIndex.load(CommandRegistrar.class, CommandRegistrar::commandClass, "command");
+
+    }
+
+}
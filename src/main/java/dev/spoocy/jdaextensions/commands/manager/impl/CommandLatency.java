@@ -0,0 +1,90 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acknowledgement latency of the interactions of a single slash command, measured from the creation
+ * time of the interaction until its acknowledgement is sent, and the number of interactions which were
+ * dropped because they expired before they could be answered.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see DefaultCommandManager#getLatencies()
+ */
+
+public final class CommandLatency {
+
+    private final String command;
+
+    private final LongAdder acknowledged = new LongAdder();
+    private final LongAdder totalMillis = new LongAdder();
+    private final LongAccumulator maxMillis = new LongAccumulator(Math::max, 0L);
+    private final LongAdder expired = new LongAdder();
+
+    CommandLatency(@NotNull String command) {
+        this.command = command;
+    }
+
+    /**
+     * @return the full name of the command
+     */
+    @NotNull
+    public String getCommand() {
+        return this.command;
+    }
+
+    /**
+     * @return the number of acknowledged interactions
+     */
+    public long getAcknowledged() {
+        return this.acknowledged.sum();
+    }
+
+    /**
+     * @return the average latency of the acknowledgements in the given unit
+     */
+    public long getAverage(@NotNull TimeUnit unit) {
+        long acknowledged = this.acknowledged.sum();
+        return acknowledged == 0 ? 0L : unit.convert(this.totalMillis.sum() / acknowledged, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the highest latency of the acknowledgements in the given unit
+     */
+    public long getMax(@NotNull TimeUnit unit) {
+        return unit.convert(this.maxMillis.get(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return the number of interactions which were dropped because they expired
+     */
+    public long getExpired() {
+        return this.expired.sum();
+    }
+
+    void record(long millis) {
+        // the clock of the bot may be behind Discord's
+        millis = Math.max(0L, millis);
+        this.acknowledged.increment();
+        this.totalMillis.add(millis);
+        this.maxMillis.accumulate(millis);
+    }
+
+    void expired() {
+        this.expired.increment();
+    }
+
+    @Override
+    public String toString() {
+        return "CommandLatency{command=" + this.command
+                + ", acknowledged=" + getAcknowledged()
+                + ", avgMillis=" + getAverage(TimeUnit.MILLISECONDS)
+                + ", maxMillis=" + getMax(TimeUnit.MILLISECONDS)
+                + ", expired=" + getExpired() + "}";
+    }
+
+}
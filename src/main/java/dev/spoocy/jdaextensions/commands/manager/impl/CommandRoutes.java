@@ -0,0 +1,115 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import com.google.common.collect.ImmutableMap;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandGroupData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable routing table of all executable command nodes, keyed by their full path
+ * in the format of {@link net.dv8tion.jda.api.interactions.commands.CommandInteractionPayload#getFullCommandName()},
+ * for example {@code "ban"}, {@code "ban user"} or {@code "ban user temp"}.
+ * <br> The table is compiled from the registered {@link CommandData} trees and replaced as a whole
+ * whenever commands are registered or removed, so dispatching threads read it without locking.
+ * <br> The same snapshot holds the {@link CommandTrie} matching prefix commands.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class CommandRoutes {
+
+    static final CommandRoutes EMPTY = new CommandRoutes(ImmutableMap.of(), new CommandTrie());
+
+    private final Map<String, CommandNodeData> routes;
+    private final CommandTrie trie;
+
+    private CommandRoutes(@NotNull Map<String, CommandNodeData> routes, @NotNull CommandTrie trie) {
+        this.routes = routes;
+        this.trie = trie;
+    }
+
+    /**
+     * Compiles the routes of all given commands.
+     *
+     * @param commands
+     *        the registered commands
+     *
+     * @return the routing table
+     */
+    @NotNull
+    static CommandRoutes of(@NotNull Collection<CommandData> commands) {
+        Map<String, CommandNodeData> routes = new HashMap<>();
+        CommandTrie trie = new CommandTrie();
+
+        for (CommandData command : commands) {
+            String name = command.name();
+            if (command.getRootCommand() != null) {
+                add(routes, trie, name, null, name, command.getRootCommand());
+            }
+
+            for (String subName : command.getNodeNames()) {
+                add(routes, trie, name, subName, name + ' ' + subName, command.getSubCommandData(subName));
+            }
+
+            for (String groupName : command.getGroupNames()) {
+                CommandGroupData group = command.getSubCommandGroupData(groupName);
+                for (String subName : group.getNodeNames()) {
+                    add(routes, trie, name, subName, name + ' ' + groupName + ' ' + subName, group.getSubCommandData(subName));
+                }
+            }
+        }
+
+        return new CommandRoutes(ImmutableMap.copyOf(routes), trie);
+    }
+
+    private static void add(@NotNull Map<String, CommandNodeData> routes,
+                            @NotNull CommandTrie trie,
+                            @NotNull String command,
+                            @Nullable String subCommand,
+                            @NotNull String path,
+                            @NotNull CommandNodeData data) {
+        routes.put(path, data);
+        trie.add(command, subCommand, path, data);
+    }
+
+    /**
+     * Finds the node of the given path.
+     *
+     * @param path
+     *        the full path of the node, names separated by a single space
+     *
+     * @return the node, or {@code null} if there is no node with this path
+     */
+    @Nullable
+    CommandNodeData find(@NotNull String path) {
+        return this.routes.get(path);
+    }
+
+    /**
+     * Matches the longest command path at the start of a message.
+     *
+     * @param content
+     *        the content of the message
+     * @param offset
+     *        the index the command starts at
+     *
+     * @return the match, or {@code null} if no command matches
+     *
+     * @see CommandTrie#match(CharSequence, int)
+     */
+    @Nullable
+    CommandTrie.Match match(@NotNull CharSequence content, int offset) {
+        return this.trie.match(content, offset);
+    }
+
+    int size() {
+        return this.routes.size();
+    }
+
+}
@@ -0,0 +1,167 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Character trie over the full paths of all executable command nodes, used to match prefix commands.
+ * <br> The names of a path are separated by a single space edge. Any run of whitespace in the message
+ * matches such an edge, and names are matched case-insensitively.
+ * <br> Matching walks the message content in place and only allocates for a successful match,
+ * so messages which are not a command cost a few character comparisons.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class CommandTrie {
+
+    private static final char SEPARATOR = ' ';
+
+    private final Node root = new Node();
+
+    /**
+     * Adds the node with the given path.
+     *
+     * @param command
+     *        the name of the command
+     * @param subCommand
+     *        the name of the sub-command, or {@code null} for the root node of the command
+     * @param path
+     *        the full path of the node, names separated by a single space
+     * @param data
+     *        the node
+     */
+    void add(@NotNull String command, @Nullable String subCommand, @NotNull String path, @NotNull CommandNodeData data) {
+        Node node = this.root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.childOrCreate(Character.toLowerCase(path.charAt(i)));
+        }
+        node.route = new Route(command, subCommand, path, data);
+    }
+
+    /**
+     * Matches the longest command path at the start of the given content.
+     * <br> A path only matches if it is followed by whitespace or the end of the content,
+     * so {@code "helpme"} does not match the command {@code "help"}.
+     *
+     * @param content
+     *        the content of the message
+     * @param offset
+     *        the index the command starts at, for example the length of the prefix
+     *
+     * @return the match, or {@code null} if no command matches
+     */
+    @Nullable
+    Match match(@NotNull CharSequence content, int offset) {
+        int length = content.length();
+        Node node = this.root;
+        Route matched = null;
+        int end = -1;
+
+        int i = offset;
+        while (i < length) {
+            char c = content.charAt(i);
+
+            if (Character.isWhitespace(c)) {
+                if (node.route != null) {
+                    matched = node.route;
+                    end = i;
+                }
+
+                node = node.child(SEPARATOR);
+                if (node == null) {
+                    break;
+                }
+
+                do {
+                    i++;
+                } while (i < length && Character.isWhitespace(content.charAt(i)));
+                continue;
+            }
+
+            node = node.child(Character.toLowerCase(c));
+            if (node == null) {
+                break;
+            }
+            i++;
+        }
+
+        if (i == length && node != null && node.route != null) {
+            matched = node.route;
+            end = length;
+        }
+
+        return matched == null ? null : new Match(matched, end);
+    }
+
+    static final class Route {
+
+        final String command;
+        @Nullable
+        final String subCommand;
+        final String path;
+        final CommandNodeData data;
+
+        private Route(@NotNull String command, @Nullable String subCommand, @NotNull String path, @NotNull CommandNodeData data) {
+            this.command = command;
+            this.subCommand = subCommand;
+            this.path = path;
+            this.data = data;
+        }
+    }
+
+    static final class Match {
+
+        final Route route;
+
+        /**
+         * The index right after the matched path, where the arguments start.
+         */
+        final int end;
+
+        private Match(@NotNull Route route, int end) {
+            this.route = route;
+            this.end = end;
+        }
+    }
+
+    private static final class Node {
+
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        // few children per node, a linear scan beats hashing
+        private char[] keys = NO_KEYS;
+        private Node[] children = NO_CHILDREN;
+        @Nullable
+        private Route route;
+
+        @Nullable
+        private Node child(char key) {
+            char[] keys = this.keys;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return this.children[i];
+                }
+            }
+            return null;
+        }
+
+        @NotNull
+        private Node childOrCreate(char key) {
+            Node child = child(key);
+            if (child == null) {
+                int size = this.keys.length;
+                this.keys = Arrays.copyOf(this.keys, size + 1);
+                this.children = Arrays.copyOf(this.children, size + 1);
+                this.keys[size] = key;
+                child = this.children[size] = new Node();
+            }
+            return child;
+        }
+    }
+
+}
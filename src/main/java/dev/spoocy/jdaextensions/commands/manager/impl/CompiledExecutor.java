@@ -0,0 +1,162 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import dev.spoocy.jdaextensions.commands.arguments.Argument;
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentExtractors;
+import dev.spoocy.jdaextensions.commands.arguments.Arguments;
+import dev.spoocy.jdaextensions.commands.event.CommandContext;
+import net.dv8tion.jda.api.entities.IMentionable;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.unions.GuildChannelUnion;
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Executor of an annotated command method, compiled into a single {@link MethodHandle} of the shape
+ * {@code (CommandContext)void} when the command is parsed.
+ * <br> Each argument parameter is bound to a typed extractor reading the argument by its slot,
+ * so an invocation only consists of direct calls. No annotations are inspected, no argument
+ * array is allocated and primitive parameters are not boxed.
+ * <br> Missing optional arguments are passed as {@code null}, or as the default value
+ * ({@code 0}, {@code false}) for primitive parameters.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class CompiledExecutor implements Consumer<CommandContext> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType EXECUTOR_TYPE = MethodType.methodType(void.class, CommandContext.class);
+
+    private final Method method;
+    private final MethodHandle handle;
+
+    private CompiledExecutor(@NotNull Method method, @NotNull MethodHandle handle) {
+        this.method = method;
+        this.handle = handle;
+    }
+
+    /**
+     * Compiles the executor of the given command method.
+     *
+     * @param method
+     *        the static command method, taking the {@link CommandContext} followed by the argument parameters
+     * @param argumentAnnotations
+     *        the argument annotation of each argument parameter, the index is the slot of the argument
+     * @param arguments
+     *        the parsed arguments in the same order, their names are used when a slot cannot be read
+     *
+     * @return the compiled executor
+     *
+     * @throws IllegalArgumentException
+     *         if the method cannot be accessed or a parameter type does not match its argument
+     */
+    @NotNull
+    static CompiledExecutor compile(@NotNull Method method, @NotNull Annotation[] argumentAnnotations, @NotNull List<? extends Argument> arguments) {
+        MethodHandle target;
+        try {
+            method.setAccessible(true);
+            target = LOOKUP.unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Cannot access command method " + method.getDeclaringClass().getName() + "#" + method.getName(), e);
+        }
+
+        Parameter[] parameters = method.getParameters();
+        if (!parameters[0].getType().isAssignableFrom(CommandContext.class)) {
+            throw new IllegalArgumentException("The first parameter of command method " + method.getName() + " must be a CommandContext!");
+        }
+
+        MethodHandle[] extractors = new MethodHandle[argumentAnnotations.length];
+        for (int slot = 0; slot < argumentAnnotations.length; slot++) {
+            extractors[slot] = extractor(argumentAnnotations[slot], slot, arguments.get(slot).name(), parameters[slot + 1]);
+        }
+
+        // (CommandContext, T1 ... Tn) -> (CommandContext, CommandContext ... CommandContext) -> (CommandContext)
+        target = target.asType(target.type().changeParameterType(0, CommandContext.class).changeReturnType(void.class));
+        target = MethodHandles.filterArguments(target, 1, extractors);
+        target = MethodHandles.permuteArguments(target, EXECUTOR_TYPE, new int[parameters.length]);
+
+        return new CompiledExecutor(method, target);
+    }
+
+    @Override
+    public void accept(@NotNull CommandContext context) {
+        try {
+            this.handle.invokeExact(context);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Command method " + this.method.getName() + " threw a checked exception", e);
+        }
+    }
+
+    /**
+     * Creates the extractor of a parameter with the shape {@code (CommandContext)T},
+     * where {@code T} is the type of the parameter.
+     */
+    @NotNull
+    private static MethodHandle extractor(@NotNull Annotation annotation, int slot, @NotNull String argument, @NotNull Parameter parameter) {
+        Class<?> type = parameter.getType();
+        boolean primitive = type.isPrimitive();
+        Class<? extends Annotation> annotationType = annotation.annotationType();
+
+        String name;
+        Class<?> valueType;
+        if (annotationType == Arguments.Text.class) {
+            name = "text";
+            valueType = String.class;
+        } else if (annotationType == Arguments.Integer.class) {
+            name = primitive ? "integer" : "boxedInteger";
+            valueType = primitive ? int.class : Integer.class;
+        } else if (annotationType == Arguments.Bool.class) {
+            name = primitive ? "bool" : "boxedBool";
+            valueType = primitive ? boolean.class : Boolean.class;
+        } else if (annotationType == Arguments.Number.class) {
+            name = primitive ? "number" : "boxedNumber";
+            valueType = primitive ? double.class : Double.class;
+        } else if (annotationType == Arguments.User.class) {
+            name = "user";
+            valueType = User.class;
+        } else if (annotationType == Arguments.Channel.class) {
+            name = "channel";
+            valueType = GuildChannelUnion.class;
+        } else if (annotationType == Arguments.Role.class) {
+            name = "role";
+            valueType = Role.class;
+        } else if (annotationType == Arguments.Mentionable.class) {
+            name = "mentionable";
+            valueType = IMentionable.class;
+        } else if (annotationType == Arguments.Attachment.class) {
+            name = "attachment";
+            valueType = Message.Attachment.class;
+        } else {
+            throw new IllegalArgumentException("Unsupported argument annotation " + annotationType.getName());
+        }
+
+        // reference parameters are cast like before, for example a TextChannel parameter for a channel argument
+        try {
+            MethodHandle extractor = LOOKUP.findStatic(ArgumentExtractors.class, name, MethodType.methodType(valueType, CommandContext.class, int.class, String.class));
+            return MethodHandles.insertArguments(extractor, 1, slot, argument).asType(MethodType.methodType(type, CommandContext.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Missing argument extractor " + name, e);
+        } catch (WrongMethodTypeException e) {
+            throw new IllegalArgumentException("Parameter '" + parameter.getName() + "' of type " + type.getName() + " cannot hold a " + valueType.getSimpleName() + " argument!", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledExecutor{" + this.method.getDeclaringClass().getName() + "#" + this.method.getName() + '}';
+    }
+
+}
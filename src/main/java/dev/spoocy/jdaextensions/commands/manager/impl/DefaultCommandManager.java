@@ -1,21 +1,28 @@
 package dev.spoocy.jdaextensions.commands.manager.impl;
 
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentException;
+import dev.spoocy.jdaextensions.commands.arguments.MessageArgumentParser;
+import dev.spoocy.jdaextensions.commands.arguments.ParsedArgument;
 import dev.spoocy.jdaextensions.commands.manager.CommandListener;
 import dev.spoocy.jdaextensions.commands.manager.CommandManager;
+import dev.spoocy.jdaextensions.commands.manager.CommandRegistrar;
+import dev.spoocy.jdaextensions.commands.manager.PrefixResolver;
 import dev.spoocy.jdaextensions.commands.structure.CommandNode;
-import dev.spoocy.jdaextensions.commands.structure.CommandNodeHolder;
 import dev.spoocy.jdaextensions.commands.structure.DiscordCommand;
 import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
 import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
 import dev.spoocy.jdaextensions.commands.permission.CommandPermission;
+import dev.spoocy.jdaextensions.commands.event.Acknowledgement;
 import dev.spoocy.jdaextensions.commands.event.CommandContext;
 import dev.spoocy.jdaextensions.commands.event.CommandPreProcessContext;
+import dev.spoocy.jdaextensions.commands.event.MessageCommandContext;
 import dev.spoocy.jdaextensions.commands.event.SlashCommandContext;
 import dev.spoocy.utils.common.collections.Collector;
 import dev.spoocy.utils.common.log.ILogger;
 import dev.spoocy.utils.common.text.StringUtils;
 import dev.spoocy.utils.common.scheduler.Scheduler;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
 import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
@@ -25,6 +32,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Spoocy99 | GitHub: Spoocy99
@@ -35,18 +43,35 @@ public class DefaultCommandManager implements CommandManager {
     private final ILogger LOGGER = ILogger.forThisClass();
 
     private final Map<String, CommandData> commandMap = new ConcurrentHashMap<>();
+    private final Map<String, CommandLatency> latencies = new ConcurrentHashMap<>();
+    private volatile CommandRoutes routes = CommandRoutes.EMPTY;
     private final boolean useSlashCommands;
     private final String messagePrefix;
+    private final boolean mentionPrefix;
+    @Nullable
+    private final PrefixCache prefixes;
     private final CommandListener listener;
+    // 0 to always defer interactions
+    private final long acknowledgeBudget;
+    // negative if expired interactions are executed anyway
+    private final long expiryGrace;
 
     private DefaultCommandManager(
             boolean useSlashCommands,
             @Nullable String messagePrefix,
-            @NotNull CommandListener listener) {
+            boolean mentionPrefix,
+            @Nullable PrefixCache prefixes,
+            @NotNull CommandListener listener,
+            long acknowledgeBudget,
+            long expiryGrace) {
 
         this.useSlashCommands = useSlashCommands;
         this.messagePrefix = messagePrefix;
+        this.mentionPrefix = mentionPrefix;
+        this.prefixes = prefixes;
         this.listener = listener;
+        this.acknowledgeBudget = acknowledgeBudget;
+        this.expiryGrace = expiryGrace;
     }
 
     @Override
@@ -64,6 +89,31 @@ public class DefaultCommandManager implements CommandManager {
         return this.messagePrefix;
     }
 
+    @Override
+    public @Nullable String getPrefix(@NotNull Guild guild) {
+        return this.prefixes == null ? this.messagePrefix : this.prefixes.get(guild.getIdLong());
+    }
+
+    /**
+     * Gets the cache of the guild prefixes.
+     *
+     * @return the cache, or {@code null} if no {@link PrefixResolver} is used
+     */
+    @Nullable
+    public PrefixCache getPrefixCache() {
+        return this.prefixes;
+    }
+
+    /**
+     * Gets the acknowledgement latencies of all slash commands which were executed at least once.
+     *
+     * @return the latencies by the full name of the command
+     */
+    @NotNull
+    public Map<String, CommandLatency> getLatencies() {
+        return Collections.unmodifiableMap(this.latencies);
+    }
+
     @Override
     public @NotNull CommandListener getListener() {
         return this.listener;
@@ -85,12 +135,13 @@ public class DefaultCommandManager implements CommandManager {
     }
 
     @Override
-    public void register(@NotNull Collection<DiscordCommand> command) {
+    public synchronized void register(@NotNull Collection<DiscordCommand> command) {
         for (DiscordCommand c : command) {
             CommandData data = (CommandData) c;
             this.commandMap.put(data.name(), data);
             LOGGER.debug("Registered command '{}' ({} Commands)", data.name(), this.commandMap.size());
         }
+        this.publishRoutes();
     }
 
     @Override
@@ -108,12 +159,27 @@ public class DefaultCommandManager implements CommandManager {
     }
 
     @Override
-    public @NotNull CommandManager removeCommand(@NotNull String name) {
-        this.commandMap.remove(name);
+    public synchronized @NotNull CommandManager removeCommand(@NotNull String name) {
+        if (this.commandMap.remove(name) != null) {
+            this.publishRoutes();
+        }
         LOGGER.debug("Unregistered command '{}' ({} Commands)", name, this.commandMap.size());
         return this;
     }
 
+    @NotNull
+    CommandRoutes routes() {
+        return this.routes;
+    }
+
+    /**
+     * Compiles the registered commands into a new routing table.
+     * Changes made to a command tree after it was registered are only picked up by registering it again.
+     */
+    private void publishRoutes() {
+        this.routes = CommandRoutes.of(this.commandMap.values());
+    }
+
     @Override
     public void updateCommands(@NotNull JDA jda) {
         CommandListUpdateAction commands = jda.updateCommands();
@@ -138,6 +204,11 @@ public class DefaultCommandManager implements CommandManager {
                 .onException(e -> LOGGER.error("Exception in unknown command handler.", e));
     }
 
+    private void handleInvalidArguments(@NotNull MessageReceivedEvent event, @NotNull ArgumentException error) {
+        Scheduler.runAsync(() -> this.listener.onInvalidArguments(event, error))
+                .onException(e -> LOGGER.error("Exception in invalid arguments handler.", e));
+    }
+
     private void handleNoPermissions(@NotNull CommandContext context) {
         Scheduler.runAsync(() -> this.listener.onNoPermissions(context))
                 .onException(e -> this.listener.onException(context, e));
@@ -154,58 +225,169 @@ public class DefaultCommandManager implements CommandManager {
             return;
         }
 
-        CommandNodeData data = findNode(
-                event.getName(),
-                event.getSubcommandGroup(),
-                event.getSubcommandName()
-        );
+        CommandNodeData data = this.routes.find(event.getFullCommandName());
 
         if (data == null) {
             LOGGER.warn("Received slash command interaction for unregistered command '{}'", event.getName());
             return;
         }
 
-        if (data.acknowledge()) {
-            event.deferReply(data.ephemeral()).queue();
+        // the event may have waited in a queue, answering it would fail after all the work is done
+        long age = Acknowledgement.age(event);
+        if (this.expiryGrace >= 0 && age >= Acknowledgement.DEADLINE + this.expiryGrace && !event.isAcknowledged()) {
+            this.handleExpiredInteraction(event, age);
+            return;
         }
 
-        CommandContext context = new SlashCommandContext(this, event);
-        executeContext(CommandData.extract(data), data, context);
+        CommandLatency latency = this.latency(event);
+
+        Acknowledgement acknowledgement;
+        if (!data.acknowledge()) {
+            acknowledgement = Acknowledgement.manual(event, data.ephemeral(), latency::record);
+        } else if (this.acknowledgeBudget > 0) {
+            acknowledgement = Acknowledgement.adaptive(event, data.ephemeral(), this.acknowledgeBudget, latency::record);
+        } else {
+            acknowledgement = Acknowledgement.deferred(event, data.ephemeral(), latency::record);
+        }
+
+        CommandContext context = new SlashCommandContext(this, event, data, acknowledgement);
+        executeContext(CommandData.extract(data), data, context, acknowledgement);
+    }
+
+    @NotNull
+    private CommandLatency latency(@NotNull SlashCommandInteractionEvent event) {
+        return this.latencies.computeIfAbsent(event.getFullCommandName(), CommandLatency::new);
+    }
+
+    private void handleExpiredInteraction(@NotNull SlashCommandInteractionEvent event, long age) {
+        this.latency(event).expired();
+        LOGGER.debug("Dropping expired interaction of command '{}' after {} ms", event.getFullCommandName(), age);
+        try {
+            this.listener.onInteractionExpired(event, age);
+        } catch (RuntimeException e) {
+            LOGGER.error("An error occurred while handling the expired interaction of command '{}'", event.getFullCommandName(), e);
+        }
     }
 
     @Override
-    public void handlePrefixCommand(@NotNull MessageReceivedEvent event) { }
+    public void handlePrefixCommand(@NotNull MessageReceivedEvent event) {
+        if (!this.usePrefixCommands()) {
+            return;
+        }
 
-    @Nullable
-    private CommandNodeData findNode(
-            @NotNull String commandName,
-            @Nullable String subCommandGroup,
-            @Nullable String subCommandName
-    ) {
+        // cheap rejection before anything is allocated or loaded, this runs for every message
+        if (event.getAuthor().isBot() || event.isWebhookMessage()) {
+            return;
+        }
+
+        String content = event.getMessage().getContentRaw();
+        int offset = prefixLength(content, event);
+        if (offset < 0) {
+            return;
+        }
+
+        while (offset < content.length() && Character.isWhitespace(content.charAt(offset))) {
+            offset++;
+        }
+
+        CommandTrie.Match match = this.routes.match(content, offset);
+        if (match == null) {
+            this.handleUnknownCommand(event);
+            return;
+        }
+
+        CommandTrie.Route route = match.route;
+        ParsedArgument[] arguments;
         try {
-            CommandData data = (CommandData) getCommand(commandName);
-            if (data == null) {
-                return null;
-            }
+            arguments = MessageArgumentParser.parseSlots(route.data.getArgumentData(), content, match.end, event.getMessage());
+        } catch (ArgumentException e) {
+            this.handleInvalidArguments(event, e);
+            return;
+        }
 
-            CommandNodeHolder holder = data;
+        CommandContext context = new MessageCommandContext(
+                route.path,
+                route.command,
+                route.subCommand,
+                route.data,
+                arguments,
+                this,
+                event
+        );
+        executeContext(CommandData.extract(route.data), route.data, context, null);
+    }
 
-            if (StringUtils.isNullOrEmpty(subCommandName)) {
-                return data.rootNode();
-            }
+    /**
+     * Gets the length of the prefix the message starts with.
+     *
+     * @return the length of the prefix, or {@code -1} if the message does not start with a prefix
+     */
+    private int prefixLength(@NotNull String content, @NotNull MessageReceivedEvent event) {
+        String prefix = this.messagePrefix;
+        if (this.prefixes != null && event.isFromGuild()) {
+            long guildId = event.getGuild().getIdLong();
+            prefix = couldStartWithPrefix(content, guildId) ? this.prefixes.get(guildId) : null;
+        }
+        if (prefix != null && content.startsWith(prefix)) {
+            return prefix.length();
+        }
+
+        if (this.mentionPrefix) {
+            return mentionLength(content, event.getJDA().getSelfUser().getIdLong());
+        }
+        return -1;
+    }
+
+    /**
+     * Checks whether resolving the prefix of the guild is worth it, without loading it.
+     * <br> The first character has to match a known prefix. For guilds whose prefix is not cached yet,
+     * any message starting with a symbol loads the prefix, as their prefix is not known to the filter.
+     */
+    private boolean couldStartWithPrefix(@NotNull String content, long guildId) {
+        if (this.prefixes.couldBeCommand(content)) {
+            return true;
+        }
+        return !content.isEmpty()
+                && !Character.isLetterOrDigit(content.charAt(0))
+                && !Character.isWhitespace(content.charAt(0))
+                && !this.prefixes.contains(guildId);
+    }
 
-            if (!StringUtils.isNullOrEmpty(subCommandGroup)) {
-                holder = data.getSubCommandGroupData(subCommandGroup);
+    /**
+     * Gets the length of the mention of the given user the content starts with,
+     * in the format {@code <@id>} or {@code <@!id>}.
+     *
+     * @return the length of the mention, or {@code -1} if the content does not start with a mention of the user
+     */
+    static int mentionLength(@NotNull CharSequence content, long userId) {
+        int length = content.length();
+        if (length < 4 || content.charAt(0) != '<' || content.charAt(1) != '@') {
+            return -1;
+        }
+
+        int i = content.charAt(2) == '!' ? 3 : 2;
+        int start = i;
+        long id = 0L;
+        // snowflakes have at most 20 digits, longer sequences cannot be a mention
+        while (i < length && i - start < 20) {
+            char c = content.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
             }
+            id = id * 10 + (c - '0');
+            i++;
+        }
 
-            return (CommandNodeData) holder.getNode(subCommandName);
-        } catch (Exception e) {
-            LOGGER.error("Failed to find command node for interaction event", e);
-            return null;
+        if (i == start || i >= length || content.charAt(i) != '>' || id != userId) {
+            return -1;
         }
+        return i + 1;
     }
 
-    private void executeContext(@NotNull CommandData data, @NotNull CommandNodeData subCommand, @NotNull CommandContext context) {
+    private void executeContext(@NotNull CommandData data,
+                                @NotNull CommandNodeData subCommand,
+                                @NotNull CommandContext context,
+                                @Nullable Acknowledgement acknowledgement) {
 
         CommandPreProcessContext preProcessEvent = new CommandPreProcessContext(data, subCommand, context);
         this.listener.onPreProcess(preProcessEvent);
@@ -238,7 +420,22 @@ public class DefaultCommandManager implements CommandManager {
 
         // Execute Command async
         if (subCommand.async()) {
-            subCommand.executeAsync(context)
+            if (acknowledgement == null) {
+                subCommand.executeAsync(context)
+                        .onException(e -> this.listener.onException(context, e));
+                return;
+            }
+
+            // the interaction may expire while the command waits for a thread
+            Scheduler.runAsync(() -> {
+                        if (this.expiryGrace >= 0 && acknowledgement.isExpired(this.expiryGrace)) {
+                            SlashCommandInteractionEvent event = (SlashCommandInteractionEvent) acknowledgement.getInteraction();
+                            this.handleExpiredInteraction(event, Acknowledgement.age(event));
+                            return;
+                        }
+                        subCommand.execute(context)
+                                .onException(e -> this.listener.onException(context, e));
+                    })
                     .onException(e -> this.listener.onException(context, e));
             return;
         }
@@ -259,8 +456,16 @@ public class DefaultCommandManager implements CommandManager {
         };
         private boolean useSlashCommands = true;
         private String messagePrefix = null;
+        private boolean mentionPrefix = false;
+        private PrefixResolver prefixResolver = null;
+        private int prefixCacheSize = 10_000;
+        private long prefixExpiry = 30;
+        private TimeUnit prefixExpiryUnit = TimeUnit.MINUTES;
         private final List<DiscordCommand> commands = new ArrayList<>();
         private final List<Class<?>> commandAnnotationClasses = new ArrayList<>();
+        private boolean registerIndexed = false;
+        private long acknowledgeBudget = 0;
+        private long expiryGrace = -1;
 
         public Builder() {
 
@@ -281,6 +486,127 @@ public class DefaultCommandManager implements CommandManager {
             return this;
         }
 
+        /**
+         * Sets whether a mention of the bot can be used instead of the message prefix,
+         * for example {@code @Bot help}. Prefix commands still have to be enabled with {@link #messagePrefix(String)}.
+         *
+         * @param mentionPrefix
+         *        true to accept mentions as prefix
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder mentionPrefix(boolean mentionPrefix) {
+            this.mentionPrefix = mentionPrefix;
+            return this;
+        }
+
+        /**
+         * Sets the resolver of per-guild prefixes. The {@link #messagePrefix(String) message prefix}
+         * is used as default prefix, for direct messages and while a guild prefix is loaded.
+         * <br> Prefixes are cached for 30 minutes, for up to 10,000 guilds.
+         *
+         * @param resolver
+         *        the resolver
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder prefixResolver(@NotNull PrefixResolver resolver) {
+            this.prefixResolver = resolver;
+            return this;
+        }
+
+        /**
+         * Sets the resolver of per-guild prefixes with a custom cache.
+         *
+         * @param resolver
+         *        the resolver
+         * @param maxSize
+         *        the maximum number of cached prefixes
+         * @param expireAfter
+         *        the time after which a cached prefix is loaded again
+         * @param unit
+         *        the unit of the time
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #prefixResolver(PrefixResolver)
+         */
+        public Builder prefixResolver(@NotNull PrefixResolver resolver, int maxSize, long expireAfter, @NotNull TimeUnit unit) {
+            this.prefixResolver = resolver;
+            this.prefixCacheSize = maxSize;
+            this.prefixExpiry = expireAfter;
+            this.prefixExpiryUnit = unit;
+            return this;
+        }
+
+        /**
+         * Sends the first reply of a slash command as initial response of the interaction, if it is sent
+         * within 2.5 seconds after the interaction was created. Slower commands are deferred automatically.
+         * <br> By default every interaction is deferred before the command is executed.
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #adaptiveAcknowledge(long, TimeUnit)
+         */
+        public Builder adaptiveAcknowledge() {
+            return this.adaptiveAcknowledge(2500, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Sends the first reply of a slash command as initial response of the interaction, if it is sent
+         * within the given budget after the interaction was created. Slower commands are deferred automatically.
+         *
+         * @param budget
+         *        the time to wait for a reply, has to be less than the 3 seconds Discord waits for an acknowledgement
+         * @param unit
+         *        the unit of the time
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder adaptiveAcknowledge(long budget, @NotNull TimeUnit unit) {
+            long millis = unit.toMillis(budget);
+            if (millis <= 0 || millis >= 3000) {
+                throw new IllegalArgumentException("The acknowledge budget has to be between 0 and 3 seconds!");
+            }
+            this.acknowledgeBudget = millis;
+            return this;
+        }
+
+        /**
+         * Drops slash command interactions which can no longer be answered, instead of executing them.
+         * The age of an interaction is measured from its creation time with the local clock.
+         * <br> Expired interactions are reported to {@link CommandListener#onInteractionExpired}.
+         * By default every interaction is executed.
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #dropExpiredInteractions(long, TimeUnit)
+         */
+        public Builder dropExpiredInteractions() {
+            return this.dropExpiredInteractions(0, TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * Drops slash command interactions which can no longer be answered, instead of executing them.
+         *
+         * @param grace
+         *        the time an interaction is kept longer than Discord's limits,
+         *        to tolerate a local clock running ahead of Discord's
+         * @param unit
+         *        the unit of the time
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #dropExpiredInteractions()
+         */
+        public Builder dropExpiredInteractions(long grace, @NotNull TimeUnit unit) {
+            if (grace < 0) {
+                throw new IllegalArgumentException("The grace period cannot be negative!");
+            }
+            this.expiryGrace = unit.toMillis(grace);
+            return this;
+        }
+
         public Builder register(@NotNull DiscordCommand... command) {
             this.commands.addAll(Arrays.asList(command));
             return this;
@@ -291,15 +617,46 @@ public class DefaultCommandManager implements CommandManager {
             return this;
         }
 
+        /**
+         * Registers all commands generated at compile time by the
+         * {@link dev.spoocy.jdaextensions.processor.CommandProcessor CommandProcessor},
+         * without scanning the classpath or reading annotations at runtime.
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see dev.spoocy.jdaextensions.commands.manager.CommandRegistrar
+         */
+        public Builder registerIndexedCommands() {
+            this.registerIndexed = true;
+            return this;
+        }
+
         public DefaultCommandManager build() {
+            PrefixCache prefixes = null;
+            if (this.prefixResolver != null) {
+                if (StringUtils.isNullOrEmpty(this.messagePrefix)) {
+                    throw new IllegalStateException("A message prefix is required as default prefix of the prefix resolver!");
+                }
+                prefixes = new PrefixCache(this.prefixResolver, this.messagePrefix, this.prefixCacheSize, this.prefixExpiry, this.prefixExpiryUnit);
+            }
+
             DefaultCommandManager manager = new DefaultCommandManager(
                     this.useSlashCommands,
                     this.messagePrefix,
-                    this.listener
+                    this.mentionPrefix,
+                    prefixes,
+                    this.listener,
+                    this.acknowledgeBudget,
+                    this.expiryGrace
             );
 
             manager.register(this.commands);
             manager.registerClasses(this.commandAnnotationClasses);
+            if (this.registerIndexed) {
+                manager.register(Collector.of(CommandIndex.all())
+                        .map(CommandRegistrar::create)
+                        .asList(DiscordCommand.class));
+            }
             return manager;
         }
 
@@ -0,0 +1,333 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import dev.spoocy.jdaextensions.commands.manager.PrefixResolver;
+import dev.spoocy.jdaextensions.util.LongObjectHashMap;
+import dev.spoocy.utils.common.log.ILogger;
+import dev.spoocy.utils.common.scheduler.Scheduler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, expiring cache of the message prefixes of guilds, loaded by a {@link PrefixResolver}.
+ * <br> Prefixes which are not cached yet are loaded asynchronously, the default prefix is used
+ * while the load is in flight. Expired prefixes are still used while they are reloaded.
+ * <br> Entries are kept in load order, so once the cache is full the entry loaded first,
+ * which is also the one expiring first, is evicted.
+ * <br> Lookups of cached prefixes neither lock nor box the guild ID. Entries are kept in striped
+ * copy-on-write maps, so inserting or evicting an entry only copies one stripe.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class PrefixCache {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+    // must be a power of two
+    private static final int STRIPES = 64;
+
+    private final PrefixResolver resolver;
+    private final String defaultPrefix;
+    private final int maxSize;
+    private final long expireNanos;
+
+    // read without locking, a stripe is replaced by a modified copy under the lock of this cache
+    private final AtomicReferenceArray<LongObjectHashMap<Entry>> entries = new AtomicReferenceArray<>(STRIPES);
+    private volatile int size;
+    // sentinel of the circular list of entries in load order, guarded by this
+    private final Entry order = new Entry(0L);
+
+    // number of cached prefixes per first character, read without locking by couldBeCommand
+    private final int[] asciiFirstChars = new int[128];
+    private final Map<Character, Integer> otherFirstChars = new HashMap<>();
+    private volatile boolean hasOtherFirstChars;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    PrefixCache(@NotNull PrefixResolver resolver,
+                @NotNull String defaultPrefix,
+                int maxSize,
+                long expireAfter,
+                @NotNull TimeUnit unit) {
+        if (defaultPrefix.isEmpty()) {
+            throw new IllegalArgumentException("Default prefix cannot be empty.");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Max size must be at least 1.");
+        }
+        if (expireAfter <= 0) {
+            throw new IllegalArgumentException("Expiry must be positive.");
+        }
+
+        this.resolver = resolver;
+        this.defaultPrefix = defaultPrefix;
+        this.maxSize = maxSize;
+        this.expireNanos = unit.toNanos(expireAfter);
+        this.order.previous = this.order.next = this.order;
+        for (int i = 0; i < STRIPES; i++) {
+            this.entries.set(i, new LongObjectHashMap<>());
+        }
+    }
+
+    /**
+     * Gets the prefix of the given guild.
+     * <br> If the prefix is not cached or expired, it is loaded asynchronously.
+     *
+     * @param guildId
+     *        the ID of the guild
+     *
+     * @return the cached prefix, or the default prefix if the prefix is not loaded yet
+     */
+    @NotNull
+    public String get(long guildId) {
+        boolean load = false;
+        Entry entry = find(guildId);
+
+        if (entry == null) {
+            synchronized (this) {
+                entry = find(guildId);
+                if (entry == null) {
+                    entry = insert(guildId);
+                    load = true;
+                }
+            }
+        } else if (System.nanoTime() - entry.loadedAt > this.expireNanos && entry.loading.compareAndSet(false, true)) {
+            load = true;
+        }
+
+        String prefix = entry.prefix;
+
+        if (prefix != null) {
+            this.hits.increment();
+        } else {
+            this.misses.increment();
+        }
+
+        if (load) {
+            Scheduler.runAsync(() -> load(guildId))
+                    .onException(e -> LOGGER.error("Failed to schedule loading the prefix of guild {}.", guildId, e));
+        }
+        return prefix == null ? this.defaultPrefix : prefix;
+    }
+
+    /**
+     * Sets the prefix of a guild, for example after it was changed by a command.
+     *
+     * @param guildId
+     *        the ID of the guild
+     * @param prefix
+     *        the new prefix, or {@code null} for the default prefix
+     */
+    public synchronized void put(long guildId, @Nullable String prefix) {
+        Entry entry = find(guildId);
+        if (entry == null) {
+            entry = insert(guildId);
+        }
+        update(entry, prefix);
+    }
+
+    /**
+     * Removes the prefix of a guild, it is loaded again on the next message of the guild.
+     *
+     * @param guildId
+     *        the ID of the guild
+     */
+    public synchronized void invalidate(long guildId) {
+        Entry entry = find(guildId);
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    /**
+     * Checks whether the content could start with a prefix, by comparing its first character
+     * with the first characters of the default prefix and all cached prefixes.
+     * <br> This does not lock and might briefly miss a prefix which is being loaded.
+     *
+     * @param content
+     *        the content of a message
+     *
+     * @return {@code false} if the content definitely does not start with a known prefix
+     */
+    public boolean couldBeCommand(@NotNull CharSequence content) {
+        if (content.length() == 0) {
+            return false;
+        }
+
+        char first = content.charAt(0);
+        if (first == this.defaultPrefix.charAt(0)) {
+            return true;
+        }
+        if (first < this.asciiFirstChars.length) {
+            return this.asciiFirstChars[first] > 0;
+        }
+        if (!this.hasOtherFirstChars) {
+            return false;
+        }
+        synchronized (this) {
+            return this.otherFirstChars.containsKey(first);
+        }
+    }
+
+    /**
+     * Checks whether an entry of the guild is cached, without loading it.
+     *
+     * @param guildId
+     *        the ID of the guild
+     *
+     * @return {@code true} if the prefix of the guild is cached or being loaded
+     */
+    public boolean contains(long guildId) {
+        return find(guildId) != null;
+    }
+
+    @NotNull
+    public String getDefaultPrefix() {
+        return this.defaultPrefix;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of lookups answered with a loaded prefix
+     */
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of lookups answered with the default prefix, because the prefix was not loaded yet
+     */
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    private void load(long guildId) {
+        String prefix;
+        try {
+            prefix = this.resolver.resolve(guildId);
+        } catch (Throwable e) {
+            LOGGER.error("Failed to load the prefix of guild {}.", guildId, e);
+            prefix = null;
+        }
+
+        if (prefix != null && prefix.isEmpty()) {
+            LOGGER.warn("Ignoring empty prefix of guild {}.", guildId);
+            prefix = null;
+        }
+
+        synchronized (this) {
+            // the entry may have been evicted or invalidated in the meantime
+            Entry entry = find(guildId);
+            if (entry != null && entry.loading.get()) {
+                update(entry, prefix);
+            }
+        }
+    }
+
+    @Nullable
+    private Entry find(long guildId) {
+        return this.entries.get(stripeOf(guildId)).get(guildId);
+    }
+
+    @NotNull
+    private Entry insert(long guildId) {
+        if (this.size >= this.maxSize) {
+            remove(this.order.next);
+        }
+
+        Entry entry = new Entry(guildId);
+        entry.loading.set(true);
+
+        int stripe = stripeOf(guildId);
+        LongObjectHashMap<Entry> copy = new LongObjectHashMap<>(this.entries.get(stripe));
+        copy.put(guildId, entry);
+        this.entries.set(stripe, copy);
+        this.size++;
+
+        link(entry);
+        return entry;
+    }
+
+    private void update(@NotNull Entry entry, @Nullable String prefix) {
+        countFirstChar(entry.prefix, -1);
+        entry.prefix = prefix == null ? this.defaultPrefix : prefix;
+        entry.loadedAt = System.nanoTime();
+        entry.loading.set(false);
+        countFirstChar(entry.prefix, 1);
+
+        // move to the end, the entry now expires last
+        unlink(entry);
+        link(entry);
+    }
+
+    private void remove(@NotNull Entry entry) {
+        int stripe = stripeOf(entry.guildId);
+        LongObjectHashMap<Entry> copy = new LongObjectHashMap<>(this.entries.get(stripe));
+        copy.remove(entry.guildId);
+        this.entries.set(stripe, copy);
+        this.size--;
+
+        unlink(entry);
+        countFirstChar(entry.prefix, -1);
+    }
+
+    private static int stripeOf(long guildId) {
+        // the low bits of a snowflake are mostly constant, use the top bits of the mixed ID
+        return (int) ((guildId * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - Integer.numberOfTrailingZeros(STRIPES)));
+    }
+
+    private void link(@NotNull Entry entry) {
+        entry.previous = this.order.previous;
+        entry.next = this.order;
+        this.order.previous.next = entry;
+        this.order.previous = entry;
+    }
+
+    private void unlink(@NotNull Entry entry) {
+        entry.previous.next = entry.next;
+        entry.next.previous = entry.previous;
+    }
+
+    private void countFirstChar(@Nullable String prefix, int delta) {
+        if (prefix == null) {
+            return;
+        }
+
+        char first = prefix.charAt(0);
+        if (first < this.asciiFirstChars.length) {
+            this.asciiFirstChars[first] += delta;
+            return;
+        }
+
+        this.otherFirstChars.merge(first, delta, (a, b) -> a + b == 0 ? null : a + b);
+        this.hasOtherFirstChars = !this.otherFirstChars.isEmpty();
+    }
+
+    private static final class Entry {
+
+        private final long guildId;
+        // null until the first load completed
+        @Nullable
+        private volatile String prefix;
+        private volatile long loadedAt;
+        private final AtomicBoolean loading = new AtomicBoolean();
+
+        private Entry previous;
+        private Entry next;
+
+        private Entry(long guildId) {
+            this.guildId = guildId;
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+package dev.spoocy.jdaextensions.commands.message.action;
+
+import dev.spoocy.jdaextensions.commands.event.Acknowledgement;
+import dev.spoocy.jdaextensions.commands.message.ReplyAction;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.components.MessageTopLevelComponent;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageEmbed;
+import net.dv8tion.jda.api.exceptions.RateLimitedException;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.RestAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import net.dv8tion.jda.api.utils.FileUpload;
+import net.dv8tion.jda.api.utils.messages.MessageCreateBuilder;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import net.dv8tion.jda.api.utils.messages.MessagePollData;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Reply to an interaction which decides when it is sent whether it is the initial response
+ * or a followup message through the hook, see {@link Acknowledgement}.
+ * <br> The sent message of an initial response has to be retrieved with another request,
+ * which is only done if the result is used.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class InteractionReplyAction implements ReplyAction {
+
+    private final Acknowledgement acknowledgement;
+    private final MessageCreateBuilder message;
+
+    @Nullable
+    private BooleanSupplier check;
+    private long deadline;
+
+    public InteractionReplyAction(@NotNull Acknowledgement acknowledgement, @NotNull MessageCreateData message) {
+        this.acknowledgement = acknowledgement;
+        this.message = MessageCreateBuilder.from(message);
+    }
+
+    @NotNull
+    @Override
+    public JDA getJDA() {
+        return this.acknowledgement.getInteraction().getJDA();
+    }
+
+    @NotNull
+    @Override
+    public ReplyAction setCheck(@Nullable BooleanSupplier checks) {
+        this.check = checks;
+        return this;
+    }
+
+    @Nullable
+    @Override
+    public BooleanSupplier getCheck() {
+        return this.check;
+    }
+
+    @NotNull
+    @Override
+    public ReplyAction deadline(long timestamp) {
+        this.deadline = timestamp;
+        return this;
+    }
+
+    @Override
+    public void queue(@Nullable Consumer<? super Message> success, @Nullable Consumer<? super Throwable> failure) {
+        if (success == null && this.acknowledgement.claim()) {
+            // the sent message is not needed, skip retrieving it
+            initialResponse().queue(null, failure);
+            return;
+        }
+        action().queue(success, failure);
+    }
+
+    @Override
+    public Message complete(boolean shouldQueue) throws RateLimitedException {
+        return action().complete(shouldQueue);
+    }
+
+    @NotNull
+    @Override
+    public CompletableFuture<Message> submit(boolean shouldQueue) {
+        return action().submit(shouldQueue);
+    }
+
+    @NotNull
+    private RestAction<Message> action() {
+        if (this.acknowledgement.claim()) {
+            return initialResponse().flatMap(InteractionHook::retrieveOriginal);
+        }
+        return configure(this.acknowledgement.getInteraction().getHook().sendMessage(this.message.build()));
+    }
+
+    @NotNull
+    private ReplyCallbackAction initialResponse() {
+        return configure(this.acknowledgement.getInteraction().reply(this.message.build())
+                .setEphemeral(this.acknowledgement.isEphemeral()));
+    }
+
+    @NotNull
+    private <T extends RestAction<?>> T configure(@NotNull T action) {
+        action.setCheck(this.check);
+        if (this.deadline > 0) {
+            action.deadline(this.deadline);
+        }
+        return action;
+    }
+
+    @Override
+    public @NotNull ReplyAction addContent(@NotNull String content) {
+        this.message.setContent(content);
+        return this;
+    }
+
+    @Override
+    public @NotNull ReplyAction addEmbeds(@NotNull Collection<? extends MessageEmbed> embeds) {
+        this.message.setEmbeds(embeds);
+        return this;
+    }
+
+    @Override
+    public @NotNull ReplyAction addComponents(@NotNull Collection<? extends MessageTopLevelComponent> components) {
+        this.message.setComponents(components);
+        return this;
+    }
+
+    @Override
+    public @NotNull ReplyAction addFiles(@NotNull Collection<? extends FileUpload> files) {
+        this.message.addFiles(files);
+        return this;
+    }
+
+    @Override
+    public @NotNull List<FileUpload> getAttachments() {
+        return this.message.getAttachments();
+    }
+
+    @Override
+    public @NotNull ReplyAction setPoll(@Nullable MessagePollData poll) {
+        this.message.setPoll(poll);
+        return this;
+    }
+
+    @Override
+    public @NotNull ReplyAction setTTS(boolean tts) {
+        this.message.setTTS(tts);
+        return this;
+    }
+
+    @Override
+    public @NotNull ReplyAction setSuppressedNotifications(boolean suppressed) {
+        this.message.setSuppressedNotifications(suppressed);
+        return this;
+    }
+
+    @Override
+    public @NotNull ReplyAction setVoiceMessage(boolean voiceMessage) {
+        this.message.setVoiceMessage(voiceMessage);
+        return this;
+    }
+}
@@ -1,6 +1,7 @@
 package dev.spoocy.jdaextensions.commands.structure.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument;
 import dev.spoocy.jdaextensions.commands.cooldown.Cooldown;
 import dev.spoocy.jdaextensions.commands.permission.CommandPermission;
@@ -12,7 +13,9 @@ import dev.spoocy.utils.common.scheduler.task.Task;
 import net.dv8tion.jda.api.interactions.commands.build.SubcommandData;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Consumer;
 
 import static dev.spoocy.utils.common.scheduler.Scheduler.runAsync;
@@ -35,6 +38,7 @@ public class CommandNodeData implements CommandNode {
     private final boolean acknowledge;
     private final boolean ephemeral;
     private final List<AbstractArgument> arguments;
+    private final ImmutableMap<String, Integer> slots;
     private final Cooldown cooldown;
     private final Consumer<CommandContext> executor;
 
@@ -69,6 +73,7 @@ public class CommandNodeData implements CommandNode {
         this.acknowledge = acknowledge;
         this.ephemeral = ephemeral;
         this.arguments = ImmutableList.copyOf(arguments);
+        this.slots = createSlots(this.arguments);
         this.cooldown = cooldown;
         this.executor = executor;
 
@@ -138,6 +143,28 @@ public class CommandNodeData implements CommandNode {
         return this.arguments;
     }
 
+    /**
+     * Gets the slot of the argument with the given name.
+     * <br> Slots are the positions of the arguments in {@link #getArgumentData()} and are resolved once
+     * when the node is created, so contexts can look up arguments by index instead of by name.
+     *
+     * @param name
+     *        the name of the argument
+     *
+     * @return the slot of the argument, or {@code -1} if this node has no argument with the given name
+     */
+    public int slotOf(@NotNull String name) {
+        Integer slot = this.slots.get(name);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * @return the number of argument slots of this node
+     */
+    public int slotCount() {
+        return this.arguments.size();
+    }
+
     public SubcommandData buildJDA() {
         SubcommandData subcommandData = new SubcommandData(this.name(), this.description());
 
@@ -148,6 +175,17 @@ public class CommandNodeData implements CommandNode {
         return subcommandData;
     }
 
+    private static ImmutableMap<String, Integer> createSlots(@NotNull List<AbstractArgument> arguments) {
+        Map<String, Integer> slots = new HashMap<>();
+        for (int i = 0; i < arguments.size(); i++) {
+            String name = arguments.get(i).name();
+            if (slots.putIfAbsent(name, i) != null) {
+                throw new IllegalArgumentException("Argument '" + name + "' is defined more than once!");
+            }
+        }
+        return ImmutableMap.copyOf(slots);
+    }
+
     @Override
     public String toString() {
         return "CommandNodeData{" +
@@ -1,6 +1,7 @@
 package dev.spoocy.jdaextensions.core;
 
 import dev.spoocy.jdaextensions.commands.manager.CommandManager;
+import dev.spoocy.jdaextensions.event.AdvancedEventManager;
 import dev.spoocy.utils.common.collections.Collector;
 import dev.spoocy.utils.common.log.ILogger;
 import net.dv8tion.jda.api.JDA;
@@ -31,6 +32,7 @@ public class BotBuilder {
     protected final List<Supplier<? extends Activity>> activities;
     protected int activityUpdateRate;
     protected CommandManager commandManager;
+    protected final AdvancedEventManager.Builder eventManager;
     protected MemberCachePolicy memberCachePolicy;
     protected EnumSet<CacheFlag> cacheFlags;
     protected List<GatewayIntent> intents;
@@ -42,6 +44,7 @@ public class BotBuilder {
         this.listeners = new ArrayList<>();
         this.activities = new ArrayList<>();
         this.activityUpdateRate = -1;
+        this.eventManager = AdvancedEventManager.builder();
 
         this.memberCachePolicy = MemberCachePolicy.DEFAULT;
         this.cacheFlags = EnumSet.allOf(CacheFlag.class);
@@ -101,6 +104,29 @@ public class BotBuilder {
 		return setIntents(GatewayIntent.values());
 	}
 
+    public BotBuilder forEventManager(@NotNull Consumer<? super AdvancedEventManager.Builder> action) {
+        action.accept(this.eventManager);
+        return this;
+    }
+
+    /**
+     * Dispatches events on worker threads instead of the JDA event threads.
+     * Events of the same guild stay in order, while different guilds are handled in parallel.
+     *
+     * @param stripes
+     *        the number of worker threads
+     * @param queueSize
+     *        the maximum number of queued events per worker thread
+     *
+     * @return the current instance for chaining
+     *
+     * @see AdvancedEventManager.Builder#parallel(int, int)
+     */
+    public BotBuilder setParallelEventDispatch(int stripes, int queueSize) {
+        this.eventManager.parallel(stripes, queueSize);
+        return this;
+    }
+
     public BotBuilder setCommandManager(@NotNull CommandManager commandManager) {
         this.commandManager = commandManager;
         return this;
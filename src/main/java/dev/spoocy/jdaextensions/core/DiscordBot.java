@@ -16,7 +16,6 @@ import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
 import net.dv8tion.jda.api.events.session.ReadyEvent;
 import net.dv8tion.jda.api.events.session.SessionDisconnectEvent;
 import net.dv8tion.jda.api.events.session.SessionResumeEvent;
-import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import net.dv8tion.jda.api.requests.CloseCode;
 import net.dv8tion.jda.api.sharding.DefaultShardManagerBuilder;
@@ -25,6 +24,7 @@ import okhttp3.OkHttpClient;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
@@ -52,7 +52,7 @@ public abstract class DiscordBot<S extends BotSettings> {
     private final int activityUpdateRate;
     private final List<Supplier<? extends Activity>> activities;
     private final List<Consumer<? super JDA>> shardActions;
-    private final IEventManager eventManager;
+    private final AdvancedEventManager eventManager;
     private final ShardManager shardManager;
     private ApplicationInfo applicationInfo;
     private final EventWaiter eventWaiter;
@@ -73,7 +73,7 @@ public abstract class DiscordBot<S extends BotSettings> {
         this.activityUpdateRate = builder.activityUpdateRate;
         this.activities = List.copyOf(builder.activities);
         this.shardActions = List.copyOf(builder.shardActions);
-        this.eventManager = new AdvancedEventManager();
+        this.eventManager = builder.eventManager.build();
         this.eventWaiter = new EventWaiter(Scheduler.newScheduledThreadPool(1), true);
 
         LogLevel level = config.getLogLevel();
@@ -99,8 +99,12 @@ public abstract class DiscordBot<S extends BotSettings> {
 
         this.commandManager = builder.commandManager;
 
-        shardManagerBuilder.addEventListeners(this, this.eventWaiter);
-        shardManagerBuilder.addEventListeners(builder.listeners.toArray());
+        // all shards share the same event manager, so listeners are registered once in bulk
+        List<Object> listeners = new ArrayList<>();
+        listeners.add(this);
+        listeners.add(this.eventWaiter);
+        listeners.addAll(builder.listeners);
+        this.eventManager.registerAll(listeners);
 
         builder.builderActions.forEach(action -> action.accept(shardManagerBuilder));
         this.shardManager = shardManagerBuilder.build();
@@ -118,6 +122,8 @@ public abstract class DiscordBot<S extends BotSettings> {
                 this.scheduler.shutdownNow();
             }
 
+            this.eventManager.shutdown();
+
             this.onShutdown();
         }));
     }
@@ -138,7 +144,7 @@ public abstract class DiscordBot<S extends BotSettings> {
     }
 
     @NotNull
-    public IEventManager getEventManager() {
+    public AdvancedEventManager getEventManager() {
         return this.eventManager;
     }
 
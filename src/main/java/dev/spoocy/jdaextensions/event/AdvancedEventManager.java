@@ -6,11 +6,14 @@ import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.hooks.IEventManager;
 import net.dv8tion.jda.internal.JDAImpl;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author Spoocy99 | GitHub: Spoocy99
@@ -20,43 +23,164 @@ public class AdvancedEventManager implements IEventManager {
 
     private static final ILogger LOGGER = ILogger.forThisClass();
 
-	private final List<EventListener> listeners;
-	private final Set<Object> holders;
+	private final ListenerRegistry registry;
+    private final HandlerExecutors executors;
+    @Nullable
+    private final ListenerWatchdog watchdog;
+    // publishers with at least one subscription, completed on shutdown
+    private final Set<EventPublisher<?>> publishers = ConcurrentHashMap.newKeySet();
+    private final Executor publisherExecutor;
+
+    @Nullable
+    private final StripedEventDispatcher dispatcher;
 
     public AdvancedEventManager() {
-        this.listeners = new CopyOnWriteArrayList<>();
-        this.holders = ConcurrentHashMap.newKeySet();
+        this(null);
+    }
+
+    private AdvancedEventManager(@Nullable Builder builder) {
+        this.executors = builder == null
+                ? new HandlerExecutors(Collections.emptyList())
+                : new HandlerExecutors(builder.handlerPools.values());
+
+        if (builder != null && builder.watchdogThresholdNanos > 0) {
+            this.watchdog = new ListenerWatchdog(
+                    builder.watchdogThresholdNanos,
+                    builder.watchdogSampleRate,
+                    builder.quarantineAction,
+                    builder.quarantineStrikes,
+                    this.executors
+            );
+        } else {
+            this.watchdog = null;
+        }
+
+        this.registry = new ListenerRegistry(this.executors, this.watchdog);
+        this.publisherExecutor = builder == null ? ForkJoinPool.commonPool() : builder.publisherExecutor;
+
+        if (builder != null && builder.stripes > 0) {
+            this.dispatcher = new StripedEventDispatcher(
+                    builder.stripes,
+                    builder.queueSize,
+                    builder.overflowPolicy,
+                    new PriorityTable(builder.priorities),
+                    this::dispatch
+            );
+        } else {
+            this.dispatcher = null;
+        }
     }
 
 	@Override
 	public void register(@NotNull Object listener) {
-		this.holders.add(listener);
+        if (registry.register(Collections.singletonList(listener), null) > 0) {
+            LOGGER.debug("Registering listener of class: {}", listener.getClass().getSimpleName());
+        }
+	}
 
-		if (listener instanceof EventListener) {
-			listeners.add((EventListener) listener);
-            return;
-		}
+    /**
+     * Registers a listener which only receives events of the guilds or channels of the given scope.
+     * <br> Events without a guild or channel never reach scoped listeners.
+     * If the listener is already registered, this call has no effect.
+     *
+     * @param listener
+     *        the listener to register
+     * @param scope
+     *        the guilds or channels the listener is interested in
+     */
+    public void register(@NotNull Object listener, @NotNull ListenerScope scope) {
+        if (registry.register(Collections.singletonList(listener), scope) > 0) {
+            LOGGER.debug("Registering listener of class: {} with {}", listener.getClass().getSimpleName(), scope);
+        }
+    }
 
-        listeners.add(new AnnotatedEventListener(listener));
-        LOGGER.debug("Registering listener of class: {}", listener.getClass().getSimpleName());
-	}
+    /**
+     * Registers multiple listeners at once.
+     * <br> The dispatch table is only rebuilt once for all listeners.
+     *
+     * @param listeners
+     *        the listeners to register
+     */
+    public void registerAll(@NotNull Collection<?> listeners) {
+        int added = registry.register(listeners, null);
+        LOGGER.debug("Registered {} listeners.", added);
+    }
 
 	@Override
 	public void unregister(@NotNull Object listener) {
-		holders.remove(listener);
-
-		if (listener instanceof EventListener) {
-			listeners.remove(listener);
-		}
-
-        listeners.remove(new AnnotatedEventListener(listener));
-        LOGGER.debug("Unregistering listener of class: {}", listener.getClass().getSimpleName());
+        if (registry.unregister(Collections.singletonList(listener)) > 0) {
+            LOGGER.debug("Unregistering listener of class: {}", listener.getClass().getSimpleName());
+        }
 	}
 
+    /**
+     * Unregisters multiple listeners at once.
+     * <br> The dispatch table is only rebuilt once for all listeners.
+     *
+     * @param listeners
+     *        the listeners to unregister
+     */
+    public void unregisterAll(@NotNull Collection<?> listeners) {
+        int removed = registry.unregister(listeners);
+        LOGGER.debug("Unregistered {} listeners.", removed);
+    }
+
     @Override
 	public void handle(@NotNull GenericEvent event) {
-		for (EventListener listener : listeners) {
+        if (this.dispatcher == null) {
+            dispatch(event);
+            return;
+        }
+
+        // skip the queue entirely for events without any subscriber
+        if (this.registry.dispatchTable().get(event.getClass()).length == 0 && !hasScopedHandlers(event)) {
+            return;
+        }
+
+        this.dispatcher.dispatch(event);
+	}
+
+    private boolean hasScopedHandlers(@NotNull GenericEvent event) {
+        ScopeIndex scoped = this.registry.scopeIndex();
+        return !scoped.isEmpty()
+                && (scoped.guildHandlers(event).length > 0 || scoped.channelHandlers(event).length > 0);
+    }
+
+    private void dispatch(@NotNull GenericEvent event) {
+        GuardResults guards = invoke(this.registry.dispatchTable().get(event.getClass()), event, null);
+
+        ScopeIndex scoped = this.registry.scopeIndex();
+        if (!scoped.isEmpty()) {
+            guards = invoke(scoped.guildHandlers(event), event, guards);
+            invoke(scoped.channelHandlers(event), event, guards);
+        }
+    }
+
+    // the guard results are created by the first handler with guards, most events never need them
+    @Nullable
+    private GuardResults invoke(@NotNull EventListener[] handlers, @NotNull GenericEvent event, @Nullable GuardResults guards) {
+		for (EventListener listener : handlers) {
 			try {
+                if (listener instanceof GuardedListener) {
+                    GuardedListener guarded = (GuardedListener) listener;
+                    if (guarded.guards().length > 0) {
+                        if (guards == null) {
+                            guards = new GuardResults(event);
+                        }
+                        if (!guards.accepts(guarded)) {
+                            continue;
+                        }
+                    }
+
+                    ListenerStats stats = guarded.stats();
+                    if (stats == null) {
+                        guarded.invoke(event);
+                    } else {
+                        this.watchdog.invoke(stats, guarded, event);
+                    }
+                    continue;
+                }
+
 				listener.onEvent(event);
 			} catch (Throwable throwable) {
                 JDAImpl.LOG.error("One of the EventListeners had an uncaught exception", throwable);
@@ -64,12 +188,365 @@ public class AdvancedEventManager implements IEventManager {
                     throw (Error) throwable;
 			}
 		}
+        return guards;
 	}
 
     @NotNull
     @Override
     public List<Object> getRegisteredListeners() {
-        return List.copyOf(holders);
+        return registry.holders();
+    }
+
+    /**
+     * Checks if events are dispatched on the worker threads of this manager
+     * instead of the JDA event thread.
+     *
+     * @return {@code true} if events are dispatched in parallel, {@code false} otherwise
+     */
+    public boolean isParallel() {
+        return this.dispatcher != null;
+    }
+
+    /**
+     * Gets the number of events waiting to be dispatched.
+     *
+     * @return the number of queued events, or {@code 0} if events are dispatched synchronously
+     */
+    public int getQueuedEvents() {
+        return this.dispatcher == null ? 0 : this.dispatcher.queuedEvents();
+    }
+
+    /**
+     * Gets the number of events that were dropped because a queue was full
+     * or the manager was already shut down.
+     *
+     * @return the number of dropped events since this manager was created
+     *
+     * @see OverflowPolicy
+     */
+    public long getDroppedEvents() {
+        return this.dispatcher == null ? 0L : this.dispatcher.droppedEvents();
+    }
+
+    /**
+     * Gets the number of events that were merged into an already queued event because a queue was full.
+     *
+     * @return the number of coalesced events since this manager was created
+     *
+     * @see OverflowPolicy#COALESCE
+     */
+    public long getCoalescedEvents() {
+        return this.dispatcher == null ? 0L : this.dispatcher.coalescedEvents();
+    }
+
+    /**
+     * Creates a publisher of all events of the given type with a buffer of 256 events
+     * per subscriber, dropping the oldest events if a subscriber falls behind.
+     *
+     * @param type
+     *        the event type, including sub types
+     *
+     * @return the publisher
+     *
+     * @see #publisher(Class, int, BackpressureStrategy, Executor)
+     */
+    @NotNull
+    public <T extends GenericEvent> EventPublisher<T> publisher(@NotNull Class<T> type) {
+        return publisher(type, 256, BackpressureStrategy.DROP_OLDEST);
+    }
+
+    /**
+     * Creates a publisher of all events of the given type, delivering the events on the
+     * {@link Builder#publisherExecutor(Executor) publisher executor} of this manager.
+     *
+     * @param type
+     *        the event type, including sub types
+     * @param bufferSize
+     *        the maximum number of events buffered per subscriber
+     * @param strategy
+     *        what happens to new events while the buffer of a subscriber is full
+     *
+     * @return the publisher
+     *
+     * @see #publisher(Class, int, BackpressureStrategy, Executor)
+     */
+    @NotNull
+    public <T extends GenericEvent> EventPublisher<T> publisher(@NotNull Class<T> type, int bufferSize, @NotNull BackpressureStrategy strategy) {
+        return publisher(type, bufferSize, strategy, this.publisherExecutor);
+    }
+
+    /**
+     * Creates a publisher of all events of the given type.
+     * <br> Each subscriber is registered as its own listener while subscribed and receives
+     * the events on the given executor, never on the event thread.
+     * <br> The manager only keeps track of a publisher while it has subscribers.
+     *
+     * @param type
+     *        the event type, including sub types
+     * @param bufferSize
+     *        the maximum number of events buffered per subscriber
+     * @param strategy
+     *        what happens to new events while the buffer of a subscriber is full
+     * @param executor
+     *        the executor delivering the events to the subscribers
+     *
+     * @return the publisher
+     */
+    @NotNull
+    public <T extends GenericEvent> EventPublisher<T> publisher(@NotNull Class<T> type,
+                                                               int bufferSize,
+                                                               @NotNull BackpressureStrategy strategy,
+                                                               @NotNull Executor executor) {
+        return new EventPublisher<>(this, type, bufferSize, strategy, executor);
+    }
+
+    void addPublisher(@NotNull EventPublisher<?> publisher) {
+        this.publishers.add(publisher);
+    }
+
+    void removePublisher(@NotNull EventPublisher<?> publisher) {
+        this.publishers.remove(publisher);
+    }
+
+    int publisherCount() {
+        return this.publishers.size();
+    }
+
+    /**
+     * Gets the latency and failure statistics of all registered handlers.
+     *
+     * @return the statistics, empty if the watchdog is disabled
+     *
+     * @see Builder#watchdog(long, TimeUnit, int)
+     */
+    @NotNull
+    public List<ListenerStats> getListenerStats() {
+        return this.registry.stats();
+    }
+
+    /**
+     * Gets the pools running the {@link Async @Async} handlers of this manager, including their metrics.
+     *
+     * @return the pools which are currently in use
+     */
+    @NotNull
+    public List<HandlerPool> getHandlerPools() {
+        return this.executors.pools();
+    }
+
+    /**
+     * Stops the worker threads and handler pools of this manager and completes all
+     * subscriptions of its {@link EventPublisher publishers}.
+     * <br> Events that are still queued will not be dispatched anymore.
+     * Executors passed to {@link Builder#handlerPool(String, ExecutorService)} are not shut down.
+     */
+    public void shutdown() {
+        if (this.dispatcher != null) {
+            this.dispatcher.shutdown();
+        }
+        this.executors.shutdown();
+        if (this.watchdog != null) {
+            this.watchdog.shutdown();
+        }
+        for (EventPublisher<?> publisher : this.publishers) {
+            publisher.complete();
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static class Builder {
+
+        private int stripes = 0;
+        private int queueSize = 1024;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private final Map<Class<? extends GenericEvent>, EventPriority> priorities = new HashMap<>();
+        private final Map<String, HandlerPool> handlerPools = new LinkedHashMap<>();
+        private long watchdogThresholdNanos = 0L;
+        private int watchdogSampleRate = 1;
+        private QuarantineAction quarantineAction = QuarantineAction.NONE;
+        private int quarantineStrikes = 5;
+        private Executor publisherExecutor = ForkJoinPool.commonPool();
+
+        public Builder() {
+
+        }
+
+        /**
+         * Dispatches events on the given number of worker threads instead of the JDA event thread.
+         * <br> Events of the same guild (or direct message channel) are always handled by the same
+         * thread and therefore stay in order, while different guilds are handled in parallel.
+         * <br> Queued events are dispatched by their {@link EventPriority}, so interactions are not
+         * stuck behind presence or member updates.
+         *
+         * @param stripes
+         *        the number of worker threads, or {@code 0} to dispatch synchronously
+         * @param queueSize
+         *        the maximum number of queued events per worker thread.
+         *        What happens while a queue is full is decided by the {@link #overflowPolicy(OverflowPolicy) overflow policy}.
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder parallel(int stripes, int queueSize) {
+            if (stripes < 0) {
+                throw new IllegalArgumentException("Stripe count cannot be negative.");
+            }
+            if (queueSize < 1) {
+                throw new IllegalArgumentException("Queue size must be at least 1.");
+            }
+            this.stripes = stripes;
+            this.queueSize = queueSize;
+            return this;
+        }
+
+        /**
+         * Dispatches events on one worker thread per available processor.
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #parallel(int, int)
+         */
+        public Builder parallel() {
+            return parallel(Runtime.getRuntime().availableProcessors(), this.queueSize);
+        }
+
+        /**
+         * Sets what happens to new events while the queue of a worker thread is full.
+         * <br> Defaults to {@link OverflowPolicy#BLOCK}.
+         *
+         * @param overflowPolicy
+         *        the overflow policy
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder overflowPolicy(@NotNull OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Overrides the queue priority of the given event type and all of its sub types.
+         * <br> Queued events of a higher priority are dispatched first, so events of the same guild
+         * are only guaranteed to stay in order if they have the same priority.
+         *
+         * @param eventType
+         *        the event type
+         * @param priority
+         *        the priority of the event type
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder priority(@NotNull Class<? extends GenericEvent> eventType, @NotNull EventPriority priority) {
+            this.priorities.put(eventType, priority);
+            return this;
+        }
+
+        /**
+         * Adds a pool for {@link Async @Async} handlers with a fixed number of threads.
+         * <br> Handlers submitted while the queue is full are rejected and counted in {@link HandlerPool#getRejectedTasks()}.
+         * {@link AsyncMode#ORDERED Ordered} handlers are also rejected once the given number of handlers is pending for their routing key.
+         *
+         * @param name
+         *        the name of the pool referenced by {@link Async#value()}
+         * @param threads
+         *        the number of threads
+         * @param queueSize
+         *        the maximum number of queued handlers
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder handlerPool(@NotNull String name, int threads, int queueSize) {
+            this.handlerPools.put(name, HandlerPool.fixed(name, threads, queueSize));
+            return this;
+        }
+
+        /**
+         * Adds a pool for {@link Async @Async} handlers backed by the given executor.
+         * <br> The executor is not shut down together with the event manager.
+         *
+         * @param name
+         *        the name of the pool referenced by {@link Async#value()}
+         * @param executor
+         *        the executor running the handlers
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder handlerPool(@NotNull String name, @NotNull ExecutorService executor) {
+            this.handlerPools.put(name, new HandlerPool(name, executor, false));
+            return this;
+        }
+
+        /**
+         * Enables the listener watchdog, which times handlers and logs the stack trace of handlers
+         * running longer than the threshold.
+         * <br> Only one in {@code sampleRate} invocations is timed to keep the overhead low.
+         *
+         * @param threshold
+         *        the time budget of a single handler invocation
+         * @param unit
+         *        the unit of the threshold
+         * @param sampleRate
+         *        time one in this many invocations, {@code 1} times every invocation
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see AdvancedEventManager#getListenerStats()
+         */
+        public Builder watchdog(long threshold, @NotNull TimeUnit unit, int sampleRate) {
+            if (threshold < 1) {
+                throw new IllegalArgumentException("Threshold must be positive.");
+            }
+            if (sampleRate < 1) {
+                throw new IllegalArgumentException("Sample rate must be at least 1.");
+            }
+            this.watchdogThresholdNanos = unit.toNanos(threshold);
+            this.watchdogSampleRate = sampleRate;
+            return this;
+        }
+
+        /**
+         * Sets what the watchdog does with handlers which were slow or threw an exception too often.
+         * <br> Can be overridden per listener class or handler method with {@link Quarantine @Quarantine}.
+         * Has no effect unless the {@link #watchdog(long, TimeUnit, int) watchdog} is enabled.
+         *
+         * @param action
+         *        the default quarantine action
+         * @param strikes
+         *        the number of slow or failed invocations before a handler is quarantined
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder quarantine(@NotNull QuarantineAction action, int strikes) {
+            if (strikes < 1) {
+                throw new IllegalArgumentException("Strikes must be at least 1.");
+            }
+            this.quarantineAction = action;
+            this.quarantineStrikes = strikes;
+            return this;
+        }
+
+        /**
+         * Sets the executor delivering events to the subscribers of {@link EventPublisher publishers}.
+         * <br> Defaults to the common {@link ForkJoinPool}. The executor is not shut down together with the event manager.
+         *
+         * @param executor
+         *        the executor
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see AdvancedEventManager#publisher(Class, int, BackpressureStrategy)
+         */
+        public Builder publisherExecutor(@NotNull Executor executor) {
+            this.publisherExecutor = executor;
+            return this;
+        }
+
+        public AdvancedEventManager build() {
+            return new AdvancedEventManager(this);
+        }
+
     }
 
 }
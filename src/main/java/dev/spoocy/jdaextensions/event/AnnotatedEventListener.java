@@ -9,8 +9,15 @@ import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import net.dv8tion.jda.api.hooks.SubscribeEvent;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.*;
+import java.util.function.Consumer;
 
 /**
  * @author Spoocy99 | GitHub: Spoocy99
@@ -18,55 +25,158 @@ import java.util.*;
 
 public class AnnotatedEventListener implements EventListener {
 
+    private static final MethodType HANDLER_TYPE = MethodType.methodType(void.class, GenericEvent.class);
+
     private final ILogger LOGGER = ILogger.forThisClass();
-	private final Map<Class<?>, List<MethodAccessor>> listeners = new HashMap<>();
+	private final Map<Class<?>, List<EventListener>> listeners = new HashMap<>();
 	private final Object holder;
+    private final HandlerExecutors executors;
+    @Nullable
+    private final ListenerWatchdog watchdog;
+
+    private final ClassValue<EventListener[]> dispatch = new ClassValue<>() {
+        @Override
+        protected EventListener[] computeValue(@NotNull Class<?> type) {
+            List<EventListener> handlers = getHandlers(type);
+            return handlers.toArray(new EventListener[0]);
+        }
+    };
 
 	public AnnotatedEventListener(@NotNull Object holder) {
-		this.holder = holder;
-		lookUpListeners();
+		this(holder, HandlerExecutors.shared(), null);
 	}
 
+    AnnotatedEventListener(@NotNull Object holder, @NotNull HandlerExecutors executors, @Nullable ListenerWatchdog watchdog) {
+        this.holder = holder;
+        this.executors = executors;
+        this.watchdog = watchdog;
+        lookUpListeners();
+    }
+
 	private void lookUpListeners() {
+        boolean staticHolder = holder instanceof Class;
+        Class<?> type = staticHolder ? (Class<?>) holder : holder.getClass();
+
+        Filter classFilter = type.getAnnotation(Filter.class);
+
         ClassAccess access = Reflection.builder()
-                        .forClass(holder.getClass())
+                        .forClass(type)
                         .inheritedMembers()
                         .buildAccess();
 
-		for (MethodAccessor method : access.methodsWithAnnotation(SubscribeEvent.class)) {
-            Class<?>[] parameters = method.getMethod().getParameterTypes();
+		for (MethodAccessor accessor : access.methodsWithAnnotation(SubscribeEvent.class)) {
+            Method method = accessor.getMethod();
+            Class<?>[] parameters = method.getParameterTypes();
 
             if (parameters.length != 1) {
-                LOGGER.error("Method {} in class {} has @SubscribeEvent annotation but does not have the correct number of parameters.", method.getMethod().getName(), holder.getClass().getName());
+                LOGGER.error("Method {} in class {} has @SubscribeEvent annotation but does not have the correct number of parameters.", method.getName(), type.getName());
                 continue;
             }
 
             if (!GenericEvent.class.isAssignableFrom(parameters[0])) {
-                LOGGER.error("Method {} in class {} has @SubscribeEvent annotation but has an incorrect parameter type. ({})", method.getMethod().getName(), holder.getClass().getName(), parameters[0].getName());
+                LOGGER.error("Method {} in class {} has @SubscribeEvent annotation but has an incorrect parameter type. ({})", method.getName(), type.getName(), parameters[0].getName());
+                continue;
+            }
+
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+            if (staticHolder && !isStatic) {
+                LOGGER.error("Method {} in class {} has @SubscribeEvent annotation but is not static. Register an instance of the class instead.", method.getName(), type.getName());
+                continue;
+            }
+
+            MethodHandle handle;
+            try {
+                handle = createHandle(method, isStatic ? null : holder);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                LOGGER.error("Failed to access method {} in class {} annotated with @SubscribeEvent.", method.getName(), type.getName(), e);
                 continue;
             }
 
-            List<MethodAccessor> methods = listeners.computeIfAbsent(parameters[0], k -> new ArrayList<>());
-            methods.add(method);
+            EventGuard[] guards = EventGuard.compile(classFilter, method.getAnnotation(Filter.class));
+
+            Async async = method.getAnnotation(Async.class);
+            HandlerPool pool = async == null ? null : executors.resolve(method, async);
+            boolean ordered = async != null && async.mode() == AsyncMode.ORDERED;
+
+            List<EventListener> methods = listeners.computeIfAbsent(parameters[0], k -> new ArrayList<>());
+            ListenerStats stats = watchdog == null
+                    ? null
+                    : watchdog.createStats(type.getSimpleName() + "#" + method.getName(), method, type);
+
+            methods.add(new MethodListener(method, handle, guards, pool, ordered, stats));
         }
 	}
 
+    /**
+     * Creates a direct invoker for the given method with the shape {@code (GenericEvent)void},
+     * bound to the receiver for instance methods.
+     */
+    @NotNull
+    private static MethodHandle createHandle(@NotNull Method method, @Nullable Object receiver) throws IllegalAccessException {
+        method.setAccessible(true);
+        MethodHandle handle = MethodHandles.lookup().unreflect(method);
+
+        if (receiver != null) {
+            handle = handle.bindTo(receiver);
+        }
+
+        return handle.asType(HANDLER_TYPE);
+    }
+
+    /**
+     * Resolves all handler methods of this listener that accept the given event type,
+     * including handlers subscribed to one of its super types.
+     *
+     * @param eventType
+     *        the concrete event class
+     *
+     * @return the matching handlers in dispatch order, or an empty list if there are none
+     */
+    @NotNull
+    public List<EventListener> getHandlers(@NotNull Class<?> eventType) {
+        if (listeners.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<EventListener> handlers = new ArrayList<>();
+        for (Class<?> classOfEvent : ClassWalker.walk(eventType)) {
+            List<EventListener> methods = listeners.get(classOfEvent);
+            if (methods != null) {
+                handlers.addAll(methods);
+            }
+        }
+        return handlers;
+    }
+
 	@Override
 	public void onEvent(@NotNull GenericEvent event) {
-		for (Class<?> classOfEvent : ClassWalker.walk(event.getClass())) {
-			List<MethodAccessor> methods = listeners.get(classOfEvent);
-			if (methods == null) continue;
-
-			methods.forEach(method -> {
-                try {
-                    method.invoke(holder instanceof Class ? null : holder, event);
-                } catch (Exception e) {
-                    LOGGER.error("Failed to invoke event listener method {} in class {} for event {}.", method.getMethod().getName(), holder.getClass().getName(), event.getClass().getName(), e);
-                }
-            });
-		}
+        for (EventListener handler : dispatch.get(event.getClass())) {
+            handler.onEvent(event);
+        }
 	}
 
+    /**
+     * @return the statistics of all handler methods, empty if this listener is not watched
+     */
+    @NotNull
+    List<ListenerStats> stats() {
+        List<ListenerStats> stats = new ArrayList<>();
+        for (List<EventListener> methods : listeners.values()) {
+            for (EventListener method : methods) {
+                ListenerStats methodStats = ((MethodListener) method).stats;
+                if (methodStats != null) {
+                    stats.add(methodStats);
+                }
+            }
+        }
+        return stats;
+    }
+
+    @NotNull
+    public Object getHolder() {
+        return this.holder;
+    }
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof AnnotatedEventListener && ((AnnotatedEventListener) obj).holder.equals(holder);
@@ -76,4 +186,86 @@ public class AnnotatedEventListener implements EventListener {
     public int hashCode() {
         return Objects.hash(holder);
     }
+
+    private final class MethodListener implements GuardedListener {
+
+        private final Method method;
+        private final MethodHandle handle;
+        private final EventGuard[] guards;
+
+        @Nullable
+        private final HandlerPool pool;
+        private final boolean ordered;
+
+        @Nullable
+        private final ListenerStats stats;
+        private final Consumer<GenericEvent> body = this::call;
+
+        private MethodListener(@NotNull Method method,
+                               @NotNull MethodHandle handle,
+                               @NotNull EventGuard[] guards,
+                               @Nullable HandlerPool pool,
+                               boolean ordered,
+                               @Nullable ListenerStats stats) {
+            this.method = method;
+            this.handle = handle;
+            this.guards = guards;
+            this.pool = pool;
+            this.ordered = ordered;
+            this.stats = stats;
+        }
+
+        @NotNull
+        @Override
+        public EventGuard[] guards() {
+            return this.guards;
+        }
+
+        @Nullable
+        @Override
+        public ListenerStats stats() {
+            return this.stats;
+        }
+
+        @Override
+        public void invoke(@NotNull GenericEvent event) {
+            if (this.pool == null) {
+                call(event);
+            } else {
+                submit(event, () -> call(event));
+            }
+        }
+
+        @Override
+        public void invoke(@NotNull GenericEvent event, @NotNull ListenerStats stats, @NotNull ListenerWatchdog watchdog) {
+            if (this.pool == null) {
+                watchdog.time(stats, this.body, event);
+            } else {
+                // time the handler on the pool thread, submitting it takes no time
+                submit(event, () -> watchdog.time(stats, this.body, event));
+            }
+        }
+
+        private void submit(@NotNull GenericEvent event, @NotNull Runnable task) {
+            if (this.ordered) {
+                this.pool.execute(EventKeys.routingKey(event), task);
+            } else {
+                this.pool.execute(task);
+            }
+        }
+
+        private void call(@NotNull GenericEvent event) {
+            try {
+                handle.invokeExact(event);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                if (stats != null) {
+                    stats.failed();
+                }
+                LOGGER.error("Failed to invoke event listener method {} in class {} for event {}.", method.getName(), method.getDeclaringClass().getName(), event.getClass().getName(), e);
+            }
+        }
+
+    }
 }
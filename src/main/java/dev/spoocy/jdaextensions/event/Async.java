@@ -0,0 +1,30 @@
+package dev.spoocy.jdaextensions.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a {@link net.dv8tion.jda.api.hooks.SubscribeEvent @SubscribeEvent} method off the event thread.
+ * <br> The event thread only submits the handler and returns immediately, so the method can safely
+ * block, for example for database or HTTP calls. {@link Filter Filters} are still evaluated on the event thread.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see AdvancedEventManager.Builder#handlerPool(String, int, int)
+ */
+
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Async {
+
+    /**
+     * The name of the {@link HandlerPool} to run the handler on.
+     * Unknown names fall back to the {@link HandlerPool#DEFAULT default pool}.
+     */
+    String value() default HandlerPool.DEFAULT;
+
+    AsyncMode mode() default AsyncMode.POOL;
+
+}
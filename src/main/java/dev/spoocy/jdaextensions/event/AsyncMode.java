@@ -0,0 +1,28 @@
+package dev.spoocy.jdaextensions.event;
+
+/**
+ * How an {@link Async @Async} event handler is executed.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public enum AsyncMode {
+
+    /**
+     * Runs the handler on the named {@link HandlerPool}.
+     */
+    POOL,
+
+    /**
+     * Runs the handler on a new virtual thread per event.
+     * <br> Falls back to the named {@link HandlerPool} if virtual threads are not available (Java 20 and older).
+     */
+    VIRTUAL,
+
+    /**
+     * Runs the handler on the named {@link HandlerPool}, but never runs two events of the same
+     * guild (or direct message channel) at the same time, so they are handled in order.
+     */
+    ORDERED
+
+}
@@ -0,0 +1,27 @@
+package dev.spoocy.jdaextensions.event;
+
+/**
+ * Decides what happens to a new event while the buffer of a subscriber of an {@link EventPublisher} is full,
+ * because the subscriber did not {@link java.util.concurrent.Flow.Subscription#request(long) request} enough events.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public enum BackpressureStrategy {
+
+    /**
+     * Drops the oldest buffered event to make space for the new event.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Drops the new event.
+     */
+    DROP_LATEST,
+
+    /**
+     * Cancels the subscription and signals an {@link IllegalStateException} to the subscriber.
+     */
+    ERROR
+
+}
@@ -0,0 +1,89 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable snapshot of all registered listeners, resolving the handlers
+ * of each concrete event class once and caching them for later dispatches.
+ * <br> A new table is only created when its listeners change. The cache is owned by the table,
+ * so replaced tables leave nothing behind on the event classes.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class DispatchTable {
+
+    static final EventListener[] EMPTY = new EventListener[0];
+
+    private final List<EventListener> listeners;
+    private final Map<Class<?>, EventListener[]> handlers = new ConcurrentHashMap<>();
+
+    DispatchTable(@NotNull List<EventListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    /**
+     * Checks whether this table was created for the same listeners, compared by identity.
+     *
+     * @param listeners
+     *        the listeners in registration order
+     *
+     * @return {@code true} if this table can be reused for the listeners
+     */
+    boolean hasListeners(@NotNull List<EventListener> listeners) {
+        if (this.listeners.size() != listeners.size()) {
+            return false;
+        }
+
+        for (int i = 0; i < listeners.size(); i++) {
+            if (this.listeners.get(i) != listeners.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the handlers of the given event class.
+     *
+     * @param type
+     *        the concrete event class
+     *
+     * @return the handlers in registration order
+     */
+    @NotNull
+    EventListener[] get(@NotNull Class<?> type) {
+        EventListener[] handlers = this.handlers.get(type);
+        return handlers != null ? handlers : this.handlers.computeIfAbsent(type, this::resolve);
+    }
+
+    @NotNull
+    private EventListener[] resolve(@NotNull Class<?> type) {
+        List<EventListener> handlers = new ArrayList<>();
+
+        for (EventListener listener : listeners) {
+            if (listener instanceof AnnotatedEventListener) {
+                handlers.addAll(((AnnotatedEventListener) listener).getHandlers(type));
+            } else if (listener instanceof GeneratedEventListener) {
+                if (((GeneratedEventListener) listener).handles(type)) {
+                    handlers.add(listener);
+                }
+            } else if (listener instanceof TypedListener) {
+                if (((TypedListener) listener).eventType().isAssignableFrom(type)) {
+                    handlers.add(listener);
+                }
+            } else {
+                handlers.add(listener);
+            }
+        }
+
+        return handlers.isEmpty() ? EMPTY : handlers.toArray(EMPTY);
+    }
+
+}
@@ -0,0 +1,224 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * A multi-shot wait of an {@link EventWaiter}, collecting matching events until
+ * a number of events was collected, the timeout elapsed or a stop condition matched.
+ * <br> The whole session uses a single registration and a single timeout.
+ * Events can be handled one by one with {@link Builder#onEach(Consumer)}
+ * or as a batch with {@link Builder#onFinish(Consumer)} and {@link #future()}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see EventWaiter.Builder#collect(int)
+ */
+
+public final class EventCollector<T extends GenericEvent> {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final int limit;
+    @Nullable
+    private final Predicate<T> until;
+    private final Consumer<T> onEach;
+    private final Consumer<List<T>> onFinish;
+
+    private final List<T> events = new ArrayList<>();
+    private final CompletableFuture<List<T>> future = new CompletableFuture<>();
+    private EventWaiter.WaitingEvent<T> waiter;
+
+    private EventCollector(@NotNull Builder<T> builder) {
+        this.limit = builder.limit;
+        this.until = builder.until;
+        this.onEach = builder.onEach;
+        this.onFinish = builder.onFinish;
+    }
+
+    /**
+     * @return a snapshot of the events collected so far
+     */
+    @NotNull
+    public synchronized List<T> getCollected() {
+        return List.copyOf(this.events);
+    }
+
+    /**
+     * Gets a future completing with all collected events once collecting finished,
+     * either because the limit was reached, the timeout elapsed or the stop condition matched.
+     * <br> Cancelling the future cancels the collector.
+     *
+     * @return the future of the collected events
+     */
+    @NotNull
+    public CompletableFuture<List<T>> future() {
+        return this.future;
+    }
+
+    public boolean isDone() {
+        return this.future.isDone();
+    }
+
+    /**
+     * Stops collecting and finishes with the events collected so far.
+     *
+     * @return {@code true} if the collector was stopped, {@code false} if it already finished
+     */
+    public boolean stop() {
+        return this.waiter.finish();
+    }
+
+    /**
+     * Stops collecting without finishing. The future is cancelled.
+     *
+     * @return {@code true} if the collector was cancelled, {@code false} if it already finished
+     */
+    public boolean cancel() {
+        boolean cancelled = this.waiter.cancel();
+        this.future.cancel(false);
+        return cancelled;
+    }
+
+    /**
+     * Handles a matching event. Only called by one thread at a time.
+     *
+     * @return {@code true} if collecting is finished
+     */
+    boolean accept(@NotNull T event) {
+        if (this.until != null && this.until.test(event)) {
+            return true;
+        }
+
+        int size;
+        synchronized (this) {
+            this.events.add(event);
+            size = this.events.size();
+        }
+
+        try {
+            this.onEach.accept(event);
+        } catch (Throwable ex) {
+            LOGGER.error("Failed to handle collected event.", ex);
+        }
+        return size >= this.limit;
+    }
+
+    /**
+     * Cancels the future once the waiter was cancelled, for example when it was evicted by the {@link WaiterLimits}.
+     */
+    void cancelled() {
+        this.future.cancel(false);
+    }
+
+    void finish() {
+        List<T> events = getCollected();
+        try {
+            this.onFinish.accept(events);
+        } catch (Throwable ex) {
+            LOGGER.error("Failed to handle collected events.", ex);
+        }
+        this.future.complete(events);
+    }
+
+    public static final class Builder<T extends GenericEvent> {
+
+        private final int limit;
+        private final Function<EventCollector<T>, EventWaiter.WaitingEvent<T>> register;
+        @Nullable
+        private Predicate<T> until;
+        private Consumer<T> onEach = (e) -> { };
+        private Consumer<List<T>> onFinish = (e) -> { };
+
+        Builder(int limit, @NotNull Function<EventCollector<T>, EventWaiter.WaitingEvent<T>> register) {
+            if (limit < 1) {
+                throw new IllegalArgumentException("Limit must be at least 1.");
+            }
+            this.limit = limit;
+            this.register = register;
+        }
+
+        /**
+         * Stops collecting once an event matches the condition. The stopping event is not collected.
+         *
+         * @param condition
+         *        the stop condition
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> until(@NotNull Predicate<T> condition) {
+            this.until = condition;
+            return this;
+        }
+
+        /**
+         * Handles every collected event as soon as it arrives.
+         *
+         * @param action
+         *        the action
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> onEach(@NotNull Consumer<T> action) {
+            this.onEach = action;
+            return this;
+        }
+
+        /**
+         * Handles all collected events once collecting finished.
+         *
+         * @param action
+         *        the action
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> onFinish(@NotNull Consumer<List<T>> action) {
+            this.onFinish = action;
+            return this;
+        }
+
+        /**
+         * Registers the collector.
+         *
+         * @return the collector
+         *
+         * @throws IllegalStateException
+         *         if the collector exceeds the {@link WaiterLimits} and the policy is {@link WaiterLimits.Policy#REJECT}
+         */
+        @NotNull
+        public EventCollector<T> start() {
+            EventCollector<T> collector = new EventCollector<>(this);
+            collector.waiter = this.register.apply(collector);
+            collector.future.whenComplete((events, error) -> {
+                if (error != null) {
+                    collector.waiter.cancel();
+                }
+            });
+            return collector;
+        }
+
+        /**
+         * Registers the collector and returns the future of the collected events.
+         *
+         * @return the future of the collected events
+         *
+         * @see EventCollector#future()
+         */
+        @NotNull
+        public CompletableFuture<List<T>> future() {
+            return start().future();
+        }
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.channel.GenericChannelEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.react.GenericMessageReactionEvent;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
+import net.dv8tion.jda.api.events.user.UserTypingEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * A single check compiled from a {@link Filter}.
+ * <br> Equal checks share one canonical instance with a unique {@link #id()},
+ * so the result of a check can be reused for every handler of the same event.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class EventGuard {
+
+    static final EventGuard[] NONE = new EventGuard[0];
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+    private static final Map<Set<ChannelType>, EventGuard> CHANNEL_GUARDS = new ConcurrentHashMap<>();
+
+    static final EventGuard GUILD_ONLY = new EventGuard("guildOnly", event -> EventKeys.guildId(event) != 0L);
+
+    static final EventGuard IGNORE_BOTS = new EventGuard("ignoreBots", event -> {
+        User user = userOf(event);
+        return user == null || !user.isBot();
+    });
+
+    private final int id;
+    private final String name;
+    private final Predicate<GenericEvent> check;
+
+    private EventGuard(@NotNull String name, @NotNull Predicate<GenericEvent> check) {
+        this.id = IDS.getAndIncrement();
+        this.name = name;
+        this.check = check;
+    }
+
+    /**
+     * @return the unique id of this guard, assigned in creation order starting at {@code 0}
+     */
+    int id() {
+        return this.id;
+    }
+
+    boolean test(@NotNull GenericEvent event) {
+        return this.check.test(event);
+    }
+
+    /**
+     * Compiles the filters into their guards, cheapest checks first.
+     *
+     * @param filters
+     *        the filters, {@code null} elements are ignored
+     *
+     * @return the distinct guards of all filters
+     */
+    @NotNull
+    static EventGuard[] compile(@Nullable Filter... filters) {
+        boolean guildOnly = false;
+        boolean ignoreBots = false;
+        List<EnumSet<ChannelType>> channelTypes = new ArrayList<>();
+
+        for (Filter filter : filters) {
+            if (filter == null) {
+                continue;
+            }
+            guildOnly |= filter.guildOnly();
+            ignoreBots |= filter.ignoreBots();
+            if (filter.channelTypes().length > 0) {
+                channelTypes.add(EnumSet.copyOf(Arrays.asList(filter.channelTypes())));
+            }
+        }
+
+        List<EventGuard> guards = new ArrayList<>();
+        if (guildOnly) {
+            guards.add(GUILD_ONLY);
+        }
+        for (EnumSet<ChannelType> types : channelTypes) {
+            EventGuard guard = channelTypes(types);
+            if (!guards.contains(guard)) {
+                guards.add(guard);
+            }
+        }
+        if (ignoreBots) {
+            guards.add(IGNORE_BOTS);
+        }
+
+        return guards.isEmpty() ? NONE : guards.toArray(NONE);
+    }
+
+    @NotNull
+    private static EventGuard channelTypes(@NotNull EnumSet<ChannelType> types) {
+        return CHANNEL_GUARDS.computeIfAbsent(Collections.unmodifiableSet(types), key -> new EventGuard("channelTypes" + key, event -> {
+            ChannelType type = channelTypeOf(event);
+            return type != null && key.contains(type);
+        }));
+    }
+
+    @Nullable
+    private static ChannelType channelTypeOf(@NotNull GenericEvent event) {
+        if (event instanceof GenericMessageEvent) {
+            return ((GenericMessageEvent) event).getChannelType();
+        }
+        if (event instanceof GenericInteractionCreateEvent) {
+            return ((GenericInteractionCreateEvent) event).getChannelType();
+        }
+        if (event instanceof GenericChannelEvent) {
+            return ((GenericChannelEvent) event).getChannelType();
+        }
+        if (event instanceof UserTypingEvent) {
+            return ((UserTypingEvent) event).getChannel().getType();
+        }
+        return null;
+    }
+
+    @Nullable
+    private static User userOf(@NotNull GenericEvent event) {
+        if (event instanceof MessageReceivedEvent) {
+            return ((MessageReceivedEvent) event).getAuthor();
+        }
+        if (event instanceof MessageUpdateEvent) {
+            return ((MessageUpdateEvent) event).getAuthor();
+        }
+        if (event instanceof GenericInteractionCreateEvent) {
+            return ((GenericInteractionCreateEvent) event).getUser();
+        }
+        if (event instanceof GenericMessageReactionEvent) {
+            return ((GenericMessageReactionEvent) event).getUser();
+        }
+        if (event instanceof GenericUserEvent) {
+            return ((GenericUserEvent) event).getUser();
+        }
+        if (event instanceof GenericGuildMemberEvent) {
+            return ((GenericGuildMemberEvent) event).getUser();
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "EventGuard{" + this.name + "}";
+    }
+
+}
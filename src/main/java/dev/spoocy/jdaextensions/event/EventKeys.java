@@ -0,0 +1,175 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.entities.ISnowflake;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.channel.GenericChannelEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.interaction.component.GenericComponentInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.message.react.GenericMessageReactionEvent;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
+import net.dv8tion.jda.api.events.user.UserTypingEvent;
+import net.dv8tion.jda.api.events.user.update.GenericUserPresenceEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Extracts the snowflake IDs an event belongs to without any allocation.
+ * <br> A value of {@code 0} means the event does not carry the requested ID.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class EventKeys {
+
+    private EventKeys() { }
+
+    /**
+     * Gets the ID of the guild the event was fired in.
+     *
+     * @param event
+     *        the event
+     *
+     * @return the guild ID, or {@code 0} if the event is not guild related
+     */
+    public static long guildId(@NotNull GenericEvent event) {
+        if (event instanceof GenericGuildEvent) {
+            return idOf(((GenericGuildEvent) event).getGuild());
+        }
+
+        if (event instanceof GenericMessageEvent) {
+            GenericMessageEvent messageEvent = (GenericMessageEvent) event;
+            return messageEvent.isFromGuild() ? idOf(messageEvent.getGuild()) : 0L;
+        }
+
+        if (event instanceof GenericInteractionCreateEvent) {
+            return idOf(((GenericInteractionCreateEvent) event).getGuild());
+        }
+
+        if (event instanceof GenericChannelEvent) {
+            GenericChannelEvent channelEvent = (GenericChannelEvent) event;
+            return channelEvent.isFromGuild() ? idOf(channelEvent.getGuild()) : 0L;
+        }
+
+        if (event instanceof UserTypingEvent) {
+            return idOf(((UserTypingEvent) event).getGuild());
+        }
+
+        if (event instanceof GenericUserPresenceEvent) {
+            return idOf(((GenericUserPresenceEvent) event).getGuild());
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Gets the ID of the channel the event was fired in.
+     *
+     * @param event
+     *        the event
+     *
+     * @return the channel ID, or {@code 0} if the event is not channel related
+     */
+    public static long channelId(@NotNull GenericEvent event) {
+        if (event instanceof GenericMessageEvent) {
+            return idOf(((GenericMessageEvent) event).getChannel());
+        }
+
+        if (event instanceof GenericInteractionCreateEvent) {
+            return ((GenericInteractionCreateEvent) event).getChannelIdLong();
+        }
+
+        if (event instanceof GenericChannelEvent) {
+            return idOf(((GenericChannelEvent) event).getChannel());
+        }
+
+        if (event instanceof UserTypingEvent) {
+            return idOf(((UserTypingEvent) event).getChannel());
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Gets the ID of the user who triggered the event or whom the event is about.
+     *
+     * @param event
+     *        the event
+     *
+     * @return the user ID, or {@code 0} if the event is not user related
+     */
+    public static long userId(@NotNull GenericEvent event) {
+        if (event instanceof GenericInteractionCreateEvent) {
+            return idOf(((GenericInteractionCreateEvent) event).getUser());
+        }
+
+        if (event instanceof MessageReceivedEvent) {
+            return idOf(((MessageReceivedEvent) event).getAuthor());
+        }
+
+        if (event instanceof MessageUpdateEvent) {
+            return idOf(((MessageUpdateEvent) event).getAuthor());
+        }
+
+        if (event instanceof GenericMessageReactionEvent) {
+            return ((GenericMessageReactionEvent) event).getUserIdLong();
+        }
+
+        if (event instanceof GenericUserEvent) {
+            return idOf(((GenericUserEvent) event).getUser());
+        }
+
+        if (event instanceof GenericGuildMemberEvent) {
+            return idOf(((GenericGuildMemberEvent) event).getUser());
+        }
+
+        if (event instanceof GenericUserPresenceEvent) {
+            return idOf(((GenericUserPresenceEvent) event).getMember());
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Gets the ID of the message the event is about, for example a reaction or a button click on a message.
+     *
+     * @param event
+     *        the event
+     *
+     * @return the message ID, or {@code 0} if the event is not message related
+     */
+    public static long messageId(@NotNull GenericEvent event) {
+        if (event instanceof GenericMessageEvent) {
+            return ((GenericMessageEvent) event).getMessageIdLong();
+        }
+
+        if (event instanceof GenericComponentInteractionCreateEvent) {
+            return ((GenericComponentInteractionCreateEvent) event).getMessageIdLong();
+        }
+
+        return 0L;
+    }
+
+    /**
+     * Gets the key used to keep related events in order.
+     * <br> This is the guild ID for guild events and the channel ID for direct messages.
+     *
+     * @param event
+     *        the event
+     *
+     * @return the routing key, or {@code 0} if the event belongs to neither
+     */
+    public static long routingKey(@NotNull GenericEvent event) {
+        long guildId = guildId(event);
+        return guildId != 0L ? guildId : channelId(event);
+    }
+
+    private static long idOf(@Nullable ISnowflake entity) {
+        return entity == null ? 0L : entity.getIdLong();
+    }
+
+}
@@ -0,0 +1,28 @@
+package dev.spoocy.jdaextensions.event;
+
+/**
+ * Priority of an event inside the queue of a parallel {@link AdvancedEventManager}.
+ * <br> Queued events of a higher priority are always dispatched first and events of
+ * a lower priority are the first to be shed when the queue is full.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public enum EventPriority {
+
+    /**
+     * Interactions and session events. Interactions have to be acknowledged within 3 seconds.
+     */
+    HIGH,
+
+    /**
+     * Messages and every event without a more specific priority.
+     */
+    NORMAL,
+
+    /**
+     * High volume events like presence, typing and member updates.
+     */
+    LOW
+
+}
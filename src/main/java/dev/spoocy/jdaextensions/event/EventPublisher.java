@@ -0,0 +1,264 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Flow.Publisher} of all events of one type handled by an {@link AdvancedEventManager}.
+ * <br> Every subscriber has its own bounded buffer and only receives as many events as it
+ * {@link Flow.Subscription#request(long) requested}. The event thread only appends to the buffer,
+ * events are delivered to the subscriber on the executor of the publisher, so a slow subscriber
+ * never slows down other listeners.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see AdvancedEventManager#publisher(Class)
+ */
+
+public final class EventPublisher<T extends GenericEvent> implements Flow.Publisher<T> {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final AdvancedEventManager manager;
+    private final Class<T> type;
+    private final int bufferSize;
+    private final BackpressureStrategy strategy;
+    private final Executor executor;
+
+    private final Set<EventSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+
+    EventPublisher(@NotNull AdvancedEventManager manager,
+                   @NotNull Class<T> type,
+                   int bufferSize,
+                   @NotNull BackpressureStrategy strategy,
+                   @NotNull Executor executor) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("Buffer size must be at least 1.");
+        }
+
+        this.manager = manager;
+        this.type = type;
+        this.bufferSize = bufferSize;
+        this.strategy = strategy;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(@NotNull Flow.Subscriber<? super T> subscriber) {
+        EventSubscription subscription = new EventSubscription(subscriber);
+        synchronized (this) {
+            if (this.subscriptions.isEmpty()) {
+                this.manager.addPublisher(this);
+            }
+            this.subscriptions.add(subscription);
+        }
+        subscriber.onSubscribe(subscription);
+
+        if (!subscription.cancelled) {
+            this.manager.register(subscription);
+        }
+    }
+
+    @NotNull
+    public Class<T> getEventType() {
+        return this.type;
+    }
+
+    /**
+     * @return the number of active subscribers
+     */
+    public int getSubscriberCount() {
+        return this.subscriptions.size();
+    }
+
+    /**
+     * @return the number of events dropped for all subscribers because their buffer was full
+     */
+    public long getDroppedEvents() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Completes all subscriptions.
+     */
+    void complete() {
+        for (EventSubscription subscription : this.subscriptions) {
+            subscription.complete();
+        }
+    }
+
+    private final class EventSubscription implements Flow.Subscription, TypedListener {
+
+        private final Flow.Subscriber<? super T> subscriber;
+        private final ArrayDeque<T> buffer = new ArrayDeque<>();
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+        private volatile boolean completed;
+
+        private EventSubscription(@NotNull Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @NotNull
+        @Override
+        public Class<?> eventType() {
+            return type;
+        }
+
+        @Override
+        public void onEvent(@NotNull GenericEvent event) {
+            if (this.cancelled || !type.isInstance(event)) {
+                return;
+            }
+
+            synchronized (this.buffer) {
+                if (this.buffer.size() >= bufferSize) {
+                    switch (strategy) {
+                        case DROP_OLDEST:
+                            this.buffer.pollFirst();
+                            dropped.increment();
+                            break;
+
+                        case DROP_LATEST:
+                            dropped.increment();
+                            return;
+
+                        case ERROR:
+                            dropped.increment();
+                            fail(new IllegalStateException("Buffer of subscriber " + this.subscriber + " overflowed. (" + bufferSize + " events)"));
+                            return;
+                    }
+                }
+                this.buffer.addLast(type.cast(event));
+            }
+
+            schedule();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                fail(new IllegalArgumentException("Requested amount must be positive. (" + n + ")"));
+                return;
+            }
+
+            this.requested.getAndAccumulate(n, (current, add) -> {
+                long sum = current + add;
+                return sum < 0 ? Long.MAX_VALUE : sum;
+            });
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            if (this.cancelled) {
+                return;
+            }
+
+            this.cancelled = true;
+            synchronized (EventPublisher.this) {
+                // the manager only holds on to publishers with subscribers
+                if (subscriptions.remove(this) && subscriptions.isEmpty()) {
+                    manager.removePublisher(EventPublisher.this);
+                }
+            }
+            manager.unregister(this);
+            synchronized (this.buffer) {
+                this.buffer.clear();
+            }
+        }
+
+        private void fail(@NotNull Throwable throwable) {
+            this.error = throwable;
+            schedule();
+        }
+
+        private void complete() {
+            this.completed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (this.wip.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Delivers buffered events and terminal signals. Only one thread at a time runs this loop,
+         * so the subscriber is never called concurrently.
+         */
+        private void drain() {
+            int missed = 1;
+            do {
+                if (this.cancelled) {
+                    return;
+                }
+
+                Throwable error = this.error;
+                if (error != null) {
+                    cancel();
+                    signal(() -> this.subscriber.onError(error));
+                    return;
+                }
+
+                long requested = this.requested.get();
+                long emitted = 0;
+                while (emitted != requested && !this.cancelled) {
+                    T event;
+                    synchronized (this.buffer) {
+                        event = this.buffer.pollFirst();
+                    }
+                    if (event == null) {
+                        break;
+                    }
+
+                    signal(() -> this.subscriber.onNext(event));
+                    emitted++;
+                }
+
+                if (emitted != 0 && requested != Long.MAX_VALUE) {
+                    this.requested.addAndGet(-emitted);
+                }
+
+                if (this.completed && !this.cancelled) {
+                    boolean empty;
+                    synchronized (this.buffer) {
+                        empty = this.buffer.isEmpty();
+                    }
+                    if (empty) {
+                        cancel();
+                        signal(this.subscriber::onComplete);
+                        return;
+                    }
+                }
+
+                missed = this.wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void signal(@NotNull Runnable signal) {
+            try {
+                signal.run();
+            } catch (Throwable throwable) {
+                LOGGER.error("Subscriber {} of {} events threw an exception.", this.subscriber, type.getSimpleName(), throwable);
+                cancel();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,294 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded event queue with one FIFO lane per {@link EventPriority}.
+ * <br> {@link #take()} always drains the highest priority lane first.
+ * What happens to new events while the queue is full is decided by the {@link OverflowPolicy}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class EventQueue {
+
+    private static final EventPriority[] PRIORITIES = EventPriority.values();
+    // a blocked producer re-checks whether the queue was closed at least this often
+    private static final long BLOCK_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final ArrayDeque<Slot>[] lanes;
+    private final int capacity;
+    private final OverflowPolicy policy;
+
+    // latest queued slot per coalescing key, only maintained for the COALESCE policy
+    private final Map<CoalesceKey, Slot> coalescable;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+
+    private int size;
+    private boolean closed;
+    private volatile long dropped;
+    private volatile long coalesced;
+
+    @SuppressWarnings("unchecked")
+    EventQueue(int capacity, @NotNull OverflowPolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1.");
+        }
+
+        this.capacity = capacity;
+        this.policy = policy;
+        this.coalescable = policy == OverflowPolicy.COALESCE ? new HashMap<>() : null;
+        this.lanes = new ArrayDeque[PRIORITIES.length];
+        for (int i = 0; i < this.lanes.length; i++) {
+            this.lanes[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Queues the event according to the overflow policy.
+     *
+     * @param event
+     *        the event to queue
+     * @param priority
+     *        the priority of the event
+     *
+     * @return {@code true} if the event was queued or merged into a queued event,
+     *         {@code false} if it was dropped, also if the queue was closed
+     *
+     * @throws InterruptedException
+     *         if the thread was interrupted while waiting for space with the {@link OverflowPolicy#BLOCK} policy
+     */
+    boolean offer(@NotNull GenericEvent event, @NotNull EventPriority priority) throws InterruptedException {
+        CoalesceKey key = this.coalescable != null && priority == EventPriority.LOW ? CoalesceKey.of(event) : null;
+
+        this.lock.lockInterruptibly();
+        try {
+            if (this.closed) {
+                this.dropped++;
+                return false;
+            }
+
+            if (this.size >= this.capacity) {
+                switch (this.policy) {
+                    case BLOCK:
+                        while (this.size >= this.capacity && !this.closed) {
+                            this.notFull.awaitNanos(BLOCK_CHECK_NANOS);
+                        }
+                        if (this.closed) {
+                            this.dropped++;
+                            return false;
+                        }
+                        break;
+
+                    case COALESCE:
+                        if (key != null) {
+                            Slot queued = this.coalescable.get(key);
+                            if (queued != null) {
+                                queued.event = event;
+                                this.coalesced++;
+                                return true;
+                            }
+                        }
+                        // fall through
+
+                    case DROP_LOWEST:
+                        if (!dropLowest(priority)) {
+                            this.dropped++;
+                            return false;
+                        }
+                        break;
+                }
+            }
+
+            Slot slot = new Slot(event, key);
+            this.lanes[priority.ordinal()].addLast(slot);
+            if (key != null) {
+                this.coalescable.put(key, slot);
+            }
+
+            this.size++;
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Queues the event only if there is space, without applying the overflow policy.
+     *
+     * @param event
+     *        the event to queue
+     * @param priority
+     *        the priority of the event
+     *
+     * @return {@code false} if the queue is full or closed
+     */
+    boolean tryOffer(@NotNull GenericEvent event, @NotNull EventPriority priority) {
+        this.lock.lock();
+        try {
+            if (this.closed || this.size >= this.capacity) {
+                return false;
+            }
+
+            this.lanes[priority.ordinal()].addLast(new Slot(event, null));
+            this.size++;
+            this.notEmpty.signal();
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Rejects all further events and wakes up producers waiting for space.
+     */
+    void close() {
+        this.lock.lock();
+        try {
+            this.closed = true;
+            this.notFull.signalAll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the oldest event of the highest queued priority, waiting for one if the queue is empty.
+     *
+     * @return the next event
+     *
+     * @throws InterruptedException
+     *         if the thread was interrupted while waiting
+     */
+    @NotNull
+    GenericEvent take() throws InterruptedException {
+        this.lock.lockInterruptibly();
+        try {
+            while (this.size == 0) {
+                this.notEmpty.await();
+            }
+
+            for (ArrayDeque<Slot> lane : this.lanes) {
+                Slot slot = lane.pollFirst();
+                if (slot != null) {
+                    return remove(slot);
+                }
+            }
+
+            throw new IllegalStateException("Queue size is out of sync.");
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    int size() {
+        this.lock.lock();
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    long dropped() {
+        return this.dropped;
+    }
+
+    long coalesced() {
+        return this.coalesced;
+    }
+
+    /**
+     * Drops the oldest event of the lowest queued priority to make space for an event of the given priority.
+     *
+     * @return {@code false} if every queued event has a higher priority than the new event
+     */
+    private boolean dropLowest(@NotNull EventPriority incoming) {
+        for (int i = this.lanes.length - 1; i >= incoming.ordinal(); i--) {
+            Slot slot = this.lanes[i].pollFirst();
+            if (slot != null) {
+                remove(slot);
+                this.dropped++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @NotNull
+    private GenericEvent remove(@NotNull Slot slot) {
+        if (slot.key != null) {
+            this.coalescable.remove(slot.key, slot);
+        }
+
+        this.size--;
+        this.notFull.signal();
+        return slot.event;
+    }
+
+    private static final class Slot {
+
+        private GenericEvent event;
+        @Nullable
+        private final CoalesceKey key;
+
+        private Slot(@NotNull GenericEvent event, @Nullable CoalesceKey key) {
+            this.event = event;
+            this.key = key;
+        }
+    }
+
+    /**
+     * Events of the same type about the same user in the same guild supersede each other.
+     */
+    private static final class CoalesceKey {
+
+        private final Class<?> type;
+        private final long guildId;
+        private final long userId;
+
+        private CoalesceKey(@NotNull Class<?> type, long guildId, long userId) {
+            this.type = type;
+            this.guildId = guildId;
+            this.userId = userId;
+        }
+
+        @Nullable
+        private static CoalesceKey of(@NotNull GenericEvent event) {
+            long userId = EventKeys.userId(event);
+            if (userId == 0L) {
+                return null;
+            }
+            return new CoalesceKey(event.getClass(), EventKeys.guildId(event), userId);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CoalesceKey)) {
+                return false;
+            }
+            CoalesceKey other = (CoalesceKey) obj;
+            return other.type == this.type && other.guildId == this.guildId && other.userId == this.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.type, this.guildId, this.userId);
+        }
+    }
+
+}
@@ -1,6 +1,6 @@
 package dev.spoocy.jdaextensions.event;
 
-import dev.spoocy.utils.common.collections.Collector;
+import dev.spoocy.jdaextensions.util.HashedTimingWheel;
 import dev.spoocy.utils.common.log.ILogger;
 import dev.spoocy.utils.reflection.ClassWalker;
 import net.dv8tion.jda.api.events.Event;
@@ -8,33 +8,78 @@ import net.dv8tion.jda.api.events.GenericEvent;
 import net.dv8tion.jda.api.events.session.ShutdownEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
 /**
+ * Waits for events matching a condition.
+ * <br> Waiters can declare the user, channel, message or guild they are waiting for.
+ * Such waiters are indexed by that ID and are only tested against events with the same ID,
+ * so thousands of pending waiters do not slow down unrelated events.
+ * Waiters without any ID are tested against every event of their type.
+ * <br> Waiters can be registered from any thread. Their timeouts are tracked in a single
+ * {@link HashedTimingWheel} advanced on the given executor and are removed as soon as a waiter completes.
+ * <br> The number of pending waiters can be capped in total and per user, channel or guild with {@link #setLimits(WaiterLimits)}.
+ *
  * @author Spoocy99 | GitHub: Spoocy99
  */
 
 public class EventWaiter implements EventListener {
 
     private static final ILogger LOGGER = ILogger.forThisClass();
-    private final HashMap<Class<?>, Set<WaitingEvent<? extends GenericEvent>>> waitingEvents;
+
+    private static final ClassValue<Class<?>[]> HIERARCHY = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(@NotNull Class<?> type) {
+            return ClassWalker.walk(type).toArray(new Class<?>[0]);
+        }
+    };
+
+    private static final long DEFAULT_TICK_MILLIS = 100L;
+    private static final int WHEEL_SIZE = 512;
+
+    private final Map<Class<?>, WaiterIndex> waitingEvents;
     private final ScheduledExecutorService timeoutExecutor;
+    private final HashedTimingWheel timeouts;
     private final boolean shutdownAutomatically;
 
+    private volatile WaiterLimits limits = WaiterLimits.UNLIMITED;
+    @Nullable
+    private volatile WaiterLimiter limiter;
+
     public EventWaiter(@NotNull ScheduledExecutorService threadpool, boolean shutdownAutomatically) {
+        this(threadpool, shutdownAutomatically, DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates an event waiter with a custom timeout resolution.
+     *
+     * @param threadpool
+     *        the executor advancing the timeouts and running the timeout actions
+     * @param shutdownAutomatically
+     *        whether the executor is shut down on {@link ShutdownEvent}
+     * @param tickDuration
+     *        the resolution of timeouts, timeouts run up to this late
+     * @param unit
+     *        the unit of the resolution
+     */
+    public EventWaiter(@NotNull ScheduledExecutorService threadpool, boolean shutdownAutomatically, long tickDuration, @NotNull TimeUnit unit) {
         if (threadpool.isShutdown())
             throw new IllegalArgumentException("Threadpool is already shutdown!");
 
-        this.waitingEvents = new HashMap<>();
+        this.waitingEvents = new ConcurrentHashMap<>();
         this.timeoutExecutor = threadpool;
         this.shutdownAutomatically = shutdownAutomatically;
+        this.timeouts = new HashedTimingWheel(tickDuration, unit, WHEEL_SIZE);
+        this.timeouts.start(threadpool);
     }
 
     public boolean isShutdown() {
@@ -44,6 +89,7 @@ public class EventWaiter implements EventListener {
     public void shutdown() {
         if (shutdownAutomatically)
             throw new UnsupportedOperationException("Shutting down EventWaiters that are set to automatically close is unsupported!");
+        timeouts.stop();
         timeoutExecutor.shutdown();
     }
 
@@ -51,28 +97,174 @@ public class EventWaiter implements EventListener {
         return new Builder<>(eventType);
     }
 
-    @Override
-    public final void onEvent(@NotNull GenericEvent event) {
-        Class<? extends GenericEvent> c = event.getClass();
+    /**
+     * Completes with the result of the first of the given futures to complete.
+     * <br> All other futures are cancelled once one completes, and all futures are cancelled
+     * if the returned future is cancelled, so no waiter is left behind.
+     *
+     * @param futures
+     *        the futures, for example of {@link Builder#future()}
+     *
+     * @return a future completing with the first result or failure
+     */
+    @SafeVarargs
+    @NotNull
+    public static <T> CompletableFuture<T> firstOf(@NotNull CompletableFuture<? extends T>... futures) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        for (CompletableFuture<? extends T> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error == null) {
+                    result.complete(value);
+                } else {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
 
-        ClassWalker.walk(c).forEach(clazz -> {
-            if (this.waitingEvents.containsKey(clazz)) {
-                Set<WaitingEvent<? extends GenericEvent>> set = waitingEvents.get(clazz);
-                WaitingEvent[] toRemove = set.toArray(WaitingEvent[]::new);
+        result.whenComplete((value, error) -> cancelAll(futures));
+        return result;
+    }
 
-                Collector.of(toRemove).filter(we -> {
+    /**
+     * Completes with the results of all given futures in order.
+     * <br> If one of the futures fails or the returned future is cancelled,
+     * all remaining futures are cancelled, so no waiter is left behind.
+     *
+     * @param futures
+     *        the futures, for example of {@link Builder#future()}
+     *
+     * @return a future completing with all results
+     */
+    @SafeVarargs
+    @NotNull
+    public static <T> CompletableFuture<List<T>> allOf(@NotNull CompletableFuture<? extends T>... futures) {
+        CompletableFuture<List<T>> result = new CompletableFuture<>();
+        CompletableFuture.allOf(futures).whenComplete((ignored, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
 
-                    try {
-                        return we.attempt(event);
-                    } catch (ClassCastException e) {
-                        return false;
-                    }
+            List<T> values = new ArrayList<>(futures.length);
+            for (CompletableFuture<? extends T> future : futures) {
+                values.add(future.join());
+            }
+            result.complete(values);
+        });
 
-                }).asList().forEach(set::remove);
+        for (CompletableFuture<? extends T> future : futures) {
+            future.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                }
+            });
+        }
+
+        result.whenComplete((value, error) -> {
+            if (error != null) {
+                cancelAll(futures);
             }
         });
+        return result;
+    }
+
+    private static void cancelAll(@NotNull CompletableFuture<?>[] futures) {
+        for (CompletableFuture<?> future : futures) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Sets the limits on the number of pending waiters.
+     * <br> Only waiters registered afterwards are counted against the new limits.
+     *
+     * @param limits
+     *        the limits, {@link WaiterLimits#UNLIMITED} to remove all limits
+     */
+    public void setLimits(@NotNull WaiterLimits limits) {
+        this.limits = limits;
+        this.limiter = limits.isUnlimited() ? null : new WaiterLimiter(limits);
+    }
+
+    @NotNull
+    public WaiterLimits getLimits() {
+        return this.limits;
+    }
+
+    /**
+     * Gets the number of waiters which are still waiting for an event of the given type.
+     *
+     * @param eventType
+     *        the exact event type the waiters were registered for
+     *
+     * @return the number of pending waiters
+     */
+    public int getPendingWaiters(@NotNull Class<? extends GenericEvent> eventType) {
+        WaiterIndex index = this.waitingEvents.get(eventType);
+        return index == null ? 0 : index.size();
+    }
+
+    /**
+     * Gets the number of waiters which are still waiting for an event of any type.
+     *
+     * @return the number of pending waiters
+     */
+    public int getPendingWaiters() {
+        int pending = 0;
+        for (WaiterIndex index : this.waitingEvents.values()) {
+            pending += index.size();
+        }
+        return pending;
+    }
+
+    /**
+     * Gets the number of pending waiters per event type they were registered for.
+     * Event types without pending waiters are left out.
+     *
+     * @return a snapshot of the pending waiters per event type
+     */
+    @NotNull
+    public Map<Class<?>, Integer> getPendingWaitersByType() {
+        Map<Class<?>, Integer> pending = new HashMap<>();
+        this.waitingEvents.forEach((type, index) -> {
+            int size = index.size();
+            if (size > 0) {
+                pending.put(type, size);
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * Gets the number of waiters whose timeout is still pending.
+     *
+     * @return the number of pending timeouts
+     */
+    public int getPendingTimeouts() {
+        return this.timeouts.pendingTimeouts();
+    }
+
+    @Override
+    public final void onEvent(@NotNull GenericEvent event) {
+        long[] keys = null;
+
+        for (Class<?> type : HIERARCHY.get(event.getClass())) {
+            WaiterIndex index = this.waitingEvents.get(type);
+            if (index == null) {
+                continue;
+            }
+
+            if (keys == null) {
+                keys = WaiterKey.keysOf(event);
+            }
+
+            for (WaitingEvent<?> waiter : index.candidates(keys)) {
+                waiter.attempt(event, keys);
+            }
+        }
 
         if (event instanceof ShutdownEvent && shutdownAutomatically) {
+            timeouts.stop();
             timeoutExecutor.shutdown();
         }
     }
@@ -80,6 +272,7 @@ public class EventWaiter implements EventListener {
     public class Builder<T extends Event> {
 
         private final Class<T> eventType;
+        private final long[] keys = new long[WaiterKey.VALUES.length];
         private Predicate<T> condition = (e) -> true;
         private Consumer<T> action = (e) -> { };
         private Runnable timeoutAction = () -> { };
@@ -90,11 +283,90 @@ public class EventWaiter implements EventListener {
             this.eventType = eventType;
         }
 
+        /**
+         * Only accepts events triggered by or about the given user.
+         *
+         * @param userId
+         *        the ID of the user
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> fromUser(long userId) {
+            return key(WaiterKey.USER, userId);
+        }
+
+        /**
+         * Only accepts events fired in the given channel.
+         *
+         * @param channelId
+         *        the ID of the channel
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> inChannel(long channelId) {
+            return key(WaiterKey.CHANNEL, channelId);
+        }
+
+        /**
+         * Only accepts events about the given message, for example reactions or button clicks.
+         *
+         * @param messageId
+         *        the ID of the message
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> onMessage(long messageId) {
+            return key(WaiterKey.MESSAGE, messageId);
+        }
+
+        /**
+         * Only accepts events fired in the given guild.
+         *
+         * @param guildId
+         *        the ID of the guild
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder<T> inGuild(long guildId) {
+            return key(WaiterKey.GUILD, guildId);
+        }
+
+        private Builder<T> key(@NotNull WaiterKey key, long id) {
+            if (id == 0L) {
+                throw new IllegalArgumentException("ID cannot be 0.");
+            }
+            this.keys[key.ordinal()] = id;
+            return this;
+        }
+
+        /**
+         * Only accepts events matching the condition.
+         * <br> The condition is only tested for events matching the declared IDs.
+         *
+         * @param condition
+         *        the condition
+         *
+         * @return the current builder instance for chaining
+         */
         public Builder<T> runIf(@NotNull Predicate<T> condition) {
             this.condition = condition;
             return this;
         }
 
+        /**
+         * Only accepts events matching the condition.
+         *
+         * @param condition
+         *        the condition
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #runIf(Predicate)
+         */
+        public Builder<T> matching(@NotNull Predicate<T> condition) {
+            return runIf(condition);
+        }
+
         public Builder<T> run(@NotNull Consumer<T> action) {
             this.action = action;
             return this;
@@ -106,36 +378,143 @@ public class EventWaiter implements EventListener {
             return this;
         }
 
+        /**
+         * Gives up waiting after the given time.
+         *
+         * @param time
+         *        the time
+         * @param unit
+         *        the unit of the time
+         *
+         * @return the current builder instance for chaining
+         *
+         * @see #timeoutAfter(long, TimeUnit)
+         */
+        public Builder<T> timeout(long time, @NotNull TimeUnit unit) {
+            return timeoutAfter(time, unit);
+        }
+
         public Builder<T> runOnTimeout(@NotNull Runnable action) {
             this.timeoutAction = action;
             return this;
         }
 
-        public WaitingEvent<T> build() {
-            WaitingEvent<T> event = new WaitingEvent<>(condition, action);
+        /**
+         * Registers the waiter and returns a future completing with the first matching event.
+         * <br> The future fails with a {@link TimeoutException} once the timeout elapsed.
+         * Cancelling the future removes the waiter immediately.
+         * <br> If the waiter is rejected by the {@link WaiterLimits}, the returned future has already failed
+         * with an {@link IllegalStateException}. If it is evicted later on, the future is cancelled.
+         * <br> The future is completed on the event thread, use the async methods of the future
+         * for blocking follow-up work.
+         *
+         * @return the future of the matching event
+         */
+        @NotNull
+        public CompletableFuture<T> future() {
+            CompletableFuture<T> future = new CompletableFuture<>();
+            Consumer<T> action = this.action;
+            Runnable timeoutAction = this.timeoutAction;
+
+            // the future is completed even if a callback throws, so chains waiting on it do not hang
+            Consumer<T> completingAction = event -> {
+                try {
+                    action.accept(event);
+                } catch (RuntimeException | Error e) {
+                    future.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    future.complete(event);
+                }
+            };
+            Runnable completingTimeout = () -> {
+                TimeoutException timeout = new TimeoutException("No " + eventType.getSimpleName() + " received in time.");
+                try {
+                    timeoutAction.run();
+                } catch (RuntimeException | Error e) {
+                    e.addSuppressed(timeout);
+                    future.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    future.completeExceptionally(timeout);
+                }
+            };
+
+            WaitingEvent<T> waiter;
+            try {
+                waiter = register(completingAction, completingTimeout, null, () -> future.cancel(false));
+            } catch (IllegalStateException e) {
+                return CompletableFuture.failedFuture(e);
+            }
 
-            // Register the event in the waiting events map
-            Set<WaitingEvent<?>> set = waitingEvents.computeIfAbsent(eventType, c -> new HashSet<>());
-            set.add(event);
+            future.whenComplete((event, error) -> waiter.cancel());
+            return future;
+        }
 
-            if (timeout > 0 && unit != null) {
-                timeoutExecutor.schedule(() -> {
+        /**
+         * Collects matching events instead of waiting for a single one.
+         * <br> Collecting finishes once the given number of events was collected or the timeout elapsed.
+         * The {@link #run(Consumer) action} is not used, use {@link EventCollector.Builder#onEach(Consumer)} instead.
+         *
+         * @param limit
+         *        the maximum number of events to collect
+         *
+         * @return the builder of the collector
+         */
+        @NotNull
+        public EventCollector.Builder<T> collect(int limit) {
+            return new EventCollector.Builder<>(limit, collector -> register(this.action, this.timeoutAction, collector, collector::cancelled));
+        }
 
-                    if (event.wasExecuted()) {
-                        return;
-                    }
+        /**
+         * Registers the waiter.
+         *
+         * @return the waiter
+         *
+         * @throws IllegalStateException
+         *         if the waiter exceeds the {@link WaiterLimits} and the policy is {@link WaiterLimits.Policy#REJECT}
+         */
+        public WaitingEvent<T> build() {
+            return register(this.action, this.timeoutAction, null, null);
+        }
 
+        @NotNull
+        private WaitingEvent<T> register(@NotNull Consumer<T> action,
+                                         @NotNull Runnable timeoutAction,
+                                         @Nullable EventCollector<T> collector,
+                                         @Nullable Runnable cancelAction) {
+            if (collector != null) {
+                Runnable collectorTimeout = timeoutAction;
+                timeoutAction = () -> {
                     try {
+                        collectorTimeout.run();
+                    } finally {
+                        collector.finish();
+                    }
+                };
+            }
 
-                        if (set.remove(event)) {
-                            timeoutAction.run();
-                        }
+            WaiterIndex index = waitingEvents.computeIfAbsent(eventType, c -> new WaiterIndex());
+            WaiterLimiter limiter = EventWaiter.this.limiter;
+            WaitingEvent<T> event = new WaitingEvent<>(index, limiter, keys.clone(), condition, action, timeoutAction, cancelAction, collector);
 
-                    } catch (Throwable ex) {
-                        LOGGER.error("Failed to run timeout Action.", ex);
-                    }
+            if (limiter != null) {
+                // evicted waiters are cancelled outside the limiter, their cancel actions may run user code
+                for (WaitingEvent<?> evicted : limiter.acquire(event)) {
+                    evicted.cancel();
+                }
+            }
+
+            if (timeout > 0 && unit != null) {
+                event.timeout = timeouts.schedule(event::timeout, timeout, unit);
+            }
+
+            // Register the event in the waiting events index
+            index.add(event);
 
-                }, timeout, unit);
+            // the timeout may have fired before the event was registered
+            if (event.state.get() != WaitingEvent.WAITING) {
+                event.remove();
             }
 
             return event;
@@ -144,28 +523,194 @@ public class EventWaiter implements EventListener {
     }
 
     public static final class WaitingEvent<T extends GenericEvent> {
+
+        private static final int WAITING = 0;
+        private static final int EXECUTED = 1;
+        private static final int TIMED_OUT = 2;
+        private static final int CANCELLED = 3;
+
         final Predicate<T> condition;
         final Consumer<T> action;
-        private boolean executed = false;
-
-        private WaitingEvent(@NotNull Predicate<T> condition, @NotNull Consumer<T> action) {
+        private final Runnable timeoutAction;
+        @Nullable
+        private final Runnable cancelAction;
+        private final WaiterIndex index;
+        @Nullable
+        private final WaiterLimiter limiter;
+        private final long[] keys;
+        @Nullable
+        private final WaiterKey indexKey;
+        @Nullable
+        private final EventCollector<T> collector;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        @Nullable
+        private volatile HashedTimingWheel.Timeout timeout;
+
+        private WaitingEvent(@NotNull WaiterIndex index,
+                             @Nullable WaiterLimiter limiter,
+                             @NotNull long[] keys,
+                             @NotNull Predicate<T> condition,
+                             @NotNull Consumer<T> action,
+                             @NotNull Runnable timeoutAction,
+                             @Nullable Runnable cancelAction,
+                             @Nullable EventCollector<T> collector) {
+            this.index = index;
+            this.limiter = limiter;
+            this.keys = keys;
             this.condition = condition;
             this.action = action;
+            this.timeoutAction = timeoutAction;
+            this.cancelAction = cancelAction;
+            this.collector = collector;
+            this.indexKey = mostSelectiveKey(keys);
         }
 
         public boolean attempt(@NotNull T event) {
-            if (executed) return false;
+            return attempt(event, WaiterKey.keysOf(event));
+        }
 
-            if (condition.test(event)) {
-                this.executed = true;
-                action.accept(event);
-                return true;
+        @SuppressWarnings("unchecked")
+        boolean attempt(@NotNull GenericEvent event, @NotNull long[] eventKeys) {
+            if (state.get() != WAITING) return false;
+
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0L && keys[i] != eventKeys[i]) {
+                    return false;
+                }
+            }
+
+            try {
+                if (!condition.test((T) event)) {
+                    return false;
+                }
+            } catch (Throwable ex) {
+                LOGGER.error("Failed to test condition of waiting event.", ex);
+                return false;
             }
-            return false;
+
+            if (collector != null) {
+                return collect((T) event);
+            }
+
+            if (!state.compareAndSet(WAITING, EXECUTED)) {
+                return false;
+            }
+            complete();
+
+            try {
+                action.accept((T) event);
+            } catch (Throwable ex) {
+                LOGGER.error("Failed to run action of waiting event.", ex);
+            }
+            return true;
         }
 
         public boolean wasExecuted() {
-            return executed;
+            return state.get() == EXECUTED;
+        }
+
+        /**
+         * Stops waiting and removes the waiter and its timeout.
+         * <br> Neither the action nor the timeout action will run,
+         * a future or collector of the waiter is cancelled.
+         *
+         * @return {@code true} if the waiter was cancelled, {@code false} if it already completed
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(WAITING, CANCELLED)) {
+                return false;
+            }
+            complete();
+
+            if (cancelAction != null) {
+                try {
+                    cancelAction.run();
+                } catch (Throwable ex) {
+                    LOGGER.error("Failed to run cancel action of waiting event.", ex);
+                }
+            }
+            return true;
+        }
+
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+
+        private synchronized boolean collect(@NotNull T event) {
+            if (state.get() != WAITING) return false;
+
+            try {
+                if (!collector.accept(event)) {
+                    return true;
+                }
+            } catch (Throwable ex) {
+                LOGGER.error("Failed to collect event.", ex);
+                return false;
+            }
+
+            finish();
+            return true;
+        }
+
+        /**
+         * Finishes a collecting waiter with the events collected so far.
+         */
+        synchronized boolean finish() {
+            if (!state.compareAndSet(WAITING, EXECUTED)) {
+                return false;
+            }
+            complete();
+            collector.finish();
+            return true;
+        }
+
+        private synchronized void timeout() {
+            if (!state.compareAndSet(WAITING, TIMED_OUT)) {
+                return;
+            }
+            remove();
+
+            try {
+                timeoutAction.run();
+            } catch (Throwable ex) {
+                LOGGER.error("Failed to run timeout Action.", ex);
+            }
+        }
+
+        private void complete() {
+            remove();
+
+            HashedTimingWheel.Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+
+        private void remove() {
+            index.remove(this);
+            if (limiter != null) {
+                limiter.release(this);
+            }
+        }
+
+        @Nullable
+        WaiterKey indexKey() {
+            return indexKey;
+        }
+
+        long key(@NotNull WaiterKey key) {
+            return keys[key.ordinal()];
+        }
+
+        @Nullable
+        private static WaiterKey mostSelectiveKey(@NotNull long[] keys) {
+            for (WaiterKey key : WaiterKey.VALUES) {
+                if (keys[key.ordinal()] != 0L) {
+                    return key;
+                }
+            }
+            return null;
         }
     }
 }
@@ -0,0 +1,39 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Pre-filters the events of a {@link net.dv8tion.jda.api.hooks.SubscribeEvent @SubscribeEvent} method.
+ * <br> The checks are evaluated before the method is invoked and the method is skipped if any check fails.
+ * On a class, the filter applies to all handler methods of the class in addition to their own filters.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Filter {
+
+    /**
+     * Skips events triggered by bots, for example messages sent by a bot.
+     * Events without a user are not affected.
+     */
+    boolean ignoreBots() default false;
+
+    /**
+     * Skips events which were not fired in a guild.
+     */
+    boolean guildOnly() default false;
+
+    /**
+     * Skips events which were not fired in a channel of one of the given types.
+     * An empty array allows all events.
+     */
+    ChannelType[] channelTypes() default {};
+
+}
@@ -0,0 +1,89 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Base of the listeners generated by the {@code SubscribeEventProcessor}, calling the
+ * {@link net.dv8tion.jda.api.hooks.SubscribeEvent @SubscribeEvent} methods of a holder directly
+ * instead of through an {@link AnnotatedEventListener}.
+ * <br> The {@link DispatchTable} only includes it for the event classes one of its methods accepts.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public abstract class GeneratedEventListener implements EventListener {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final Object holder;
+    private final Class<?>[] eventTypes;
+
+    /**
+     * @param holder
+     *        the registered holder
+     * @param eventTypes
+     *        the parameter types of all listener methods
+     */
+    protected GeneratedEventListener(@NotNull Object holder, @NotNull Class<?>... eventTypes) {
+        this.holder = holder;
+        this.eventTypes = eventTypes;
+    }
+
+    /**
+     * Checks if any listener method accepts events of the given class.
+     */
+    boolean handles(@NotNull Class<?> type) {
+        for (Class<?> eventType : this.eventTypes) {
+            if (eventType.isAssignableFrom(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reports that a listener method is skipped, because only the class was registered.
+     *
+     * @param method
+     *        the name of the instance method
+     */
+    protected final void notStatic(@NotNull String method) {
+        LOGGER.error("Method {} in class {} has @SubscribeEvent annotation but is not static. Register an instance of the class instead.", method, ((Class<?>) this.holder).getName());
+    }
+
+    /**
+     * Reports an exception thrown by a listener method.
+     *
+     * @param method
+     *        the name of the method
+     * @param event
+     *        the dispatched event
+     * @param exception
+     *        the thrown exception
+     */
+    protected final void failed(@NotNull String method, @NotNull GenericEvent event, @NotNull Throwable exception) {
+        Class<?> type = this.holder instanceof Class ? (Class<?>) this.holder : this.holder.getClass();
+        LOGGER.error("Failed to invoke event listener method {} in class {} for event {}.", method, type.getName(), event.getClass().getName(), exception);
+    }
+
+    @NotNull
+    public Object getHolder() {
+        return this.holder;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof GeneratedEventListener && ((GeneratedEventListener) obj).holder.equals(holder);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(holder);
+    }
+
+}
@@ -0,0 +1,57 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Remembers the results of the {@link EventGuard guards} evaluated for a single event,
+ * so handlers sharing a check do not evaluate it again.
+ * <br> Only the first 64 guards are remembered, all others are evaluated every time.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class GuardResults {
+
+    private final GenericEvent event;
+    private long evaluated;
+    private long passed;
+
+    GuardResults(@NotNull GenericEvent event) {
+        this.event = event;
+    }
+
+    /**
+     * Checks if all guards of the listener accept the event.
+     *
+     * @param listener
+     *        the guarded listener
+     *
+     * @return {@code true} if the listener should be invoked
+     */
+    boolean accepts(@NotNull GuardedListener listener) {
+        for (EventGuard guard : listener.guards()) {
+            if (!test(guard)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean test(@NotNull EventGuard guard) {
+        int id = guard.id();
+        if (id >= Long.SIZE) {
+            return guard.test(this.event);
+        }
+
+        long bit = 1L << id;
+        if ((this.evaluated & bit) == 0L) {
+            this.evaluated |= bit;
+            if (guard.test(this.event)) {
+                this.passed |= bit;
+            }
+        }
+        return (this.passed & bit) != 0L;
+    }
+
+}
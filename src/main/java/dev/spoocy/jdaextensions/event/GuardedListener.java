@@ -0,0 +1,65 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Listener which is only invoked if all of its {@link EventGuard guards} accept the event.
+ * <br> The {@link AdvancedEventManager} evaluates the guards itself, so every guard
+ * is only evaluated once per event no matter how many handlers share it.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+interface GuardedListener extends EventListener {
+
+    /**
+     * @return the guards of this listener, never {@code null}
+     */
+    @NotNull
+    EventGuard[] guards();
+
+    /**
+     * @return the statistics of this listener, or {@code null} if the listener is not watched
+     */
+    @Nullable
+    default ListenerStats stats() {
+        return null;
+    }
+
+    /**
+     * Invokes the listener without evaluating the guards.
+     *
+     * @param event
+     *        the event
+     */
+    void invoke(@NotNull GenericEvent event);
+
+    /**
+     * Invokes the listener without evaluating the guards and times it with the watchdog.
+     * <br> Listeners running their handler on another thread have to time it on that thread.
+     *
+     * @param event
+     *        the event
+     * @param stats
+     *        the statistics of this listener
+     * @param watchdog
+     *        the watchdog timing the handler
+     */
+    default void invoke(@NotNull GenericEvent event, @NotNull ListenerStats stats, @NotNull ListenerWatchdog watchdog) {
+        watchdog.time(stats, this::invoke, event);
+    }
+
+    @Override
+    default void onEvent(@NotNull GenericEvent event) {
+        for (EventGuard guard : guards()) {
+            if (!guard.test(event)) {
+                return;
+            }
+        }
+        invoke(event);
+    }
+
+}
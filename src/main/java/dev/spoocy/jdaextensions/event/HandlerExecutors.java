@@ -0,0 +1,147 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * The {@link HandlerPool handler pools} available to {@link Async @Async} event handlers.
+ * <br> The {@link HandlerPool#DEFAULT default} and {@link HandlerPool#VIRTUAL virtual} pools
+ * are only created once a handler uses them.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class HandlerExecutors {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private final Map<String, HandlerPool> pools;
+    private volatile HandlerPool defaultPool;
+    private volatile HandlerPool virtualPool;
+    private volatile boolean virtualResolved;
+
+    HandlerExecutors(@NotNull Collection<HandlerPool> pools) {
+        Map<String, HandlerPool> map = new LinkedHashMap<>();
+        for (HandlerPool pool : pools) {
+            map.put(pool.getName(), pool);
+        }
+        this.pools = map;
+        this.defaultPool = map.get(HandlerPool.DEFAULT);
+    }
+
+    /**
+     * Executors used by {@link AnnotatedEventListener listeners} which are not registered at an {@link AdvancedEventManager}.
+     */
+    @NotNull
+    static HandlerExecutors shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Resolves the pool an {@link Async @Async} handler runs on.
+     *
+     * @param method
+     *        the handler method, only used for logging
+     * @param async
+     *        the annotation of the handler
+     *
+     * @return the pool
+     */
+    @NotNull
+    HandlerPool resolve(@NotNull Method method, @NotNull Async async) {
+        if (async.mode() == AsyncMode.VIRTUAL) {
+            HandlerPool virtual = virtualPool();
+            if (virtual != null) {
+                return virtual;
+            }
+            LOGGER.debug("Virtual threads are not available, running handler {} on pool {}.", method.getName(), async.value());
+        }
+
+        HandlerPool pool = this.pools.get(async.value());
+        if (pool != null) {
+            return pool;
+        }
+
+        if (!HandlerPool.DEFAULT.equals(async.value())) {
+            LOGGER.warn("Handler pool {} of method {} in class {} does not exist. Using the default pool instead.",
+                    async.value(), method.getName(), method.getDeclaringClass().getName());
+        }
+        return defaultPool();
+    }
+
+    /**
+     * Gets the pool with the given name, falling back to the default pool.
+     *
+     * @param name
+     *        the name of the pool
+     *
+     * @return the pool
+     */
+    @NotNull
+    HandlerPool pool(@NotNull String name) {
+        HandlerPool pool = this.pools.get(name);
+        return pool != null ? pool : defaultPool();
+    }
+
+    /**
+     * @return all pools which are currently in use
+     */
+    @NotNull
+    List<HandlerPool> pools() {
+        List<HandlerPool> pools = new ArrayList<>(this.pools.values());
+        HandlerPool defaultPool = this.defaultPool;
+        if (defaultPool != null && !pools.contains(defaultPool)) {
+            pools.add(defaultPool);
+        }
+        HandlerPool virtualPool = this.virtualPool;
+        if (virtualPool != null) {
+            pools.add(virtualPool);
+        }
+        return Collections.unmodifiableList(pools);
+    }
+
+    void shutdown() {
+        for (HandlerPool pool : pools()) {
+            pool.shutdown();
+        }
+    }
+
+    @NotNull
+    private HandlerPool defaultPool() {
+        HandlerPool pool = this.defaultPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = this.defaultPool;
+                if (pool == null) {
+                    pool = HandlerPool.fixed(HandlerPool.DEFAULT, Runtime.getRuntime().availableProcessors(), DEFAULT_QUEUE_SIZE);
+                    this.defaultPool = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    @Nullable
+    private HandlerPool virtualPool() {
+        if (!this.virtualResolved) {
+            synchronized (this) {
+                if (!this.virtualResolved) {
+                    this.virtualPool = HandlerPool.virtual();
+                    this.virtualResolved = true;
+                }
+            }
+        }
+        return this.virtualPool;
+    }
+
+    private static final class Shared {
+        private static final HandlerExecutors INSTANCE = new HandlerExecutors(Collections.emptyList());
+    }
+
+}
@@ -0,0 +1,237 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.jdaextensions.util.LongObjectHashMap;
+import dev.spoocy.utils.common.log.ILogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Named executor running {@link Async @Async} event handlers.
+ * <br> Tracks the number of queued handlers and the number of handlers
+ * which were rejected because the pool was saturated.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class HandlerPool {
+
+    /**
+     * Name of the pool used by handlers which do not name a pool.
+     */
+    public static final String DEFAULT = "default";
+
+    /**
+     * Name of the pool running handlers on virtual threads.
+     */
+    public static final String VIRTUAL = "virtual";
+
+    /**
+     * Maximum number of pending handlers per routing key of pools without a bounded queue.
+     */
+    static final int DEFAULT_LANE_CAPACITY = 1024;
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final String name;
+    private final Executor executor;
+    private final boolean owned;
+    private final int laneCapacity;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    // pending handlers per routing key of the ORDERED mode, a key is present while one of its handlers runs
+    private final LongObjectHashMap<ArrayDeque<Runnable>> lanes = new LongObjectHashMap<>();
+
+    HandlerPool(@NotNull String name, @NotNull Executor executor, boolean owned) {
+        this(name, executor, owned, DEFAULT_LANE_CAPACITY);
+    }
+
+    /**
+     * @param laneCapacity
+     *        the maximum number of pending handlers per routing key of the ORDERED mode
+     */
+    HandlerPool(@NotNull String name, @NotNull Executor executor, boolean owned, int laneCapacity) {
+        this.name = name;
+        this.executor = executor;
+        this.owned = owned;
+        this.laneCapacity = laneCapacity;
+    }
+
+    /**
+     * Creates a pool with a fixed number of daemon threads and a bounded queue.
+     */
+    @NotNull
+    static HandlerPool fixed(@NotNull String name, int threads, int queueSize) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be at least 1.");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be at least 1.");
+        }
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, "EventHandler-" + name + "-" + count.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads, threads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize),
+                factory
+        );
+        executor.allowCoreThreadTimeOut(true);
+        return new HandlerPool(name, executor, true, queueSize);
+    }
+
+    /**
+     * Creates a pool starting a new virtual thread per handler.
+     *
+     * @return the pool, or {@code null} if the runtime does not support virtual threads
+     */
+    @Nullable
+    static HandlerPool virtual() {
+        try {
+            Object executor = Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            return new HandlerPool(VIRTUAL, (ExecutorService) executor, true);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the number of handlers waiting to be executed.
+     *
+     * @return the number of queued handlers
+     */
+    public int getQueueDepth() {
+        return this.queued.get();
+    }
+
+    /**
+     * @return the number of handlers submitted to this pool
+     */
+    public long getSubmittedTasks() {
+        return this.submitted.sum();
+    }
+
+    /**
+     * @return the number of handlers which were not executed because the pool was saturated or shut down
+     */
+    public long getRejectedTasks() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * Runs the task on this pool.
+     *
+     * @return {@code false} if the task was rejected
+     */
+    boolean execute(@NotNull Runnable task) {
+        this.submitted.increment();
+        this.queued.incrementAndGet();
+        try {
+            this.executor.execute(() -> {
+                this.queued.decrementAndGet();
+                run(task);
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            this.queued.decrementAndGet();
+            this.rejected.increment();
+            LOGGER.warn("Handler pool {} rejected an event handler. ({} queued)", this.name, this.queued.get());
+            return false;
+        }
+    }
+
+    /**
+     * Runs the task on this pool after all previously submitted tasks of the same key have completed.
+     * <br> Each key holds at most as many pending tasks as the queue of the pool, further tasks are rejected.
+     *
+     * @return {@code false} if the task was rejected
+     */
+    boolean execute(long key, @NotNull Runnable task) {
+        synchronized (this.lanes) {
+            ArrayDeque<Runnable> lane = this.lanes.get(key);
+            if (lane != null) {
+                this.submitted.increment();
+                if (lane.size() >= this.laneCapacity) {
+                    this.rejected.increment();
+                    LOGGER.warn("Handler pool {} rejected an ordered event handler. ({} queued for key {})", this.name, lane.size(), key);
+                    return false;
+                }
+                this.queued.incrementAndGet();
+                lane.addLast(task);
+                return true;
+            }
+            this.lanes.put(key, new ArrayDeque<>());
+        }
+
+        if (!execute(() -> drain(key, task))) {
+            ArrayDeque<Runnable> lane;
+            synchronized (this.lanes) {
+                lane = this.lanes.remove(key);
+            }
+            if (lane != null && !lane.isEmpty()) {
+                this.queued.addAndGet(-lane.size());
+                this.rejected.add(lane.size());
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private void drain(long key, @NotNull Runnable first) {
+        Runnable next = first;
+        while (next != null) {
+            run(next);
+
+            synchronized (this.lanes) {
+                ArrayDeque<Runnable> lane = this.lanes.get(key);
+                next = lane.pollFirst();
+                if (next == null) {
+                    this.lanes.remove(key);
+                } else {
+                    this.queued.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void run(@NotNull Runnable task) {
+        try {
+            task.run();
+        } catch (Throwable throwable) {
+            LOGGER.error("Event handler on pool {} had an uncaught exception.", this.name, throwable);
+        }
+    }
+
+    /**
+     * Shuts the pool down if it was created by this library.
+     */
+    void shutdown() {
+        if (this.owned && this.executor instanceof ExecutorService) {
+            ((ExecutorService) this.executor).shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "HandlerPool{name=" + this.name + ", queued=" + getQueueDepth() + ", rejected=" + getRejectedTasks() + "}";
+    }
+
+}
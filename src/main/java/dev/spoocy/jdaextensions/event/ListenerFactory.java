@@ -0,0 +1,34 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Factory of the {@link EventListener} generated at compile time for a class with
+ * {@link net.dv8tion.jda.api.hooks.SubscribeEvent @SubscribeEvent} methods.
+ * <br> Implementations are generated by the {@code SubscribeEventProcessor} and listed in
+ * {@code META-INF/services/dev.spoocy.jdaextensions.event.ListenerFactory}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public interface ListenerFactory {
+
+    /**
+     * @return the class declaring the listener methods
+     */
+    @NotNull
+    Class<?> listenerClass();
+
+    /**
+     * Creates the listener dispatching events to the methods of the given holder.
+     *
+     * @param holder
+     *        an instance of the {@link #listenerClass() listener class}, or the class itself to only call static methods
+     *
+     * @return the listener
+     */
+    @NotNull
+    EventListener create(@NotNull Object holder);
+
+}
@@ -0,0 +1,42 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.jdaextensions.util.ServiceIndex;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ServiceLoader;
+
+/**
+ * Index of all {@link ListenerFactory}s generated at compile time, loaded once through the
+ * {@link ServiceLoader} when it is first used.
+ * <br> A broken entry is skipped, its class is then registered with reflection like without the index.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class ListenerIndex {
+
+    private ListenerIndex() { }
+
+    /**
+     * Gets the generated factory of the given class.
+     * <br> Sub classes of a listener class use their own factory, if any.
+     *
+     * @param clazz
+     *        the class declaring the listener methods
+     *
+     * @return the factory, or {@code null} if none was generated for the class
+     */
+    @Nullable
+    static ListenerFactory find(@NotNull Class<?> clazz) {
+        return Holder.FACTORIES.find(clazz);
+    }
+
+    private static final class Holder {
+
+        private static final ServiceIndex<ListenerFactory> FACTORIES =
+                ServiceIndex.load(ListenerFactory.class, ListenerFactory::listenerClass, "listener");
+
+    }
+
+}
@@ -0,0 +1,208 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Registry mapping each registered holder (by identity) to its compiled {@link EventListener}.
+ * <br> Every modification publishes a new immutable {@link DispatchTable} which is read
+ * lock-free by the dispatching threads. Bulk operations only publish a single snapshot.
+ * <br> Holders registered with a {@link ListenerScope} are published in a separate {@link ScopeIndex}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class ListenerRegistry {
+
+    private final Map<Key, Registration> listeners = new LinkedHashMap<>();
+    private volatile DispatchTable dispatchTable = new DispatchTable(Collections.emptyList());
+    private volatile ScopeIndex scopeIndex = ScopeIndex.EMPTY;
+    private volatile List<Object> holders = Collections.emptyList();
+
+    private final HandlerExecutors executors;
+    @Nullable
+    private final ListenerWatchdog watchdog;
+
+    ListenerRegistry(@NotNull HandlerExecutors executors, @Nullable ListenerWatchdog watchdog) {
+        this.executors = executors;
+        this.watchdog = watchdog;
+    }
+
+    /**
+     * Registers all given holders which are not registered yet.
+     * Holders are compiled before the registry is locked.
+     *
+     * @param holders
+     *        the holders to register
+     * @param scope
+     *        the scope of the holders, or {@code null} to receive all events
+     *
+     * @return the number of newly registered holders
+     */
+    int register(@NotNull Collection<?> holders, @Nullable ListenerScope scope) {
+        Map<Key, Registration> compiled = new LinkedHashMap<>();
+        for (Object holder : holders) {
+            Key key = new Key(holder);
+            if (!compiled.containsKey(key) && !isRegistered(key)) {
+                compiled.put(key, new Registration(compile(holder), scope));
+            }
+        }
+
+        if (compiled.isEmpty()) {
+            return 0;
+        }
+
+        synchronized (this) {
+            int added = 0;
+            for (Map.Entry<Key, Registration> entry : compiled.entrySet()) {
+                if (this.listeners.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                    added++;
+                }
+            }
+
+            if (added > 0) {
+                publish();
+            }
+            return added;
+        }
+    }
+
+    /**
+     * Unregisters all given holders.
+     *
+     * @param holders
+     *        the holders to unregister
+     *
+     * @return the number of removed holders
+     */
+    synchronized int unregister(@NotNull Collection<?> holders) {
+        int removed = 0;
+        for (Object holder : holders) {
+            if (this.listeners.remove(new Key(holder)) != null) {
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            publish();
+        }
+        return removed;
+    }
+
+    @NotNull
+    DispatchTable dispatchTable() {
+        return this.dispatchTable;
+    }
+
+    @NotNull
+    ScopeIndex scopeIndex() {
+        return this.scopeIndex;
+    }
+
+    @NotNull
+    List<Object> holders() {
+        return this.holders;
+    }
+
+    /**
+     * @return the statistics of all watched handlers in registration order
+     */
+    @NotNull
+    synchronized List<ListenerStats> stats() {
+        List<ListenerStats> stats = new ArrayList<>();
+        for (Registration registration : this.listeners.values()) {
+            EventListener listener = registration.listener;
+            if (listener instanceof AnnotatedEventListener) {
+                stats.addAll(((AnnotatedEventListener) listener).stats());
+            } else if (listener instanceof WatchedListener) {
+                stats.add(((WatchedListener) listener).stats());
+            }
+        }
+        return stats;
+    }
+
+    private synchronized boolean isRegistered(@NotNull Key key) {
+        return this.listeners.containsKey(key);
+    }
+
+    private void publish() {
+        List<Object> holders = new ArrayList<>(this.listeners.size());
+        for (Key key : this.listeners.keySet()) {
+            holders.add(key.holder);
+        }
+
+        List<EventListener> unscoped = new ArrayList<>();
+        List<Registration> scoped = new ArrayList<>();
+        for (Registration registration : this.listeners.values()) {
+            if (registration.scope == null) {
+                unscoped.add(registration.listener);
+            } else {
+                scoped.add(registration);
+            }
+        }
+
+        this.holders = Collections.unmodifiableList(holders);
+        this.scopeIndex = ScopeIndex.of(this.scopeIndex, scoped);
+        if (!this.dispatchTable.hasListeners(unscoped)) {
+            this.dispatchTable = new DispatchTable(unscoped);
+        }
+    }
+
+    @NotNull
+    private EventListener compile(@NotNull Object holder) {
+        if (holder instanceof EventListener) {
+            // publisher subscriptions only buffer events and are not worth watching
+            if (this.watchdog == null || holder instanceof TypedListener) {
+                return (EventListener) holder;
+            }
+            return new WatchedListener((EventListener) holder, this.watchdog.createStats(holder.getClass().getName(), holder.getClass()));
+        }
+
+        // watched holders keep using reflection, which records statistics per method
+        if (this.watchdog == null) {
+            ListenerFactory factory = ListenerIndex.find(holder instanceof Class ? (Class<?>) holder : holder.getClass());
+            if (factory != null) {
+                return factory.create(holder);
+            }
+        }
+        return new AnnotatedEventListener(holder, this.executors, this.watchdog);
+    }
+
+    static final class Registration {
+
+        final EventListener listener;
+        @Nullable
+        final ListenerScope scope;
+
+        private Registration(@NotNull EventListener listener, @Nullable ListenerScope scope) {
+            this.listener = listener;
+            this.scope = scope;
+        }
+    }
+
+    /**
+     * Identity based key, so holders overriding equals are tracked individually.
+     */
+    private static final class Key {
+
+        private final Object holder;
+
+        private Key(@NotNull Object holder) {
+            this.holder = holder;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).holder == this.holder;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.holder);
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.entities.ISnowflake;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Restricts a listener registered at the {@link AdvancedEventManager} to events
+ * of specific guilds or channels.
+ * <br> Events that are not related to any of the IDs never reach the listener.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see AdvancedEventManager#register(Object, ListenerScope)
+ */
+
+public final class ListenerScope {
+
+    private final boolean guilds;
+    private final long[] ids;
+
+    private ListenerScope(boolean guilds, long[] ids) {
+        if (ids.length == 0) {
+            throw new IllegalArgumentException("Scope must contain at least one ID.");
+        }
+        for (long id : ids) {
+            if (id == 0L) {
+                throw new IllegalArgumentException("Scope cannot contain the ID 0.");
+            }
+        }
+
+        this.guilds = guilds;
+        this.ids = Arrays.stream(ids).distinct().toArray();
+    }
+
+    /**
+     * Creates a scope matching all events fired in one of the given guilds.
+     *
+     * @param guildIds
+     *        the guild IDs
+     *
+     * @return the scope
+     */
+    @NotNull
+    public static ListenerScope guilds(long... guildIds) {
+        return new ListenerScope(true, guildIds.clone());
+    }
+
+    /**
+     * Creates a scope matching all events fired in one of the given guilds.
+     *
+     * @param guilds
+     *        the guilds
+     *
+     * @return the scope
+     */
+    @NotNull
+    public static ListenerScope guilds(@NotNull ISnowflake... guilds) {
+        return new ListenerScope(true, idsOf(guilds));
+    }
+
+    /**
+     * Creates a scope matching all events fired in one of the given channels.
+     *
+     * @param channelIds
+     *        the channel IDs
+     *
+     * @return the scope
+     */
+    @NotNull
+    public static ListenerScope channels(long... channelIds) {
+        return new ListenerScope(false, channelIds.clone());
+    }
+
+    /**
+     * Creates a scope matching all events fired in one of the given channels.
+     *
+     * @param channels
+     *        the channels
+     *
+     * @return the scope
+     */
+    @NotNull
+    public static ListenerScope channels(@NotNull ISnowflake... channels) {
+        return new ListenerScope(false, idsOf(channels));
+    }
+
+    /**
+     * @return {@code true} if this scope contains guild IDs, {@code false} if it contains channel IDs
+     */
+    public boolean isGuildScope() {
+        return this.guilds;
+    }
+
+    /**
+     * @return a copy of the guild or channel IDs of this scope
+     */
+    @NotNull
+    public long[] getIds() {
+        return this.ids.clone();
+    }
+
+    long[] ids() {
+        return this.ids;
+    }
+
+    private static long[] idsOf(@NotNull ISnowflake[] entities) {
+        long[] ids = new long[entities.length];
+        for (int i = 0; i < entities.length; i++) {
+            ids[i] = entities[i].getIdLong();
+        }
+        return ids;
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerScope{" + (this.guilds ? "guilds=" : "channels=") + Arrays.toString(this.ids) + "}";
+    }
+
+}
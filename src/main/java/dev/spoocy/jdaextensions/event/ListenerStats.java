@@ -0,0 +1,146 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and failure statistics of a single event handler, collected by the listener watchdog
+ * of an {@link AdvancedEventManager}.
+ * <br> Latencies are only measured for sampled invocations.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see AdvancedEventManager#getListenerStats()
+ */
+
+public final class ListenerStats {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final String name;
+    private final QuarantineAction action;
+    private final int maxStrikes;
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0L);
+    private final LongAdder slow = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicInteger strikes = new AtomicInteger();
+
+    private volatile QuarantineAction quarantine = QuarantineAction.NONE;
+
+    ListenerStats(@NotNull String name, @NotNull QuarantineAction action, int maxStrikes) {
+        this.name = name;
+        this.action = action;
+        this.maxStrikes = maxStrikes;
+    }
+
+    /**
+     * @return the name of the handler, {@code Class#method} for annotated handlers
+     */
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return the number of invocations which were timed
+     */
+    public long getSampledInvocations() {
+        return this.sampled.sum();
+    }
+
+    /**
+     * @return the average duration of the timed invocations in the given unit
+     */
+    public long getAverage(@NotNull TimeUnit unit) {
+        long sampled = this.sampled.sum();
+        return sampled == 0 ? 0L : unit.convert(this.totalNanos.sum() / sampled, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the longest duration of the timed invocations in the given unit
+     */
+    public long getMax(@NotNull TimeUnit unit) {
+        return unit.convert(this.maxNanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return the number of timed invocations which exceeded the threshold of the watchdog
+     */
+    public long getSlowInvocations() {
+        return this.slow.sum();
+    }
+
+    /**
+     * @return the number of invocations which threw an exception
+     */
+    public long getFailures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * @return the number of slow or failed invocations since the handler was created or released
+     */
+    public int getStrikes() {
+        return this.strikes.get();
+    }
+
+    /**
+     * @return the action the handler is currently quarantined with, {@link QuarantineAction#NONE} if it runs normally
+     */
+    @NotNull
+    public QuarantineAction getQuarantine() {
+        return this.quarantine;
+    }
+
+    /**
+     * Releases the handler from quarantine and resets its strikes.
+     */
+    public void release() {
+        this.strikes.set(0);
+        this.quarantine = QuarantineAction.NONE;
+    }
+
+    void record(long nanos, boolean slow) {
+        this.sampled.increment();
+        this.totalNanos.add(nanos);
+        this.maxNanos.accumulate(nanos);
+
+        if (slow) {
+            this.slow.increment();
+            strike("exceeded its time budget");
+        }
+    }
+
+    void failed() {
+        this.failures.increment();
+        strike("threw an exception");
+    }
+
+    private void strike(@NotNull String reason) {
+        int strikes = this.strikes.incrementAndGet();
+        if (strikes == this.maxStrikes && this.action != QuarantineAction.NONE) {
+            this.quarantine = this.action;
+            LOGGER.warn("Event handler {} was quarantined after {} slow or failed invocations, the last one {}. ({})", this.name, strikes, reason, this.action);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ListenerStats{name=" + this.name
+                + ", sampled=" + getSampledInvocations()
+                + ", avgMicros=" + getAverage(TimeUnit.MICROSECONDS)
+                + ", maxMicros=" + getMax(TimeUnit.MICROSECONDS)
+                + ", slow=" + getSlowInvocations()
+                + ", failures=" + getFailures()
+                + ", quarantine=" + this.quarantine + "}";
+    }
+
+}
@@ -0,0 +1,204 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.AnnotatedElement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Times event handlers and quarantines handlers which are repeatedly slow or fail.
+ * <br> Only every n-th invocation (randomly sampled) is timed. While a timed invocation runs
+ * longer than the threshold, a watcher thread logs the stack trace of the dispatching thread once,
+ * which shows where the handler is stuck.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class ListenerWatchdog {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final long thresholdNanos;
+    private final int sampleRate;
+    private final QuarantineAction defaultAction;
+    private final int maxStrikes;
+    private final HandlerExecutors executors;
+
+    private final List<Probe> probes = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<Probe> probe = ThreadLocal.withInitial(this::createProbe);
+    private final Thread watcher;
+    private volatile boolean running = true;
+
+    ListenerWatchdog(long thresholdNanos,
+                     int sampleRate,
+                     @NotNull QuarantineAction defaultAction,
+                     int maxStrikes,
+                     @NotNull HandlerExecutors executors) {
+        this.thresholdNanos = thresholdNanos;
+        this.sampleRate = sampleRate;
+        this.defaultAction = defaultAction;
+        this.maxStrikes = maxStrikes;
+        this.executors = executors;
+
+        this.watcher = new Thread(this::watch, "EventWatchdog");
+        this.watcher.setDaemon(true);
+        this.watcher.start();
+    }
+
+    /**
+     * Creates the statistics of a handler.
+     *
+     * @param name
+     *        the name of the handler
+     * @param elements
+     *        the method and classes which may override the quarantine action, most specific first
+     */
+    @NotNull
+    ListenerStats createStats(@NotNull String name, @NotNull AnnotatedElement... elements) {
+        QuarantineAction action = this.defaultAction;
+        for (AnnotatedElement element : elements) {
+            Quarantine quarantine = element.getAnnotation(Quarantine.class);
+            if (quarantine != null) {
+                action = quarantine.value();
+                break;
+            }
+        }
+        return new ListenerStats(name, action, this.maxStrikes);
+    }
+
+    /**
+     * Invokes the handler according to its quarantine state, timing sampled invocations.
+     */
+    void invoke(@NotNull ListenerStats stats, @NotNull GuardedListener listener, @NotNull GenericEvent event) {
+        switch (stats.getQuarantine()) {
+            case DISABLE:
+                return;
+
+            case BACKGROUND:
+                this.executors.pool(HandlerPool.DEFAULT).execute(() -> listener.invoke(event));
+                return;
+
+            default:
+                break;
+        }
+
+        listener.invoke(event, stats, this);
+    }
+
+    /**
+     * Runs the body of a handler and times it, if this invocation is sampled.
+     * <br> Has to be called on the thread running the handler, which is a pool thread for {@link Async @Async} handlers.
+     *
+     * @param stats
+     *        the statistics of the handler
+     * @param body
+     *        the body of the handler
+     * @param event
+     *        the event
+     */
+    void time(@NotNull ListenerStats stats, @NotNull Consumer<GenericEvent> body, @NotNull GenericEvent event) {
+        if (this.sampleRate > 1 && ThreadLocalRandom.current().nextInt(this.sampleRate) != 0) {
+            body.accept(event);
+            return;
+        }
+
+        Probe probe = this.probe.get();
+        ListenerStats outerStats = probe.stats;
+        long outerStart = probe.start;
+
+        long start = System.nanoTime();
+        probe.begin(stats, start);
+        try {
+            body.accept(event);
+        } finally {
+            long took = System.nanoTime() - start;
+            // restore the handler which dispatched this event synchronously, if any
+            probe.begin(outerStats, outerStart);
+            stats.record(took, took > this.thresholdNanos);
+        }
+    }
+
+    void shutdown() {
+        this.running = false;
+        this.watcher.interrupt();
+    }
+
+    @NotNull
+    private Probe createProbe() {
+        Probe probe = new Probe(Thread.currentThread());
+        this.probes.add(probe);
+        return probe;
+    }
+
+    private void watch() {
+        long interval = Math.max(10L, TimeUnit.NANOSECONDS.toMillis(this.thresholdNanos) / 2);
+
+        while (this.running) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                continue;
+            }
+
+            long now = System.nanoTime();
+            for (Probe probe : this.probes) {
+                if (!probe.thread.isAlive()) {
+                    this.probes.remove(probe);
+                    continue;
+                }
+
+                ListenerStats stats = probe.stats;
+                if (stats == null || probe.reported || now - probe.start <= this.thresholdNanos) {
+                    continue;
+                }
+
+                probe.reported = true;
+                LOGGER.warn("Event handler {} is running for {} ms on thread {}:{}",
+                        stats.getName(),
+                        TimeUnit.NANOSECONDS.toMillis(now - probe.start),
+                        probe.thread.getName(),
+                        format(probe.thread.getStackTrace()));
+            }
+        }
+    }
+
+    @NotNull
+    private static String format(@NotNull StackTraceElement[] trace) {
+        StringBuilder builder = new StringBuilder();
+        for (StackTraceElement element : trace) {
+            builder.append(System.lineSeparator()).append("\tat ").append(element);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * The timed invocation currently running on a dispatching thread.
+     */
+    private static final class Probe {
+
+        private final Thread thread;
+
+        @Nullable
+        private volatile ListenerStats stats;
+        private volatile long start;
+        private volatile boolean reported;
+
+        private Probe(@NotNull Thread thread) {
+            this.thread = thread;
+        }
+
+        private void begin(@Nullable ListenerStats stats, long start) {
+            this.start = start;
+            this.reported = false;
+            this.stats = stats;
+        }
+    }
+
+}
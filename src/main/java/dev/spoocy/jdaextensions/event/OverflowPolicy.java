@@ -0,0 +1,31 @@
+package dev.spoocy.jdaextensions.event;
+
+/**
+ * Decides what happens to a new event while the queue of a parallel
+ * {@link AdvancedEventManager} is full.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public enum OverflowPolicy {
+
+    /**
+     * Blocks the JDA event thread until there is space in the queue again.
+     * <br> Events dispatched by a handler onto the full queue of its own worker thread are handled inline,
+     * events still waiting when the event manager shuts down are dropped.
+     */
+    BLOCK,
+
+    /**
+     * Drops the oldest queued event of the lowest queued priority.
+     * <br> If the new event has a lower priority than every queued event, the new event is dropped instead.
+     */
+    DROP_LOWEST,
+
+    /**
+     * Replaces a queued {@link EventPriority#LOW low priority} event of the same type, guild and user
+     * with the new event. Falls back to {@link #DROP_LOWEST} if there is no such event.
+     */
+    COALESCE
+
+}
@@ -0,0 +1,71 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.member.update.GenericGuildMemberUpdateEvent;
+import net.dv8tion.jda.api.events.interaction.GenericInteractionCreateEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.session.GenericSessionEvent;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
+import net.dv8tion.jda.api.events.user.update.GenericUserPresenceEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Resolves the {@link EventPriority} of an event class once and caches it.
+ * <br> Configured priorities of the closest super type win over the defaults.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class PriorityTable extends ClassValue<EventPriority> {
+
+    private final Map<Class<?>, EventPriority> overrides;
+
+    PriorityTable(@NotNull Map<Class<? extends GenericEvent>, EventPriority> overrides) {
+        this.overrides = new HashMap<>(overrides);
+    }
+
+    @Override
+    protected EventPriority computeValue(@NotNull Class<?> type) {
+        if (!this.overrides.isEmpty()) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                EventPriority priority = this.overrides.get(current);
+                if (priority != null) {
+                    return priority;
+                }
+
+                for (Class<?> anInterface : current.getInterfaces()) {
+                    priority = this.overrides.get(anInterface);
+                    if (priority != null) {
+                        return priority;
+                    }
+                }
+            }
+        }
+
+        return defaultPriority(type);
+    }
+
+    @NotNull
+    static EventPriority defaultPriority(@NotNull Class<?> type) {
+        if (GenericInteractionCreateEvent.class.isAssignableFrom(type)
+                || GenericSessionEvent.class.isAssignableFrom(type)) {
+            return EventPriority.HIGH;
+        }
+
+        if (GenericMessageEvent.class.isAssignableFrom(type)) {
+            return EventPriority.NORMAL;
+        }
+
+        if (GenericUserEvent.class.isAssignableFrom(type)
+                || GenericUserPresenceEvent.class.isAssignableFrom(type)
+                || GenericGuildMemberUpdateEvent.class.isAssignableFrom(type)) {
+            return EventPriority.LOW;
+        }
+
+        return EventPriority.NORMAL;
+    }
+
+}
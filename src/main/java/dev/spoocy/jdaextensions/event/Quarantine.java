@@ -0,0 +1,21 @@
+package dev.spoocy.jdaextensions.event;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the {@link QuarantineAction} of a listener class or a single
+ * {@link net.dv8tion.jda.api.hooks.SubscribeEvent @SubscribeEvent} method.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Quarantine {
+
+    QuarantineAction value();
+
+}
@@ -0,0 +1,30 @@
+package dev.spoocy.jdaextensions.event;
+
+/**
+ * What the listener watchdog of an {@link AdvancedEventManager} does with a listener
+ * which repeatedly exceeded its time budget or threw an exception.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see AdvancedEventManager.Builder#quarantine(QuarantineAction, int)
+ */
+
+public enum QuarantineAction {
+
+    /**
+     * Keeps running the listener on the event thread and only logs it.
+     */
+    NONE,
+
+    /**
+     * Moves the listener to the {@link HandlerPool#DEFAULT default handler pool},
+     * so it no longer delays other listeners.
+     */
+    BACKGROUND,
+
+    /**
+     * Stops invoking the listener.
+     */
+    DISABLE
+
+}
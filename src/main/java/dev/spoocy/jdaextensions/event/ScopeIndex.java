@@ -0,0 +1,116 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.jdaextensions.util.LongObjectHashMap;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Immutable index of all listeners registered with a {@link ListenerScope},
+ * keyed by guild and channel ID.
+ * <br> An event only costs one lookup per key and reaches only the listeners of its guild and channel.
+ * <br> A new index reuses the tables of all IDs whose listeners did not change, so their cached handlers stay warm.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class ScopeIndex {
+
+    static final ScopeIndex EMPTY = new ScopeIndex(new LongObjectHashMap<>(0), new LongObjectHashMap<>(0));
+
+    private final LongObjectHashMap<DispatchTable> guilds;
+    private final LongObjectHashMap<DispatchTable> channels;
+
+    private ScopeIndex(@NotNull LongObjectHashMap<DispatchTable> guilds, @NotNull LongObjectHashMap<DispatchTable> channels) {
+        this.guilds = guilds;
+        this.channels = channels;
+    }
+
+    /**
+     * Builds an index of the given listeners.
+     *
+     * @param previous
+     *        the index published before, its tables are reused for all unchanged IDs
+     * @param scoped
+     *        the scoped registrations in registration order
+     *
+     * @return the index
+     */
+    @NotNull
+    static ScopeIndex of(@NotNull ScopeIndex previous, @NotNull Collection<ListenerRegistry.Registration> scoped) {
+        if (scoped.isEmpty()) {
+            return EMPTY;
+        }
+
+        LongObjectHashMap<List<EventListener>> guilds = new LongObjectHashMap<>();
+        LongObjectHashMap<List<EventListener>> channels = new LongObjectHashMap<>();
+
+        for (ListenerRegistry.Registration registration : scoped) {
+            ListenerScope scope = registration.scope;
+            LongObjectHashMap<List<EventListener>> target = scope.isGuildScope() ? guilds : channels;
+
+            for (long id : scope.ids()) {
+                target.computeIfAbsent(id, key -> new ArrayList<>()).add(registration.listener);
+            }
+        }
+
+        return new ScopeIndex(toTables(previous.guilds, guilds), toTables(previous.channels, channels));
+    }
+
+    @Nullable
+    DispatchTable guildTable(long guildId) {
+        return this.guilds.get(guildId);
+    }
+
+    @Nullable
+    DispatchTable channelTable(long channelId) {
+        return this.channels.get(channelId);
+    }
+
+    boolean isEmpty() {
+        return this.guilds.isEmpty() && this.channels.isEmpty();
+    }
+
+    /**
+     * Gets the scoped handlers of the guild the event was fired in.
+     */
+    @NotNull
+    EventListener[] guildHandlers(@NotNull GenericEvent event) {
+        return handlers(this.guilds, EventKeys.guildId(event), event);
+    }
+
+    /**
+     * Gets the scoped handlers of the channel the event was fired in.
+     */
+    @NotNull
+    EventListener[] channelHandlers(@NotNull GenericEvent event) {
+        return handlers(this.channels, EventKeys.channelId(event), event);
+    }
+
+    @NotNull
+    private static EventListener[] handlers(@NotNull LongObjectHashMap<DispatchTable> index, long id, @NotNull GenericEvent event) {
+        if (id == 0L || index.isEmpty()) {
+            return DispatchTable.EMPTY;
+        }
+
+        DispatchTable table = index.get(id);
+        return table == null ? DispatchTable.EMPTY : table.get(event.getClass());
+    }
+
+    @NotNull
+    private static LongObjectHashMap<DispatchTable> toTables(@NotNull LongObjectHashMap<DispatchTable> previous,
+                                                             @NotNull LongObjectHashMap<List<EventListener>> listeners) {
+        LongObjectHashMap<DispatchTable> tables = new LongObjectHashMap<>(listeners.size());
+        listeners.forEach((id, list) -> {
+            DispatchTable table = previous.get(id);
+            tables.put(id, table != null && table.hasListeners(list) ? table : new DispatchTable(list));
+        });
+        return tables;
+    }
+
+}
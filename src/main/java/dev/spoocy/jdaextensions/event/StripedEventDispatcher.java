@@ -0,0 +1,166 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.utils.common.log.ILogger;
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Dispatches events on a fixed number of worker threads ("stripes").
+ * <br> Events are assigned to a stripe by their {@link EventKeys#routingKey(GenericEvent) routing key},
+ * so all events of the same guild (or direct message channel) are handled in order,
+ * while events of different guilds are handled in parallel.
+ * <br> Each stripe has a bounded {@link EventQueue}, so events of a higher {@link EventPriority}
+ * overtake queued events of a lower one and are the last to be shed under load.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class StripedEventDispatcher {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final Stripe[] stripes;
+    private final OverflowPolicy policy;
+    private final PriorityTable priorities;
+    private final Consumer<GenericEvent> handler;
+    // events received after the shutdown
+    private final LongAdder rejected = new LongAdder();
+    private volatile boolean running = true;
+
+    StripedEventDispatcher(int stripeCount,
+                           int queueSize,
+                           @NotNull OverflowPolicy policy,
+                           @NotNull PriorityTable priorities,
+                           @NotNull Consumer<GenericEvent> handler) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1.");
+        }
+        if (queueSize < 1) {
+            throw new IllegalArgumentException("Queue size must be at least 1.");
+        }
+
+        this.policy = policy;
+        this.priorities = priorities;
+        this.handler = handler;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            this.stripes[i] = new Stripe(i, new EventQueue(queueSize, policy));
+        }
+    }
+
+    /**
+     * Queues the event on the stripe of its routing key.
+     * <br> If the queue of that stripe is full, the {@link OverflowPolicy} decides
+     * whether the calling thread is blocked or an event is shed.
+     * <br> Events received after the dispatcher was shut down are dropped.
+     * <br> A handler dispatching onto the full queue of its own stripe would wait for itself,
+     * so such an event is handled inline instead of blocking.
+     *
+     * @param event
+     *        the event to dispatch
+     */
+    void dispatch(@NotNull GenericEvent event) {
+        if (!running) {
+            rejected.increment();
+            LOGGER.debug("Dropping event {}, the dispatcher is shut down.", event.getClass().getSimpleName());
+            return;
+        }
+
+        Stripe stripe = stripes[indexOf(EventKeys.routingKey(event))];
+        EventPriority priority = priorities.get(event.getClass());
+
+        if (policy == OverflowPolicy.BLOCK && stripe.thread == Thread.currentThread()) {
+            if (!stripe.queue.tryOffer(event, priority)) {
+                stripe.handle(event);
+            }
+            return;
+        }
+
+        try {
+            stripe.queue.offer(event, priority);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while queueing event {}.", event.getClass().getSimpleName());
+        }
+    }
+
+    int stripeCount() {
+        return this.stripes.length;
+    }
+
+    int queuedEvents() {
+        int queued = 0;
+        for (Stripe stripe : stripes) {
+            queued += stripe.queue.size();
+        }
+        return queued;
+    }
+
+    long droppedEvents() {
+        long dropped = rejected.sum();
+        for (Stripe stripe : stripes) {
+            dropped += stripe.queue.dropped();
+        }
+        return dropped;
+    }
+
+    long coalescedEvents() {
+        long coalesced = 0;
+        for (Stripe stripe : stripes) {
+            coalesced += stripe.queue.coalesced();
+        }
+        return coalesced;
+    }
+
+    void shutdown() {
+        this.running = false;
+        for (Stripe stripe : stripes) {
+            stripe.queue.close();
+            stripe.thread.interrupt();
+        }
+    }
+
+    private int indexOf(long key) {
+        int hash = Long.hashCode(key);
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    private final class Stripe implements Runnable {
+
+        private final EventQueue queue;
+        private final Thread thread;
+
+        private Stripe(int index, @NotNull EventQueue queue) {
+            this.queue = queue;
+            this.thread = new Thread(this, "EventDispatcher-" + index);
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                GenericEvent event;
+                try {
+                    event = queue.take();
+                } catch (InterruptedException e) {
+                    continue;
+                }
+
+                handle(event);
+            }
+        }
+
+        private void handle(@NotNull GenericEvent event) {
+            try {
+                handler.accept(event);
+            } catch (Throwable throwable) {
+                LOGGER.error("Failed to dispatch event {}.", event.getClass().getSimpleName(), throwable);
+            }
+        }
+    }
+
+}
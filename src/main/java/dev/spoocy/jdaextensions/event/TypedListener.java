@@ -0,0 +1,18 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener which is only interested in events of one type and its sub types.
+ * <br> The {@link DispatchTable} only includes it for matching event classes.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+interface TypedListener extends EventListener {
+
+    @NotNull
+    Class<?> eventType();
+
+}
@@ -0,0 +1,107 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.jdaextensions.util.LongObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * The pending waiters of a single event type of an {@link EventWaiter}.
+ * <br> Waiters declaring a key are indexed by their most selective key, so an event is only tested
+ * against the waiters of its own IDs. Waiters without any key are tested against every event.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class WaiterIndex {
+
+    private static final EventWaiter.WaitingEvent<?>[] EMPTY = new EventWaiter.WaitingEvent[0];
+
+    @SuppressWarnings("unchecked")
+    private final LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>>[] keyed = new LongObjectHashMap[WaiterKey.VALUES.length];
+    private final Set<EventWaiter.WaitingEvent<?>> unkeyed = new LinkedHashSet<>();
+    private int size;
+
+    synchronized void add(@NotNull EventWaiter.WaitingEvent<?> waiter) {
+        WaiterKey key = waiter.indexKey();
+        if (key == null) {
+            this.unkeyed.add(waiter);
+        } else {
+            LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>> index = this.keyed[key.ordinal()];
+            if (index == null) {
+                index = new LongObjectHashMap<>();
+                this.keyed[key.ordinal()] = index;
+            }
+            index.computeIfAbsent(waiter.key(key), id -> new LinkedHashSet<>()).add(waiter);
+        }
+        this.size++;
+    }
+
+    synchronized boolean remove(@NotNull EventWaiter.WaitingEvent<?> waiter) {
+        WaiterKey key = waiter.indexKey();
+        boolean removed;
+
+        if (key == null) {
+            removed = this.unkeyed.remove(waiter);
+        } else {
+            LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>> index = this.keyed[key.ordinal()];
+            long id = waiter.key(key);
+            Set<EventWaiter.WaitingEvent<?>> bucket = index == null ? null : index.get(id);
+
+            removed = bucket != null && bucket.remove(waiter);
+            if (bucket != null && bucket.isEmpty()) {
+                index.remove(id);
+            }
+        }
+
+        if (removed) {
+            this.size--;
+        }
+        return removed;
+    }
+
+    /**
+     * Collects the waiters which might match an event with the given keys.
+     *
+     * @param keys
+     *        the keys of the event, indexed by {@link WaiterKey#ordinal()}
+     *
+     * @return a snapshot of the candidates in registration order per bucket
+     */
+    @NotNull
+    synchronized EventWaiter.WaitingEvent<?>[] candidates(@NotNull long[] keys) {
+        if (this.size == 0) {
+            return EMPTY;
+        }
+
+        List<EventWaiter.WaitingEvent<?>> candidates = null;
+        for (int i = 0; i < this.keyed.length; i++) {
+            LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>> index = this.keyed[i];
+            if (index == null || index.isEmpty() || keys[i] == 0L) {
+                continue;
+            }
+
+            Set<EventWaiter.WaitingEvent<?>> bucket = index.get(keys[i]);
+            if (bucket != null) {
+                if (candidates == null) {
+                    candidates = new ArrayList<>(bucket.size() + this.unkeyed.size());
+                }
+                candidates.addAll(bucket);
+            }
+        }
+
+        if (!this.unkeyed.isEmpty()) {
+            if (candidates == null) {
+                return this.unkeyed.toArray(EMPTY);
+            }
+            candidates.addAll(this.unkeyed);
+        }
+
+        return candidates == null ? EMPTY : candidates.toArray(EMPTY);
+    }
+
+    synchronized int size() {
+        return this.size;
+    }
+
+}
@@ -0,0 +1,49 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The snowflake IDs an {@link EventWaiter} can index waiters by,
+ * ordered from the most to the least selective.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+enum WaiterKey {
+
+    MESSAGE,
+    USER,
+    CHANNEL,
+    GUILD;
+
+    static final WaiterKey[] VALUES = values();
+
+    long of(@NotNull GenericEvent event) {
+        switch (this) {
+            case MESSAGE:
+                return EventKeys.messageId(event);
+            case USER:
+                return EventKeys.userId(event);
+            case CHANNEL:
+                return EventKeys.channelId(event);
+            case GUILD:
+                return EventKeys.guildId(event);
+            default:
+                throw new IllegalStateException("Unknown key " + this);
+        }
+    }
+
+    /**
+     * Extracts all keys of the event, indexed by {@link #ordinal()}.
+     */
+    @NotNull
+    static long[] keysOf(@NotNull GenericEvent event) {
+        long[] keys = new long[VALUES.length];
+        for (WaiterKey key : VALUES) {
+            keys[key.ordinal()] = key.of(event);
+        }
+        return keys;
+    }
+
+}
@@ -0,0 +1,114 @@
+package dev.spoocy.jdaextensions.event;
+
+import dev.spoocy.jdaextensions.util.LongObjectHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Enforces {@link WaiterLimits} by tracking the pending waiters in registration order,
+ * in total and per declared key.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class WaiterLimiter {
+
+    private final WaiterLimits limits;
+    private final Set<EventWaiter.WaitingEvent<?>> pending = new LinkedHashSet<>();
+
+    @SuppressWarnings("unchecked")
+    private final LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>>[] perKey = new LongObjectHashMap[WaiterKey.VALUES.length];
+
+    WaiterLimiter(@NotNull WaiterLimits limits) {
+        this.limits = limits;
+        for (WaiterKey key : WaiterKey.VALUES) {
+            if (limits.maxPerKey(key) > 0) {
+                this.perKey[key.ordinal()] = new LongObjectHashMap<>();
+            }
+        }
+    }
+
+    /**
+     * Tracks the new waiter, making space for it according to the policy.
+     *
+     * @param waiter
+     *        the new waiter
+     *
+     * @return the waiters which were evicted for the new waiter and have to be cancelled
+     *
+     * @throws IllegalStateException
+     *         if a limit is exceeded and the policy is {@link WaiterLimits.Policy#REJECT}
+     */
+    @NotNull
+    synchronized List<EventWaiter.WaitingEvent<?>> acquire(@NotNull EventWaiter.WaitingEvent<?> waiter) {
+        boolean reject = this.limits.getPolicy() == WaiterLimits.Policy.REJECT;
+        List<EventWaiter.WaitingEvent<?>> evicted = Collections.emptyList();
+
+        for (WaiterKey key : WaiterKey.VALUES) {
+            Set<EventWaiter.WaitingEvent<?>> bucket = bucket(key, waiter);
+            if (bucket == null || bucket.size() < this.limits.maxPerKey(key)) {
+                continue;
+            }
+
+            if (reject) {
+                throw new IllegalStateException("Too many pending waiters for " + key.name().toLowerCase() + " " + waiter.key(key) + "!");
+            }
+            evicted = evict(bucket.iterator().next(), evicted);
+        }
+
+        int maxPending = this.limits.getMaxPending();
+        if (maxPending > 0 && this.pending.size() >= maxPending) {
+            if (reject) {
+                throw new IllegalStateException("Too many pending waiters! (" + maxPending + ")");
+            }
+            evicted = evict(this.pending.iterator().next(), evicted);
+        }
+
+        this.pending.add(waiter);
+        for (WaiterKey key : WaiterKey.VALUES) {
+            LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>> index = this.perKey[key.ordinal()];
+            long id = waiter.key(key);
+            if (index != null && id != 0L) {
+                index.computeIfAbsent(id, k -> new LinkedHashSet<>()).add(waiter);
+            }
+        }
+        return evicted;
+    }
+
+    synchronized void release(@NotNull EventWaiter.WaitingEvent<?> waiter) {
+        if (!this.pending.remove(waiter)) {
+            return;
+        }
+
+        for (WaiterKey key : WaiterKey.VALUES) {
+            LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>> index = this.perKey[key.ordinal()];
+            long id = waiter.key(key);
+            if (index == null || id == 0L) {
+                continue;
+            }
+
+            Set<EventWaiter.WaitingEvent<?>> bucket = index.get(id);
+            if (bucket != null && bucket.remove(waiter) && bucket.isEmpty()) {
+                index.remove(id);
+            }
+        }
+    }
+
+    @NotNull
+    private List<EventWaiter.WaitingEvent<?>> evict(@NotNull EventWaiter.WaitingEvent<?> waiter, @NotNull List<EventWaiter.WaitingEvent<?>> evicted) {
+        release(waiter);
+        if (evicted.isEmpty()) {
+            evicted = new ArrayList<>(2);
+        }
+        evicted.add(waiter);
+        return evicted;
+    }
+
+    private Set<EventWaiter.WaitingEvent<?>> bucket(@NotNull WaiterKey key, @NotNull EventWaiter.WaitingEvent<?> waiter) {
+        LongObjectHashMap<Set<EventWaiter.WaitingEvent<?>>> index = this.perKey[key.ordinal()];
+        long id = waiter.key(key);
+        return index == null || id == 0L ? null : index.get(id);
+    }
+
+}
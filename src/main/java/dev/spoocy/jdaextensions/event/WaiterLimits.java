@@ -0,0 +1,159 @@
+package dev.spoocy.jdaextensions.event;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Limits on the number of pending waiters of an {@link EventWaiter}.
+ * <br> Per-key limits only count waiters which declared that key,
+ * for example with {@link EventWaiter.Builder#fromUser(long)}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ *
+ * @see EventWaiter#setLimits(WaiterLimits)
+ */
+
+public final class WaiterLimits {
+
+    /**
+     * No limits at all.
+     */
+    public static final WaiterLimits UNLIMITED = builder().build();
+
+    private final int maxPending;
+    private final int[] maxPerKey;
+    private final Policy policy;
+
+    private WaiterLimits(@NotNull Builder builder) {
+        this.maxPending = builder.maxPending;
+        this.maxPerKey = builder.maxPerKey.clone();
+        this.policy = builder.policy;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxPending() {
+        return this.maxPending;
+    }
+
+    @NotNull
+    public Policy getPolicy() {
+        return this.policy;
+    }
+
+    int maxPerKey(@NotNull WaiterKey key) {
+        return this.maxPerKey[key.ordinal()];
+    }
+
+    boolean isUnlimited() {
+        if (this.maxPending > 0) {
+            return false;
+        }
+        for (int max : this.maxPerKey) {
+            if (max > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * What happens to a new waiter which would exceed a limit.
+     */
+    public enum Policy {
+
+        /**
+         * Rejects the new waiter with an {@link IllegalStateException}.
+         */
+        REJECT,
+
+        /**
+         * Cancels the oldest pending waiter of the exceeded limit, for example the oldest waiter
+         * of the same user, and registers the new waiter.
+         */
+        EVICT_OLDEST
+
+    }
+
+    public static class Builder {
+
+        private int maxPending = 0;
+        private final int[] maxPerKey = new int[WaiterKey.VALUES.length];
+        private Policy policy = Policy.EVICT_OLDEST;
+
+        public Builder() {
+
+        }
+
+        /**
+         * @param max
+         *        the maximum number of pending waiters in total, {@code 0} for no limit
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder maxPending(int max) {
+            this.maxPending = checkLimit(max);
+            return this;
+        }
+
+        /**
+         * @param max
+         *        the maximum number of pending waiters per user, {@code 0} for no limit
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder maxPerUser(int max) {
+            this.maxPerKey[WaiterKey.USER.ordinal()] = checkLimit(max);
+            return this;
+        }
+
+        /**
+         * @param max
+         *        the maximum number of pending waiters per channel, {@code 0} for no limit
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder maxPerChannel(int max) {
+            this.maxPerKey[WaiterKey.CHANNEL.ordinal()] = checkLimit(max);
+            return this;
+        }
+
+        /**
+         * @param max
+         *        the maximum number of pending waiters per guild, {@code 0} for no limit
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder maxPerGuild(int max) {
+            this.maxPerKey[WaiterKey.GUILD.ordinal()] = checkLimit(max);
+            return this;
+        }
+
+        /**
+         * Sets what happens to new waiters exceeding a limit. Defaults to {@link Policy#EVICT_OLDEST}.
+         *
+         * @param policy
+         *        the policy
+         *
+         * @return the current builder instance for chaining
+         */
+        public Builder policy(@NotNull Policy policy) {
+            this.policy = policy;
+            return this;
+        }
+
+        public WaiterLimits build() {
+            return new WaiterLimits(this);
+        }
+
+        private static int checkLimit(int max) {
+            if (max < 0) {
+                throw new IllegalArgumentException("Limit cannot be negative.");
+            }
+            return max;
+        }
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Wraps a plain {@link EventListener} registered at an {@link AdvancedEventManager}
+ * with an enabled watchdog, so it is timed and quarantined like annotated handlers.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class WatchedListener implements GuardedListener {
+
+    private final EventListener delegate;
+    private final ListenerStats stats;
+
+    WatchedListener(@NotNull EventListener delegate, @NotNull ListenerStats stats) {
+        this.delegate = delegate;
+        this.stats = stats;
+    }
+
+    @NotNull
+    @Override
+    public EventGuard[] guards() {
+        return EventGuard.NONE;
+    }
+
+    @NotNull
+    @Override
+    public ListenerStats stats() {
+        return this.stats;
+    }
+
+    @Override
+    public void invoke(@NotNull GenericEvent event) {
+        try {
+            this.delegate.onEvent(event);
+        } catch (Throwable throwable) {
+            this.stats.failed();
+            throw throwable;
+        }
+    }
+
+}
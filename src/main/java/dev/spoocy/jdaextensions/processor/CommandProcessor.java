@@ -0,0 +1,556 @@
+package dev.spoocy.jdaextensions.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor validating {@code @Command} classes at compile time.
+ * <br> For each valid class a {@code CommandRegistrar} is generated, which creates the same
+ * {@code CommandData} as {@code CommandAnnotationProcessor.parseCommand} without reflection,
+ * and calls the command methods directly. All registrars are listed in
+ * {@code META-INF/services/dev.spoocy.jdaextensions.commands.manager.CommandRegistrar}.
+ * <br> The processor is not registered automatically, add it to the annotation processors of the compiler.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+@SupportedAnnotationTypes(CommandProcessor.COMMAND)
+public class CommandProcessor extends AbstractProcessor {
+
+    static final String COMMAND = "dev.spoocy.jdaextensions.commands.annotations.Command";
+    static final String REGISTRAR = "dev.spoocy.jdaextensions.commands.manager.CommandRegistrar";
+
+    private static final String DEFAULT = COMMAND + ".Default";
+    private static final String SUB = COMMAND + ".Sub";
+    private static final String GROUP = COMMAND + ".Group";
+    private static final String DISABLE_ACKNOWLEDGE = COMMAND + ".DisableAcknowledge";
+    private static final String COOLDOWN = "dev.spoocy.jdaextensions.commands.annotations.Cooldown";
+    private static final String PERMISSIONS = "dev.spoocy.jdaextensions.commands.annotations.Permissions";
+    private static final String CHOICE = "dev.spoocy.jdaextensions.commands.annotations.Choice";
+    private static final String ARGUMENTS = "dev.spoocy.jdaextensions.commands.arguments.Arguments";
+    private static final String ARGUMENT_IMPL = "dev.spoocy.jdaextensions.commands.arguments.impl.";
+    private static final String CONTEXT = "dev.spoocy.jdaextensions.commands.event.CommandContext";
+
+    private static final Map<String, ArgumentKind> ARGUMENT_KINDS = new LinkedHashMap<>();
+
+    static {
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Text", new ArgumentKind("StringArgument", "text", "text", "java.lang.String", "Text"));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Integer", new ArgumentKind("IntegerArgument", "integer", "boxedInteger", "java.lang.Integer", "Integer"));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Bool", new ArgumentKind("BooleanArgument", "bool", "boxedBool", "java.lang.Boolean", null));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".User", new ArgumentKind("UserArgument", "user", "user", "net.dv8tion.jda.api.entities.User", null));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Channel", new ArgumentKind("ChannelArgument", "channel", "channel", "net.dv8tion.jda.api.entities.channel.unions.GuildChannelUnion", null));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Role", new ArgumentKind("RoleArgument", "role", "role", "net.dv8tion.jda.api.entities.Role", null));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Mentionable", new ArgumentKind("MentionableArgument", "mentionable", "mentionable", "net.dv8tion.jda.api.entities.IMentionable", null));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Number", new ArgumentKind("NumberArgument", "number", "boxedNumber", "java.lang.Double", "Number"));
+        ARGUMENT_KINDS.put(ARGUMENTS + ".Attachment", new ArgumentKind("AttachmentArgument", "attachment", "attachment", "net.dv8tion.jda.api.entities.Message.Attachment", null));
+    }
+
+    private final Set<String> registrars = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        TypeElement command = elements().getTypeElement(COMMAND);
+        if (command != null) {
+            for (Element element : round.getElementsAnnotatedWith(command)) {
+                if (element.getKind() != ElementKind.CLASS) {
+                    error(element, "@Command can only be used on classes");
+                    continue;
+                }
+                processClass((TypeElement) element);
+            }
+        }
+
+        if (round.processingOver()) {
+            ServiceIndex.write(processingEnv.getFiler(), processingEnv.getMessager(), REGISTRAR, this.registrars);
+        }
+
+        // the annotations are not claimed, other processors may still handle them
+        return false;
+    }
+
+    private void processClass(@NotNull TypeElement type) {
+        if (!Mirrors.isAccessible(type)) {
+            error(type, "Command class " + type.getQualifiedName() + " must not be private and must be static if nested");
+            return;
+        }
+
+        boolean valid = true;
+        ExecutableElement defaultMethod = null;
+        List<ExecutableElement> subMethods = new ArrayList<>();
+        Set<String> subNames = new HashSet<>();
+
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            boolean isDefault = Mirrors.find(method, DEFAULT) != null;
+            AnnotationMirror sub = Mirrors.find(method, SUB);
+
+            if (!isDefault && sub == null) {
+                if (Mirrors.find(method, GROUP) != null) {
+                    error(method, "@Command.Group requires @Command.Sub");
+                    valid = false;
+                }
+                continue;
+            }
+
+            if (isDefault && sub != null) {
+                error(method, "A method cannot be annotated with both @Command.Default and @Command.Sub");
+                valid = false;
+                continue;
+            }
+
+            valid &= validateMethod(method);
+
+            if (isDefault) {
+                if (defaultMethod != null) {
+                    error(method, "Only one method can be annotated with @Command.Default");
+                    valid = false;
+                }
+                defaultMethod = method;
+            } else {
+                Map<String, Object> values = Mirrors.values(elements(), sub);
+                AnnotationMirror group = Mirrors.find(method, GROUP);
+                String path = (group == null ? "" : Mirrors.values(elements(), group).get("name") + " ") + values.get("name");
+                if (!subNames.add(path)) {
+                    error(method, "Duplicate sub-command '" + path + "'");
+                    valid = false;
+                }
+                subMethods.add(method);
+            }
+        }
+
+        if (valid) {
+            generate(type, defaultMethod, subMethods);
+        }
+    }
+
+    private boolean validateMethod(@NotNull ExecutableElement method) {
+        Set<Modifier> modifiers = method.getModifiers();
+        if (!modifiers.contains(Modifier.STATIC)) {
+            error(method, "Command method " + method.getSimpleName() + " must be static");
+            return false;
+        }
+
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            error(method, "Command method " + method.getSimpleName() + " must not be private to be called by the generated registrar");
+            return false;
+        }
+
+        List<? extends VariableElement> parameters = method.getParameters();
+        TypeElement context = elements().getTypeElement(CONTEXT);
+        if (parameters.isEmpty() || (context != null && !types().isAssignable(context.asType(), parameters.get(0).asType()))) {
+            error(method, "The first parameter of command method " + method.getSimpleName() + " must be a CommandContext");
+            return false;
+        }
+
+        boolean valid = true;
+        Set<String> names = new HashSet<>();
+        for (int i = 1; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            AnnotationMirror argument = null;
+
+            for (AnnotationMirror mirror : parameter.getAnnotationMirrors()) {
+                if (ARGUMENT_KINDS.containsKey(Mirrors.name(mirror))) {
+                    if (argument != null) {
+                        error(parameter, "Parameter '" + parameter.getSimpleName() + "' has more than one argument annotation");
+                        valid = false;
+                    }
+                    argument = mirror;
+                }
+            }
+
+            if (argument == null) {
+                error(parameter, "Parameter '" + parameter.getSimpleName() + "' is not annotated with any argument annotation");
+                valid = false;
+                continue;
+            }
+
+            String name = (String) Mirrors.values(elements(), argument).get("name");
+            if (!names.add(name)) {
+                error(parameter, "Argument '" + name + "' is defined more than once");
+                valid = false;
+            }
+
+            if (extractor(parameter, ARGUMENT_KINDS.get(Mirrors.name(argument))) == null) {
+                error(parameter, "Parameter '" + parameter.getSimpleName() + "' of type " + parameter.asType() + " cannot hold a "
+                        + Mirrors.name(argument).substring(ARGUMENTS.length() + 1) + " argument");
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private void generate(@NotNull TypeElement type, @Nullable ExecutableElement defaultMethod, @NotNull List<ExecutableElement> subMethods) {
+        Map<String, Object> command = Mirrors.values(elements(), Objects.requireNonNull(Mirrors.find(type, COMMAND)));
+        String packageName = elements().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = Mirrors.generatedName(elements(), type, "CommandRegistrar");
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (elements().getTypeElement("javax.annotation.processing.Generated") != null) {
+            source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        }
+        source.append("public final class ").append(simpleName).append(" implements ").append(REGISTRAR).append(" {\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public Class<?> commandClass() {\n");
+        source.append("        return ").append(type.getQualifiedName()).append(".class;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public dev.spoocy.jdaextensions.commands.structure.impl.CommandData create() {\n");
+        source.append("        dev.spoocy.jdaextensions.commands.structure.impl.CommandData data = new dev.spoocy.jdaextensions.commands.structure.impl.CommandData(\n");
+        source.append("                ").append(literal(command.get("name"))).append(",\n");
+        source.append("                ").append(literal(command.get("description"))).append(",\n");
+        source.append("                ").append(command.get("nsfw")).append(",\n");
+        source.append("                ").append(defaultPermissions(type)).append(",\n");
+        source.append("                new net.dv8tion.jda.api.interactions.InteractionContextType[] {").append(constants(command.get("context"))).append("}\n");
+        source.append("        );\n");
+
+        if (defaultMethod != null) {
+            Map<String, Object> values = Mirrors.values(elements(), Objects.requireNonNull(Mirrors.find(defaultMethod, DEFAULT)));
+            source.append("        data.setRootCommand(");
+            node(source, type, defaultMethod, command.get("name"), command.get("description"), values);
+            source.append(");\n");
+        }
+
+        for (ExecutableElement method : subMethods) {
+            Map<String, Object> values = Mirrors.values(elements(), Objects.requireNonNull(Mirrors.find(method, SUB)));
+            AnnotationMirror group = Mirrors.find(method, GROUP);
+
+            if (group == null) {
+                source.append("        data.addSubCommandData(");
+            } else {
+                Map<String, Object> groupValues = Mirrors.values(elements(), group);
+                source.append("        data.getOrCreateSubCommandGroup(").append(literal(groupValues.get("name"))).append(", ")
+                        .append(literal(groupValues.get("description"))).append(").addSubCommandData(");
+            }
+            node(source, type, method, values.get("name"), values.get("description"), values);
+            source.append(");\n");
+        }
+
+        source.append("        return data;\n");
+        source.append("    }\n\n");
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "Failed to generate " + qualifiedName + ": " + e);
+            return;
+        }
+
+        this.registrars.add(qualifiedName);
+    }
+
+    private void node(@NotNull StringBuilder source,
+                      @NotNull TypeElement type,
+                      @NotNull ExecutableElement method,
+                      @NotNull Object name,
+                      @NotNull Object description,
+                      @NotNull Map<String, Object> values) {
+        boolean acknowledge = Mirrors.find(method, DISABLE_ACKNOWLEDGE) == null;
+        String indent = "                ";
+
+        source.append("new dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData(\n");
+        source.append(indent).append("data,\n");
+        source.append(indent).append(literal(name)).append(",\n");
+        source.append(indent).append(literal(description)).append(",\n");
+        source.append(indent).append("new dev.spoocy.jdaextensions.commands.permission.CommandPermission[] {").append(permissions(method)).append("},\n");
+        source.append(indent).append(values.get("async")).append(",\n");
+        source.append(indent).append(values.get("sendTyping")).append(",\n");
+        source.append(indent).append(acknowledge).append(",\n");
+        source.append(indent).append(values.get("ephemeral")).append(",\n");
+        source.append(indent).append(arguments(method)).append(",\n");
+        source.append(indent).append(cooldown(method)).append(",\n");
+        source.append(indent).append(executor(type, method)).append("\n");
+        source.append("        )");
+    }
+
+    @NotNull
+    private String defaultPermissions(@NotNull TypeElement type) {
+        AnnotationMirror mirror = Mirrors.find(type, PERMISSIONS + ".Default");
+        if (mirror == null) {
+            return "net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions.ENABLED";
+        }
+
+        Map<String, Object> values = Mirrors.values(elements(), mirror);
+        if ((Boolean) values.get("disable")) {
+            return "net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions.DISABLED";
+        }
+        return "net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions.enabledFor(java.util.Arrays.asList(new net.dv8tion.jda.api.Permission[] {"
+                + constants(values.get("value")) + "}))";
+    }
+
+    @NotNull
+    private String permissions(@NotNull ExecutableElement method) {
+        List<String> permissions = new ArrayList<>();
+
+        AnnotationMirror mirror = Mirrors.find(method, PERMISSIONS);
+        if (mirror != null) {
+            Map<String, Object> values = Mirrors.values(elements(), mirror);
+            boolean guild = ((VariableElement) values.get("scope")).getSimpleName().contentEquals("GUILD");
+            for (AnnotationValue permission : Mirrors.array(values.get("value"))) {
+                permissions.add("dev.spoocy.jdaextensions.commands.permission.CommandPermission." + (guild ? "guild(" : "channel(")
+                        + Mirrors.constant(permission.getValue()) + ")");
+            }
+        }
+
+        if (Mirrors.find(method, PERMISSIONS + ".Owner") != null) {
+            permissions.add("dev.spoocy.jdaextensions.commands.permission.CommandPermission.OWNER");
+        }
+        return String.join(", ", permissions);
+    }
+
+    @NotNull
+    private String cooldown(@NotNull ExecutableElement method) {
+        AnnotationMirror mirror = Mirrors.find(method, COOLDOWN);
+        if (mirror == null) {
+            return "dev.spoocy.jdaextensions.commands.cooldown.Cooldown.NONE";
+        }
+
+        Map<String, Object> values = Mirrors.values(elements(), mirror);
+        String duration = "java.time.Duration.ofMillis(" + Mirrors.constant(values.get("unit")) + ".toMillis(" + values.get("value") + "L))";
+        switch (((VariableElement) values.get("scope")).getSimpleName().toString()) {
+            case "USER":
+                return "new dev.spoocy.jdaextensions.commands.cooldown.UserCooldown(" + duration + ")";
+            case "GUILD":
+                return "new dev.spoocy.jdaextensions.commands.cooldown.GuildCooldown(" + duration + ")";
+            case "GLOBAL":
+                return "new dev.spoocy.jdaextensions.commands.cooldown.GlobalCooldown(" + duration + ")";
+            default:
+                return "dev.spoocy.jdaextensions.commands.cooldown.Cooldown.NONE";
+        }
+    }
+
+    @NotNull
+    private String arguments(@NotNull ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() == 1) {
+            return "java.util.Collections.<dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument>emptyList()";
+        }
+
+        StringJoiner arguments = new StringJoiner(",\n                        ",
+                "java.util.Arrays.<dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument>asList(\n                        ",
+                "\n                )");
+
+        for (int i = 1; i < parameters.size(); i++) {
+            AnnotationMirror mirror = argumentOf(parameters.get(i));
+            ArgumentKind kind = ARGUMENT_KINDS.get(Mirrors.name(mirror));
+            Map<String, Object> values = Mirrors.values(elements(), mirror);
+
+            StringBuilder argument = new StringBuilder("new ").append(ARGUMENT_IMPL).append(kind.implementation).append("(")
+                    .append(literal(values.get("name"))).append(", ")
+                    .append(literal(values.get("description"))).append(", ")
+                    .append(values.get("required")).append(", ")
+                    .append(values.get("autoComplete")).append(")");
+
+            if (values.containsKey("minLength")) {
+                argument.append(".minLength(").append(literal(values.get("minLength"))).append(")");
+                argument.append(".maxLength(").append(literal(values.get("maxLength"))).append(")");
+            }
+            if (values.containsKey("minValue")) {
+                argument.append(".minValue(").append(literal(values.get("minValue"))).append(")");
+                argument.append(".maxValue(").append(literal(values.get("maxValue"))).append(")");
+            }
+            if (values.containsKey("channelTypes") && !Mirrors.array(values.get("channelTypes")).isEmpty()) {
+                argument.append(".type(").append(constants(values.get("channelTypes"))).append(")");
+            }
+            if (kind.choice != null) {
+                for (Map<String, Object> choice : choices(method, kind.choice, (String) values.get("name"))) {
+                    argument.append(".choice(").append(literal(choice.get("name"))).append(", ").append(literal(choice.get("value"))).append(")");
+                }
+            }
+
+            arguments.add(argument);
+        }
+        return arguments.toString();
+    }
+
+    /**
+     * Gets the choices of an argument like the runtime parser,
+     * the repeated container annotation replaces a single choice annotation.
+     */
+    @NotNull
+    private List<Map<String, Object>> choices(@NotNull ExecutableElement method, @NotNull String kind, @NotNull String argument) {
+        List<Map<String, Object>> choices = new ArrayList<>();
+
+        AnnotationMirror container = Mirrors.find(method, CHOICE + "." + kind + "s");
+        if (container != null) {
+            for (AnnotationValue value : Mirrors.array(Mirrors.values(elements(), container).get("value"))) {
+                Map<String, Object> choice = Mirrors.values(elements(), (AnnotationMirror) value.getValue());
+                if (argument.equals(choice.get("argument"))) {
+                    choices.add(choice);
+                }
+            }
+            return choices;
+        }
+
+        AnnotationMirror single = Mirrors.find(method, CHOICE + "." + kind);
+        if (single != null) {
+            Map<String, Object> choice = Mirrors.values(elements(), single);
+            if (argument.equals(choice.get("argument"))) {
+                choices.add(choice);
+            }
+        }
+        return choices;
+    }
+
+    @NotNull
+    private String executor(@NotNull TypeElement type, @NotNull ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        StringJoiner call = new StringJoiner(", ", "context -> " + type.getQualifiedName() + "." + method.getSimpleName() + "(", ")");
+        call.add("context");
+
+        for (int i = 1; i < parameters.size(); i++) {
+            VariableElement parameter = parameters.get(i);
+            AnnotationMirror argument = argumentOf(parameter);
+            call.add(extractor(parameter, ARGUMENT_KINDS.get(Mirrors.name(argument)))
+                    .replace("%slot%", String.valueOf(i - 1))
+                    .replace("%name%", literal(Mirrors.values(elements(), argument).get("name"))));
+        }
+        return call.toString();
+    }
+
+    /**
+     * Creates the expression reading the argument of a parameter with {@code %slot%} and {@code %name%}
+     * as placeholders of the slot and the name literal.
+     *
+     * @return the expression, or {@code null} if the parameter type cannot hold the argument
+     */
+    @Nullable
+    private String extractor(@NotNull VariableElement parameter, @NotNull ArgumentKind kind) {
+        TypeElement valueElement = elements().getTypeElement(kind.valueType);
+        if (valueElement == null) {
+            return null;
+        }
+
+        TypeMirror type = parameter.asType();
+        TypeMirror value = valueElement.asType();
+        boolean primitiveKind = !kind.primitive.equals(kind.boxed);
+        String call = "dev.spoocy.jdaextensions.commands.arguments.ArgumentExtractors.%s(context, %%slot%%, %%name%%)";
+
+        if (type.getKind().isPrimitive()) {
+            if (!primitiveKind || !types().isAssignable(types().unboxedType(value), type)) {
+                return null;
+            }
+            return String.format(call, kind.primitive);
+        }
+
+        if (types().isAssignable(value, type)) {
+            return String.format(call, kind.boxed);
+        }
+
+        // entities are cast like at runtime, for example a TextChannel parameter for a channel argument
+        if (!primitiveKind && type.getKind() == TypeKind.DECLARED && isCastable(value, type)) {
+            return "(" + types().erasure(type) + ") " + String.format(call, kind.boxed);
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a reference of type {@code from} can be cast to {@code to}, which is the case for sub types
+     * and for interfaces which may be implemented by the same non-final class.
+     */
+    private boolean isCastable(@NotNull TypeMirror from, @NotNull TypeMirror to) {
+        if (types().isAssignable(to, from)) {
+            return true;
+        }
+
+        Element fromElement = types().asElement(from);
+        Element toElement = types().asElement(to);
+        boolean fromInterface = fromElement.getKind() == ElementKind.INTERFACE;
+        boolean toInterface = toElement.getKind() == ElementKind.INTERFACE;
+
+        if (fromInterface && toInterface) {
+            return true;
+        }
+        if (fromInterface) {
+            return !toElement.getModifiers().contains(Modifier.FINAL);
+        }
+        if (toInterface) {
+            return !fromElement.getModifiers().contains(Modifier.FINAL);
+        }
+        return false;
+    }
+
+    @NotNull
+    private AnnotationMirror argumentOf(@NotNull VariableElement parameter) {
+        for (AnnotationMirror mirror : parameter.getAnnotationMirrors()) {
+            if (ARGUMENT_KINDS.containsKey(Mirrors.name(mirror))) {
+                return mirror;
+            }
+        }
+        throw new IllegalStateException("Parameter " + parameter + " has no argument annotation");
+    }
+
+    @NotNull
+    private String constants(@Nullable Object array) {
+        StringJoiner constants = new StringJoiner(", ");
+        for (AnnotationValue value : Mirrors.array(array)) {
+            constants.add(Mirrors.constant(value.getValue()));
+        }
+        return constants.toString();
+    }
+
+    @NotNull
+    private String literal(@NotNull Object value) {
+        return elements().getConstantExpression(value);
+    }
+
+    private void error(@NotNull Element element, @NotNull String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private Elements elements() {
+        return processingEnv.getElementUtils();
+    }
+
+    private Types types() {
+        return processingEnv.getTypeUtils();
+    }
+
+    private static final class ArgumentKind {
+
+        private final String implementation;
+        private final String primitive;
+        private final String boxed;
+        private final String valueType;
+        @Nullable
+        private final String choice;
+
+        private ArgumentKind(@NotNull String implementation,
+                             @NotNull String primitive,
+                             @NotNull String boxed,
+                             @NotNull String valueType,
+                             @Nullable String choice) {
+            this.implementation = implementation;
+            this.primitive = primitive;
+            this.boxed = boxed;
+            this.valueType = valueType;
+            this.choice = choice;
+        }
+    }
+
+}
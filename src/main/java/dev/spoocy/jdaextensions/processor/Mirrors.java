@@ -0,0 +1,115 @@
+package dev.spoocy.jdaextensions.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.lang.model.element.*;
+import javax.lang.model.util.Elements;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers to read annotations from the language model by their names,
+ * so the processors do not have to load the annotation classes.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class Mirrors {
+
+    private Mirrors() { }
+
+    /**
+     * Gets the annotation of the given type on an element.
+     *
+     * @param element
+     *        the annotated element
+     * @param annotation
+     *        the canonical name of the annotation type
+     *
+     * @return the annotation, or {@code null} if the element is not annotated with it
+     */
+    @Nullable
+    static AnnotationMirror find(@NotNull Element element, @NotNull String annotation) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (name(mirror).equals(annotation)) {
+                return mirror;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the canonical name of the type of the given annotation
+     */
+    @NotNull
+    static String name(@NotNull AnnotationMirror mirror) {
+        return ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().toString();
+    }
+
+    /**
+     * Gets all values of an annotation by the names of its elements, including default values.
+     */
+    @NotNull
+    static Map<String, Object> values(@NotNull Elements elements, @NotNull AnnotationMirror mirror) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Gets the elements of an array value.
+     */
+    @NotNull
+    static List<? extends AnnotationValue> array(@Nullable Object value) {
+        if (value instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<? extends AnnotationValue> list = (List<? extends AnnotationValue>) value;
+            return list;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * @return the given enum constant as source expression, for example {@code java.util.concurrent.TimeUnit.SECONDS}
+     */
+    @NotNull
+    static String constant(@NotNull Object value) {
+        VariableElement constant = (VariableElement) value;
+        return ((TypeElement) constant.getEnclosingElement()).getQualifiedName() + "." + constant.getSimpleName();
+    }
+
+    /**
+     * Checks if generated code in the package of the given type can access it.
+     */
+    static boolean isAccessible(@NotNull TypeElement type) {
+        Element element = type;
+        while (element instanceof TypeElement) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            if (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Gets the name of the class generated for the given type.
+     * Nested types are joined with underscores, for example {@code Outer_Inner_CommandRegistrar}.
+     */
+    @NotNull
+    static String generatedName(@NotNull Elements elements, @NotNull TypeElement type, @NotNull String suffix) {
+        String binaryName = elements.getBinaryName(type).toString();
+        String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return simpleName.replace('$', '_') + '_' + suffix;
+    }
+
+}
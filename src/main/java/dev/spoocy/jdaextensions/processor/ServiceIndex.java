@@ -0,0 +1,77 @@
+package dev.spoocy.jdaextensions.processor;
+
+import org.jetbrains.annotations.NotNull;
+
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.Messager;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes a {@code META-INF/services} file listing generated classes.
+ * <br> Entries of a previous compilation are kept, so incremental builds which only process
+ * some of the classes do not drop the others. Stale entries are skipped when the index is loaded.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+final class ServiceIndex {
+
+    private ServiceIndex() { }
+
+    /**
+     * Adds the given providers to the index of the given service.
+     *
+     * @param filer
+     *        the filer of the processing environment
+     * @param messager
+     *        the messager to report failures to
+     * @param service
+     *        the binary name of the service interface
+     * @param providers
+     *        the binary names of the generated providers
+     */
+    static void write(@NotNull Filer filer, @NotNull Messager messager, @NotNull String service, @NotNull Set<String> providers) {
+        if (providers.isEmpty()) {
+            return;
+        }
+
+        String path = "META-INF/services/" + service;
+        Set<String> entries = new TreeSet<>(providers);
+
+        try {
+            FileObject existing = filer.getResource(StandardLocation.CLASS_OUTPUT, "", path);
+            try (Reader reader = existing.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        entries.add(line);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // no previous index
+        }
+
+        try {
+            FileObject index = filer.createResource(StandardLocation.CLASS_OUTPUT, "", path);
+            try (Writer writer = index.openWriter()) {
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Failed to write " + path + ": " + e);
+        }
+    }
+
+}
@@ -0,0 +1,318 @@
+package dev.spoocy.jdaextensions.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Annotation processor generating a listener for each class with {@code @SubscribeEvent} methods.
+ * <br> The generated {@code ListenerFactory} creates a listener which checks the event against the
+ * parameter types of the methods and calls them directly, like {@code AnnotatedEventListener} does
+ * with reflection. All factories are listed in
+ * {@code META-INF/services/dev.spoocy.jdaextensions.event.ListenerFactory}.
+ * <br> Classes using {@code @Filter} or {@code @Async}, or with methods the generated class cannot
+ * access, are skipped and keep using reflection.
+ * <br> The processor is not registered automatically, add it to the annotation processors of the compiler.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+@SupportedAnnotationTypes(SubscribeEventProcessor.SUBSCRIBE_EVENT)
+public class SubscribeEventProcessor extends AbstractProcessor {
+
+    static final String SUBSCRIBE_EVENT = "net.dv8tion.jda.api.hooks.SubscribeEvent";
+    static final String FACTORY = "dev.spoocy.jdaextensions.event.ListenerFactory";
+
+    private static final String LISTENER = "dev.spoocy.jdaextensions.event.GeneratedEventListener";
+    private static final String GENERIC_EVENT = "net.dv8tion.jda.api.events.GenericEvent";
+    private static final String FILTER = "dev.spoocy.jdaextensions.event.Filter";
+    private static final String ASYNC = "dev.spoocy.jdaextensions.event.Async";
+
+    private final Set<String> factories = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        TypeElement subscribeEvent = elements().getTypeElement(SUBSCRIBE_EVENT);
+        if (subscribeEvent != null) {
+            Set<TypeElement> types = new LinkedHashSet<>();
+            for (Element element : round.getElementsAnnotatedWith(subscribeEvent)) {
+                if (validateMethod((ExecutableElement) element) && element.getEnclosingElement().getKind() == ElementKind.CLASS) {
+                    types.add((TypeElement) element.getEnclosingElement());
+                }
+            }
+
+            for (TypeElement type : types) {
+                processClass(type);
+            }
+        }
+
+        if (round.processingOver()) {
+            ServiceIndex.write(processingEnv.getFiler(), processingEnv.getMessager(), FACTORY, this.factories);
+        }
+
+        // the annotation is not claimed, other processors may still handle it
+        return false;
+    }
+
+    private boolean validateMethod(@NotNull ExecutableElement method) {
+        String problem = problemOf(method);
+        if (problem != null) {
+            error(method, "Method " + method.getSimpleName() + " in class " + ((TypeElement) method.getEnclosingElement()).getQualifiedName() + " has @SubscribeEvent annotation but " + problem);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return why the given method cannot be a listener method, or {@code null} if it is valid
+     */
+    @Nullable
+    private String problemOf(@NotNull ExecutableElement method) {
+        List<? extends VariableElement> parameters = method.getParameters();
+        if (parameters.size() != 1) {
+            return "does not have the correct number of parameters.";
+        }
+
+        TypeElement genericEvent = elements().getTypeElement(GENERIC_EVENT);
+        TypeMirror parameter = types().erasure(parameters.get(0).asType());
+        if (genericEvent != null && (parameter.getKind() != TypeKind.DECLARED || !types().isAssignable(parameter, genericEvent.asType()))) {
+            return "has an incorrect parameter type. (" + parameter + ")";
+        }
+        return null;
+    }
+
+    private void processClass(@NotNull TypeElement type) {
+        if (!Mirrors.isAccessible(type)) {
+            note(type, "Listener class " + type.getQualifiedName() + " is not accessible, it is registered with reflection");
+            return;
+        }
+
+        if (Mirrors.find(type, FILTER) != null) {
+            note(type, "Listener class " + type.getQualifiedName() + " uses @Filter, it is registered with reflection");
+            return;
+        }
+
+        List<ExecutableElement> handlers = handlers(type);
+        for (ExecutableElement method : handlers) {
+            // invalid methods are reported with their own class
+            if (problemOf(method) != null) {
+                return;
+            }
+
+            if (Mirrors.find(method, FILTER) != null || Mirrors.find(method, ASYNC) != null) {
+                note(type, "Listener method " + method.getSimpleName() + " uses @Filter or @Async, " + type.getQualifiedName() + " is registered with reflection");
+                return;
+            }
+
+            if (!isAccessible(type, method)) {
+                note(type, "Listener method " + method.getSimpleName() + " is not accessible, " + type.getQualifiedName() + " is registered with reflection");
+                return;
+            }
+        }
+
+        generate(type, handlers);
+    }
+
+    /**
+     * Collects the listener methods of the given class and its super classes.
+     * Methods overridden by another listener method are only called once.
+     */
+    @NotNull
+    private List<ExecutableElement> handlers(@NotNull TypeElement type) {
+        List<ExecutableElement> handlers = new ArrayList<>();
+        TypeElement current = type;
+
+        while (current != null) {
+            for (ExecutableElement method : ElementFilter.methodsIn(current.getEnclosedElements())) {
+                if (Mirrors.find(method, SUBSCRIBE_EVENT) != null && !isOverridden(method, handlers, type)) {
+                    handlers.add(method);
+                }
+            }
+
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        return handlers;
+    }
+
+    private boolean isOverridden(@NotNull ExecutableElement method, @NotNull List<ExecutableElement> handlers, @NotNull TypeElement type) {
+        for (ExecutableElement handler : handlers) {
+            if (elements().overrides(handler, method, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the generated class in the package of the given type can call the method.
+     */
+    private boolean isAccessible(@NotNull TypeElement type, @NotNull ExecutableElement method) {
+        PackageElement target = elements().getPackageOf(type);
+
+        TypeElement owner = (TypeElement) method.getEnclosingElement();
+        if (!isVisible(method, target) || !Mirrors.isAccessible(owner) || !isVisible(owner, target)) {
+            return false;
+        }
+
+        TypeElement event = (TypeElement) types().asElement(types().erasure(method.getParameters().get(0).asType()));
+        return Mirrors.isAccessible(event) && isVisible(event, target);
+    }
+
+    private boolean isVisible(@NotNull Element element, @NotNull PackageElement target) {
+        Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC) || elements().getPackageOf(element).equals(target);
+    }
+
+    private void generate(@NotNull TypeElement type, @NotNull List<ExecutableElement> handlers) {
+        String packageName = elements().getPackageOf(type).getQualifiedName().toString();
+        String simpleName = Mirrors.generatedName(elements(), type, "EventAdapter");
+        String qualifiedName = packageName.isEmpty() ? simpleName : packageName + "." + simpleName;
+        String holderType = type.getQualifiedName().toString();
+
+        // group the methods by their event type, in declaration order
+        Map<String, List<ExecutableElement>> byEvent = new LinkedHashMap<>();
+        for (ExecutableElement method : handlers) {
+            String event = types().erasure(method.getParameters().get(0).asType()).toString();
+            byEvent.computeIfAbsent(event, k -> new ArrayList<>()).add(method);
+        }
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        if (elements().getTypeElement("javax.annotation.processing.Generated") != null) {
+            source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        }
+        source.append("public final class ").append(simpleName).append(" implements ").append(FACTORY).append(" {\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public Class<?> listenerClass() {\n");
+        source.append("        return ").append(holderType).append(".class;\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public net.dv8tion.jda.api.hooks.EventListener create(Object holder) {\n");
+        source.append("        return new Listener(holder);\n");
+        source.append("    }\n\n");
+
+        source.append("    private static final class Listener extends ").append(LISTENER).append(" {\n\n");
+        source.append("        private final ").append(holderType).append(" instance;\n\n");
+
+        source.append("        private Listener(Object holder) {\n");
+        source.append("            super(holder");
+        for (String event : byEvent.keySet()) {
+            source.append(", ").append(event).append(".class");
+        }
+        source.append(");\n");
+        source.append("            this.instance = holder instanceof Class ? null : (").append(holderType).append(") holder;\n");
+
+        boolean hasInstanceMethods = false;
+        for (ExecutableElement method : handlers) {
+            if (!method.getModifiers().contains(Modifier.STATIC)) {
+                if (!hasInstanceMethods) {
+                    source.append("            if (this.instance == null) {\n");
+                    hasInstanceMethods = true;
+                }
+                source.append("                notStatic(").append(literal(method.getSimpleName().toString())).append(");\n");
+            }
+        }
+        if (hasInstanceMethods) {
+            source.append("            }\n");
+        }
+        source.append("        }\n\n");
+
+        source.append("        @Override\n");
+        source.append("        @SuppressWarnings(\"unchecked\")\n");
+        source.append("        public void onEvent(").append(GENERIC_EVENT).append(" event) {\n");
+        for (Map.Entry<String, List<ExecutableElement>> entry : byEvent.entrySet()) {
+            source.append("            if (event instanceof ").append(entry.getKey()).append(") {\n");
+            for (ExecutableElement method : entry.getValue()) {
+                call(source, method, entry.getKey());
+            }
+            source.append("            }\n");
+        }
+        source.append("        }\n\n");
+        source.append("    }\n\n");
+        source.append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        } catch (IOException e) {
+            error(type, "Failed to generate " + qualifiedName + ": " + e);
+            return;
+        }
+
+        this.factories.add(qualifiedName);
+    }
+
+    private void call(@NotNull StringBuilder source, @NotNull ExecutableElement method, @NotNull String event) {
+        String name = method.getSimpleName().toString();
+        boolean isStatic = method.getModifiers().contains(Modifier.STATIC);
+        String indent = isStatic ? "                " : "                    ";
+
+        if (!isStatic) {
+            source.append("                if (this.instance != null) {\n");
+        }
+
+        String receiver = isStatic ? ((TypeElement) method.getEnclosingElement()).getQualifiedName().toString() : "this.instance";
+        source.append(indent).append("try {\n");
+        source.append(indent).append("    ").append(receiver).append(".").append(name).append("((").append(event).append(") event);\n");
+        source.append(indent).append("} catch (Error e) {\n");
+        source.append(indent).append("    throw e;\n");
+        source.append(indent).append("} catch (Throwable e) {\n");
+        source.append(indent).append("    failed(").append(literal(name)).append(", event, e);\n");
+        source.append(indent).append("}\n");
+
+        if (!isStatic) {
+            source.append("                }\n");
+        }
+    }
+
+    @NotNull
+    private String literal(@NotNull Object value) {
+        return elements().getConstantExpression(value);
+    }
+
+    private void error(@NotNull Element element, @NotNull String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private void note(@NotNull Element element, @NotNull String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, message, element);
+    }
+
+    @NotNull
+    private Elements elements() {
+        return processingEnv.getElementUtils();
+    }
+
+    @NotNull
+    private Types types() {
+        return processingEnv.getTypeUtils();
+    }
+
+}
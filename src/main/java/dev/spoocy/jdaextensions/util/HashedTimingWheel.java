@@ -0,0 +1,274 @@
+package dev.spoocy.jdaextensions.util;
+
+import dev.spoocy.utils.common.log.ILogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hashed timing wheel for a large number of coarse timeouts.
+ * <br> Scheduling and cancelling a timeout are O(1). Timeouts are hashed into buckets by their
+ * deadline tick and a bucket is only scanned once per rotation, so timeouts fire up to one tick late.
+ * <br> The wheel has no thread of its own, it is advanced by a task on the given executor
+ * and runs expired tasks on that executor.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class HashedTimingWheel {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final long tickNanos;
+    private final Bucket[] buckets;
+    private final int mask;
+    private final long startNanos;
+
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // the last tick which is being or was processed
+    private volatile long tick;
+
+    @Nullable
+    private ScheduledFuture<?> ticker;
+
+    /**
+     * Creates a wheel with the given resolution.
+     *
+     * @param tickDuration
+     *        the duration of one tick, timeouts fire up to one tick late
+     * @param unit
+     *        the unit of the tick duration
+     * @param wheelSize
+     *        the number of buckets, rounded up to a power of two
+     */
+    public HashedTimingWheel(long tickDuration, @NotNull TimeUnit unit, int wheelSize) {
+        if (tickDuration < 1) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        if (wheelSize < 1 || wheelSize > (1 << 30)) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and 2^30.");
+        }
+
+        int size = Integer.highestOneBit(wheelSize);
+        if (size < wheelSize) {
+            size <<= 1;
+        }
+
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            this.buckets[i] = new Bucket();
+        }
+        this.mask = size - 1;
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts advancing the wheel on the executor once per tick.
+     *
+     * @param executor
+     *        the executor advancing the wheel and running expired tasks
+     */
+    public synchronized void start(@NotNull ScheduledExecutorService executor) {
+        if (this.ticker != null) {
+            throw new IllegalStateException("Timing wheel is already started!");
+        }
+        this.ticker = executor.scheduleAtFixedRate(this::advance, this.tickNanos, this.tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Stops advancing the wheel. Pending timeouts will not fire anymore.
+     */
+    public synchronized void stop() {
+        if (this.ticker != null) {
+            this.ticker.cancel(false);
+            this.ticker = null;
+        }
+    }
+
+    /**
+     * Schedules the task to run once the delay has elapsed.
+     *
+     * @param task
+     *        the task
+     * @param delay
+     *        the delay
+     * @param unit
+     *        the unit of the delay
+     *
+     * @return the timeout, which can be cancelled
+     */
+    @NotNull
+    public Timeout schedule(@NotNull Runnable task, long delay, @NotNull TimeUnit unit) {
+        long elapsed = System.nanoTime() - this.startNanos + unit.toNanos(Math.max(0L, delay));
+        long deadline = (elapsed + this.tickNanos - 1) / this.tickNanos;
+
+        Timeout timeout = new Timeout(this, task);
+        while (true) {
+            deadline = Math.max(deadline, this.tick + 1);
+            Bucket bucket = this.buckets[(int) (deadline & this.mask)];
+
+            synchronized (bucket) {
+                // the bucket may have been processed for this tick in the meantime
+                if (deadline <= this.tick) {
+                    continue;
+                }
+                timeout.deadline = deadline;
+                timeout.bucket = bucket;
+                bucket.add(timeout);
+            }
+            break;
+        }
+
+        this.pending.incrementAndGet();
+        return timeout;
+    }
+
+    /**
+     * @return the number of timeouts which neither fired nor were cancelled yet
+     */
+    public int pendingTimeouts() {
+        return this.pending.get();
+    }
+
+    /**
+     * Processes all ticks which have elapsed since the last call.
+     */
+    public void advance() {
+        long target = (System.nanoTime() - this.startNanos) / this.tickNanos;
+
+        while (this.tick < target) {
+            long current = this.tick + 1;
+            this.tick = current;
+
+            List<Timeout> expired = this.buckets[(int) (current & this.mask)].expire(current);
+            for (Timeout timeout : expired) {
+                this.pending.decrementAndGet();
+                try {
+                    timeout.task.run();
+                } catch (Throwable throwable) {
+                    LOGGER.error("Failed to run timeout task.", throwable);
+                }
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        @Nullable
+        private Timeout head;
+        @Nullable
+        private Timeout tail;
+
+        private void add(@NotNull Timeout timeout) {
+            if (this.tail == null) {
+                this.head = timeout;
+            } else {
+                this.tail.next = timeout;
+                timeout.prev = this.tail;
+            }
+            this.tail = timeout;
+        }
+
+        private void unlink(@NotNull Timeout timeout) {
+            if (timeout.prev == null) {
+                this.head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+
+            if (timeout.next == null) {
+                this.tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        @NotNull
+        private synchronized List<Timeout> expire(long tick) {
+            List<Timeout> expired = null;
+
+            Timeout timeout = this.head;
+            while (timeout != null) {
+                Timeout next = timeout.next;
+                if (timeout.deadline <= tick && timeout.expire()) {
+                    unlink(timeout);
+                    if (expired == null) {
+                        expired = new ArrayList<>();
+                    }
+                    expired.add(timeout);
+                }
+                timeout = next;
+            }
+
+            return expired == null ? List.of() : expired;
+        }
+    }
+
+    /**
+     * A task scheduled on a {@link HashedTimingWheel}.
+     */
+    public static final class Timeout {
+
+        private static final int PENDING = 0;
+        private static final int EXPIRED = 1;
+        private static final int CANCELLED = 2;
+
+        private final HashedTimingWheel wheel;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+
+        private long deadline;
+        private Bucket bucket;
+        @Nullable
+        private Timeout prev;
+        @Nullable
+        private Timeout next;
+
+        private Timeout(@NotNull HashedTimingWheel wheel, @NotNull Runnable task) {
+            this.wheel = wheel;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timeout and removes it from the wheel.
+         *
+         * @return {@code true} if the timeout was cancelled, {@code false} if it already fired or was cancelled
+         */
+        public boolean cancel() {
+            if (!this.state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+
+            Bucket bucket = this.bucket;
+            synchronized (bucket) {
+                bucket.unlink(this);
+            }
+            this.wheel.pending.decrementAndGet();
+            return true;
+        }
+
+        public boolean isExpired() {
+            return this.state.get() == EXPIRED;
+        }
+
+        public boolean isCancelled() {
+            return this.state.get() == CANCELLED;
+        }
+
+        private boolean expire() {
+            return this.state.compareAndSet(PENDING, EXPIRED);
+        }
+    }
+
+}
@@ -0,0 +1,306 @@
+package dev.spoocy.jdaextensions.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.LongFunction;
+
+/**
+ * Open addressing hash map with primitive {@code long} keys, meant for snowflake IDs.
+ * <br> Lookups neither box the key nor allocate. Collisions are resolved by linear probing
+ * and removals shift the following entries back, so no tombstones are left behind.
+ * <br> This class is not thread safe. A map which is no longer modified can be read by any number
+ * of threads once it was safely published, which allows copy-on-write use with {@link #LongObjectHashMap(LongObjectHashMap)}.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public class LongObjectHashMap<V> {
+
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    // the key 0 is stored outside of the table, as 0 marks free slots
+    private boolean hasZeroKey;
+    private Object zeroValue;
+
+    public LongObjectHashMap() {
+        this(16);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative.");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Creates a copy of the given map.
+     *
+     * @param other
+     *        the map to copy
+     */
+    public LongObjectHashMap(@NotNull LongObjectHashMap<? extends V> other) {
+        this.keys = other.keys.clone();
+        this.values = other.values.clone();
+        this.mask = other.mask;
+        this.size = other.size;
+        this.hasZeroKey = other.hasZeroKey;
+        this.zeroValue = other.zeroValue;
+    }
+
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0L) {
+            return (V) this.zeroValue;
+        }
+
+        int index = indexOf(key);
+        return index < 0 ? null : (V) this.values[index];
+    }
+
+    public boolean containsKey(long key) {
+        return key == 0L ? this.hasZeroKey : indexOf(key) >= 0;
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @param key
+     *        the key
+     * @param value
+     *        the value, not {@code null}
+     *
+     * @return the previous value of the key, or {@code null} if there was none
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V put(long key, @NotNull V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null.");
+        }
+
+        if (key == 0L) {
+            V previous = (V) this.zeroValue;
+            if (!this.hasZeroKey) {
+                this.hasZeroKey = true;
+                this.size++;
+            }
+            this.zeroValue = value;
+            return previous;
+        }
+
+        int slot = slotOf(key);
+        while (this.keys[slot] != 0L) {
+            if (this.keys[slot] == key) {
+                V previous = (V) this.values[slot];
+                this.values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+
+        this.keys[slot] = key;
+        this.values[slot] = value;
+        if (++this.size > (this.keys.length * LOAD_FACTOR)) {
+            rehash(this.keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Gets the value of the key, computing and storing it first if the key is not present yet.
+     *
+     * @param key
+     *        the key
+     * @param function
+     *        the function creating the value, must not return {@code null}
+     *
+     * @return the present or computed value
+     */
+    @NotNull
+    public V computeIfAbsent(long key, @NotNull LongFunction<? extends V> function) {
+        V value = get(key);
+        if (value == null) {
+            value = function.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key
+     *        the key
+     *
+     * @return the removed value, or {@code null} if the key was not present
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0L) {
+            if (!this.hasZeroKey) {
+                return null;
+            }
+            V previous = (V) this.zeroValue;
+            this.hasZeroKey = false;
+            this.zeroValue = null;
+            this.size--;
+            return previous;
+        }
+
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+
+        V previous = (V) this.values[index];
+        shiftBack(index);
+        this.size--;
+        return previous;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(this.keys, 0L);
+        Arrays.fill(this.values, null);
+        this.hasZeroKey = false;
+        this.zeroValue = null;
+        this.size = 0;
+    }
+
+    /**
+     * Creates a list of all values in no particular order.
+     *
+     * @return a new list of all values
+     */
+    @NotNull
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> values = new ArrayList<>(this.size);
+        if (this.hasZeroKey) {
+            values.add((V) this.zeroValue);
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != 0L) {
+                values.add((V) this.values[i]);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Calls the consumer for every entry in no particular order.
+     * <br> The map must not be modified by the consumer.
+     *
+     * @param consumer
+     *        the consumer
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull EntryConsumer<? super V> consumer) {
+        if (this.hasZeroKey) {
+            consumer.accept(0L, (V) this.zeroValue);
+        }
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.keys[i] != 0L) {
+                consumer.accept(this.keys[i], (V) this.values[i]);
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        int slot = slotOf(key);
+        long current;
+        while ((current = this.keys[slot]) != 0L) {
+            if (current == key) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+        return -1;
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & this.mask;
+    }
+
+    private void shiftBack(int free) {
+        int slot = free;
+        while (true) {
+            slot = (slot + 1) & this.mask;
+            long key = this.keys[slot];
+            if (key == 0L) {
+                break;
+            }
+
+            // move the entry into the free slot if its home slot is not between the free slot and itself
+            int home = slotOf(key);
+            if (((slot - home) & this.mask) >= ((slot - free) & this.mask)) {
+                this.keys[free] = key;
+                this.values[free] = this.values[slot];
+                free = slot;
+            }
+        }
+
+        this.keys[free] = 0L;
+        this.values[free] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != 0L) {
+                int slot = slotOf(key);
+                while (this.keys[slot] != 0L) {
+                    slot = (slot + 1) & this.mask;
+                }
+                this.keys[slot] = key;
+                this.values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = 4;
+        while (capacity * LOAD_FACTOR < expectedSize + 1) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        void accept(long key, V value);
+
+    }
+
+}
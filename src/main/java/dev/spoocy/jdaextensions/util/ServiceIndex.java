@@ -0,0 +1,121 @@
+package dev.spoocy.jdaextensions.util;
+
+import com.google.common.collect.ImmutableMap;
+import dev.spoocy.utils.common.log.ILogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+/**
+ * Index of generated classes provided through the {@link ServiceLoader}, by the class they were generated for.
+ * <br> A broken entry is skipped and logged, the class it was generated for is then not part of the index.
+ *
+ * @author Spoocy99 | GitHub: Spoocy99
+ */
+
+public final class ServiceIndex<S> {
+
+    private static final ILogger LOGGER = ILogger.forThisClass();
+
+    private final Map<Class<?>, S> services;
+
+    private ServiceIndex(@NotNull Map<Class<?>, S> services) {
+        this.services = services;
+    }
+
+    /**
+     * Loads all providers of the given service visible to the context class loader of the current thread,
+     * or to the class loader of the service if the thread has none.
+     * <br> This finds providers of applications running in a container or plugin loader
+     * which does not load them with the class loader of this library.
+     *
+     * @param service
+     *        the service interface
+     * @param key
+     *        gets the class a provider was generated for
+     * @param name
+     *        the name of the index used in log messages
+     *
+     * @return the loaded index
+     */
+    @NotNull
+    public static <S> ServiceIndex<S> load(@NotNull Class<S> service,
+                                           @NotNull Function<? super S, Class<?>> key,
+                                           @NotNull String name) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        return load(service, loader != null ? loader : service.getClassLoader(), key, name);
+    }
+
+    /**
+     * Loads all providers of the given service visible to the given class loader.
+     *
+     * @param service
+     *        the service interface
+     * @param loader
+     *        the class loader used to find the providers, or {@code null} for the system class loader
+     * @param key
+     *        gets the class a provider was generated for
+     * @param name
+     *        the name of the index used in log messages
+     *
+     * @return the loaded index
+     */
+    @NotNull
+    public static <S> ServiceIndex<S> load(@NotNull Class<S> service,
+                                           @Nullable ClassLoader loader,
+                                           @NotNull Function<? super S, Class<?>> key,
+                                           @NotNull String name) {
+        Map<Class<?>, S> services = new LinkedHashMap<>();
+        Iterator<S> iterator = ServiceLoader.load(service, loader).iterator();
+
+        while (hasNext(iterator, name)) {
+            try {
+                S provider = iterator.next();
+                services.put(key.apply(provider), provider);
+            } catch (ServiceConfigurationError e) {
+                LOGGER.warn("Skipping broken entry of the {} index.", name, e);
+            }
+        }
+
+        LOGGER.debug("Loaded {} entries into the {} index", services.size(), name);
+        return new ServiceIndex<>(ImmutableMap.copyOf(services));
+    }
+
+    private static boolean hasNext(@NotNull Iterator<?> iterator, @NotNull String name) {
+        try {
+            return iterator.hasNext();
+        } catch (ServiceConfigurationError e) {
+            LOGGER.warn("Failed to read the {} index.", name, e);
+            return false;
+        }
+    }
+
+    /**
+     * Gets the provider generated for the given class.
+     *
+     * @param clazz
+     *        the class
+     *
+     * @return the provider, or {@code null} if none was generated for the class
+     */
+    @Nullable
+    public S find(@NotNull Class<?> clazz) {
+        return this.services.get(clazz);
+    }
+
+    /**
+     * @return all providers in this index
+     */
+    @NotNull
+    public Collection<S> all() {
+        return this.services.values();
+    }
+
+}
@@ -0,0 +1,88 @@
+package dev.spoocy.jdaextensions.commands.arguments;
+
+import dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Mentions;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageArgumentParserTest {
+
+    @Test
+    public void tokenizerHandlesQuotes() {
+        ArgumentTokenizer tokens = new ArgumentTokenizer("!cmd  one \"two three\" \"open four", 4);
+
+        assertEquals("one", tokens.next().toString());
+        assertEquals("two three", tokens.next().toString());
+        assertEquals("\"open", tokens.next().toString());
+        assertEquals("four", tokens.rest().toString());
+        assertFalse(tokens.hasNext());
+        assertNull(tokens.next());
+    }
+
+    @Test
+    public void parsesAndValidatesArguments() {
+        Message message = message();
+        List<AbstractArgument> schema = List.of(
+                Arguments.user("target", "d", true, false),
+                Arguments.integer("amount", "d", true, false).minValue(1).maxValue(10),
+                Arguments.string("reason", "d", false, false).maxLength(20)
+        );
+
+        List<ParsedArgument> parsed = MessageArgumentParser.parse(schema, "<@!42> 5 spamming the chat", 0, message);
+        assertEquals(3, parsed.size());
+        assertEquals(42L, parsed.get(0).getAsUser().getIdLong());
+        assertEquals(5, parsed.get(1).getAsInt());
+        assertEquals("spamming the chat", parsed.get(2).getAsString());
+
+        assertEquals(2, MessageArgumentParser.parse(schema, "42 10", 0, message).size());
+
+        ArgumentException tooLarge = assertThrows(ArgumentException.class,
+                () -> MessageArgumentParser.parse(schema, "42 11", 0, message));
+        assertEquals("amount", tooLarge.getArgument().name());
+        assertThrows(ArgumentException.class, () -> MessageArgumentParser.parse(schema, "42", 0, message));
+        assertThrows(ArgumentException.class, () -> MessageArgumentParser.parse(schema, "7 1", 0, message));
+        assertThrows(IllegalStateException.class, () -> parsed.get(1).getAsRole());
+    }
+
+    @Test
+    public void mentionTokensRejectOverflowingIds() {
+        assertEquals(Long.MAX_VALUE, MentionTokens.parse("9223372036854775807", MentionTokens.USER));
+        assertEquals(0L, MentionTokens.parse("9223372036854775808", MentionTokens.USER));
+        assertEquals(0L, MentionTokens.userId("<@!9999999999999999999>"));
+        assertEquals(0L, MentionTokens.parse("12345678901234567890", MentionTokens.USER));
+    }
+
+    @Test
+    public void numbersOnlyAcceptPlainDecimals() {
+        Message message = message();
+        List<AbstractArgument> schema = List.of(Arguments.number("value", "d", true, false));
+
+        for (String valid : List.of("5", "-1.5", "+.5", "3.", "2e3", "1.5E-2")) {
+            assertEquals(Double.parseDouble(valid), MessageArgumentParser.parse(schema, valid, 0, message).get(0).getAsDouble(), valid);
+        }
+        for (String invalid : List.of("5d", "1f", "0x1p3", "NaN", "Infinity", ".", "-", "1e", "1e+", "1.2.3")) {
+            assertThrows(ArgumentException.class, () -> MessageArgumentParser.parse(schema, invalid, 0, message), invalid);
+        }
+    }
+
+    private static Message message() {
+        User user = Mockito.mock(User.class);
+        Mockito.when(user.getIdLong()).thenReturn(42L);
+
+        Mentions mentions = Mockito.mock(Mentions.class);
+        Mockito.when(mentions.getUsers()).thenReturn(List.of(user));
+
+        Message message = Mockito.mock(Message.class);
+        Mockito.when(message.getMentions()).thenReturn(mentions);
+        Mockito.when(message.getJDA()).thenReturn(Mockito.mock(JDA.class));
+        Mockito.when(message.isFromGuild()).thenReturn(false);
+        return message;
+    }
+}
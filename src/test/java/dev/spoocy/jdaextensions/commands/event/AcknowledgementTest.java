@@ -0,0 +1,99 @@
+package dev.spoocy.jdaextensions.commands.event;
+
+import dev.spoocy.jdaextensions.commands.manager.CommandManager;
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionHook;
+import net.dv8tion.jda.api.requests.restaction.WebhookMessageCreateAction;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import net.dv8tion.jda.api.utils.messages.MessageCreateData;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AcknowledgementTest {
+
+    @Test
+    public void fastReplyIsSentAsInitialResponse() {
+        SlashCommandInteractionEvent event = event(System.currentTimeMillis());
+        ScheduledExecutorService pool = event.getJDA().getRateLimitPool();
+        ScheduledFuture<?> deferral = Mockito.mock(ScheduledFuture.class);
+        Mockito.<ScheduledFuture<?>>when(pool.schedule(Mockito.any(Runnable.class), Mockito.anyLong(), Mockito.eq(TimeUnit.MILLISECONDS))).thenReturn(deferral);
+
+        ReplyCallbackAction reply = Mockito.mock(ReplyCallbackAction.class);
+        Mockito.when(event.reply(Mockito.any(MessageCreateData.class))).thenReturn(reply);
+        Mockito.when(reply.setEphemeral(true)).thenReturn(reply);
+
+        Acknowledgement acknowledgement = Acknowledgement.adaptive(event, true, 2500, null);
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        Mockito.verify(pool).schedule(Mockito.any(Runnable.class), delay.capture(), Mockito.eq(TimeUnit.MILLISECONDS));
+        assertTrue(delay.getValue() > 0 && delay.getValue() <= 2500);
+
+        new SlashCommandContext(Mockito.mock(CommandManager.class), event, null, acknowledgement).reply("Pong!").queue();
+
+        ArgumentCaptor<MessageCreateData> message = ArgumentCaptor.forClass(MessageCreateData.class);
+        Mockito.verify(event).reply(message.capture());
+        assertEquals("Pong!", message.getValue().getContent());
+        Mockito.verify(reply).queue(null, null);
+        Mockito.verify(deferral).cancel(false);
+        Mockito.verify(event, Mockito.never()).getHook();
+        Mockito.verify(event, Mockito.never()).deferReply(Mockito.anyBoolean());
+        assertFalse(acknowledgement.claim());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void lateInteractionIsDeferredAndRepliesUseTheHook() {
+        SlashCommandInteractionEvent event = event(System.currentTimeMillis() - 5000);
+        ReplyCallbackAction defer = Mockito.mock(ReplyCallbackAction.class);
+        Mockito.when(event.deferReply(false)).thenReturn(defer);
+
+        InteractionHook hook = Mockito.mock(InteractionHook.class);
+        WebhookMessageCreateAction<Message> followUp = Mockito.mock(WebhookMessageCreateAction.class);
+        Mockito.when(event.getHook()).thenReturn(hook);
+        Mockito.when(hook.sendMessage(Mockito.any(MessageCreateData.class))).thenReturn(followUp);
+
+        Acknowledgement acknowledgement = Acknowledgement.adaptive(event, false, 2500, null);
+        Mockito.verify(defer).queue();
+        Mockito.verifyNoInteractions(event.getJDA().getRateLimitPool());
+        assertTrue(acknowledgement.isAcknowledged());
+
+        new SlashCommandContext(Mockito.mock(CommandManager.class), event, null, acknowledgement).reply("Pong!").queue();
+
+        Mockito.verify(followUp).queue(null, null);
+        Mockito.verify(event, Mockito.never()).reply(Mockito.any(MessageCreateData.class));
+    }
+
+    @Test
+    public void deferralIsNeverLaterThanTheBudget() {
+        // the local clock lags behind Discord's, the interaction seems to be created in the future
+        SlashCommandInteractionEvent event = event(System.currentTimeMillis() + 10_000);
+        ScheduledExecutorService pool = event.getJDA().getRateLimitPool();
+
+        Acknowledgement.adaptive(event, false, 2500, null);
+
+        ArgumentCaptor<Long> delay = ArgumentCaptor.forClass(Long.class);
+        Mockito.verify(pool).schedule(Mockito.any(Runnable.class), delay.capture(), Mockito.eq(TimeUnit.MILLISECONDS));
+        assertEquals(2500, delay.getValue());
+    }
+
+    private static SlashCommandInteractionEvent event(long created) {
+        ScheduledExecutorService pool = Mockito.mock(ScheduledExecutorService.class);
+        JDA jda = Mockito.mock(JDA.class);
+        Mockito.when(jda.getRateLimitPool()).thenReturn(pool);
+
+        SlashCommandInteractionEvent event = Mockito.mock(SlashCommandInteractionEvent.class);
+        Mockito.when(event.getJDA()).thenReturn(jda);
+        Mockito.when(event.getIdLong()).thenReturn(TimeUtil.getDiscordTimestamp(created));
+        return event;
+    }
+
+}
@@ -0,0 +1,114 @@
+package dev.spoocy.jdaextensions.commands.event;
+
+import dev.spoocy.jdaextensions.commands.arguments.ArgumentExtractors;
+import dev.spoocy.jdaextensions.commands.arguments.Arguments;
+import dev.spoocy.jdaextensions.commands.arguments.ProvidedArgument;
+import dev.spoocy.jdaextensions.commands.cooldown.Cooldown;
+import dev.spoocy.jdaextensions.commands.manager.CommandManager;
+import dev.spoocy.jdaextensions.commands.permission.CommandPermission;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.interactions.InteractionContextType;
+import net.dv8tion.jda.api.interactions.commands.DefaultMemberPermissions;
+import net.dv8tion.jda.api.interactions.commands.OptionMapping;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SlashCommandContextTest {
+
+    @Test
+    public void argumentsAreReadBySlot() {
+        CommandData command = new CommandData("ban", "d", false, DefaultMemberPermissions.ENABLED, InteractionContextType.GUILD);
+        CommandNodeData node = new CommandNodeData(
+                command, "ban", "d", new CommandPermission[0], false, false, true, false,
+                List.of(
+                        Arguments.string("reason", "d", false, false),
+                        Arguments.integer("days", "d", false, false),
+                        Arguments.string("note", "d", false, false)
+                ),
+                Cooldown.NONE,
+                context -> { }
+        );
+
+        assertEquals(1, node.slotOf("days"));
+        assertEquals(-1, node.slotOf("unknown"));
+
+        // options arrive in a different order than declared and "note" is missing
+        List<OptionMapping> options = List.of(option("days"), option("reason"));
+        SlashCommandInteractionEvent event = Mockito.mock(SlashCommandInteractionEvent.class);
+        Mockito.when(event.getOptions()).thenReturn(options);
+
+        SlashCommandContext context = new SlashCommandContext(Mockito.mock(CommandManager.class), event, node);
+
+        ProvidedArgument days = context.getArgument(1);
+        assertNotNull(days);
+        assertEquals("days", days.getName());
+        assertSame(days, context.getArgument("days"));
+        assertEquals("reason", context.getArgument(0).getName());
+        assertNull(context.getArgument(2));
+        assertNull(context.getArgument("note"));
+        assertNull(context.getArgument(3));
+        assertEquals(2, context.getArguments().size());
+        assertEquals("reason", context.getArguments().get(0).getName());
+
+        Mockito.verify(event, Mockito.times(1)).getOptions();
+    }
+
+    @Test
+    public void legacyContextsResolveTheirNode() {
+        CommandData command = new CommandData("ban", "d", false, DefaultMemberPermissions.ENABLED, InteractionContextType.GUILD);
+        CommandNodeData node = new CommandNodeData(
+                command, "user", "d", new CommandPermission[0], false, false, true, false,
+                List.of(
+                        Arguments.string("reason", "d", false, false),
+                        Arguments.integer("days", "d", false, false)
+                ),
+                Cooldown.NONE,
+                context -> { }
+        );
+        command.addSubCommandData(node);
+
+        CommandManager manager = Mockito.mock(CommandManager.class);
+        Mockito.when(manager.getCommand("ban")).thenReturn(command);
+
+        List<OptionMapping> options = List.of(option("days"));
+        SlashCommandInteractionEvent event = Mockito.mock(SlashCommandInteractionEvent.class);
+        Mockito.when(event.getName()).thenReturn("ban");
+        Mockito.when(event.getSubcommandName()).thenReturn("user");
+        Mockito.when(event.getOptions()).thenReturn(options);
+
+        SlashCommandContext bound = new SlashCommandContext(manager, event);
+        assertEquals("days", bound.getArgument(1).getName());
+        assertTrue(bound.hasArgumentSlots());
+        assertNull(bound.getArgument(0));
+
+        // without a node the options are only found by name
+        SlashCommandContext unbound = new SlashCommandContext(manager, event, null);
+        assertNull(unbound.getArgument(0));
+        assertNull(unbound.getArgument(1));
+        assertEquals("days", unbound.getArgument("days").getName());
+
+        // executors of annotated commands read them by name as well
+        Mockito.when(options.get(0).getAsInt()).thenReturn(7);
+        assertEquals(7, ArgumentExtractors.integer(unbound, 1, "days"));
+        assertNull(ArgumentExtractors.text(unbound, 0, "reason"));
+    }
+
+    @Test
+    public void slotsDefaultToUnavailable() {
+        CommandContext context = Mockito.mock(CommandContext.class, Mockito.CALLS_REAL_METHODS);
+        assertNull(context.getArgument(0));
+        assertFalse(context.hasArgumentSlots());
+    }
+
+    private static OptionMapping option(String name) {
+        OptionMapping option = Mockito.mock(OptionMapping.class);
+        Mockito.when(option.getName()).thenReturn(name);
+        return option;
+    }
+}
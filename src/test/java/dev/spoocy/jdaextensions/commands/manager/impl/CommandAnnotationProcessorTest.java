@@ -4,6 +4,7 @@ import dev.spoocy.jdaextensions.commands.annotations.Command;
 import dev.spoocy.jdaextensions.commands.annotations.Cooldown;
 import dev.spoocy.jdaextensions.commands.annotations.Permissions;
 import dev.spoocy.jdaextensions.commands.arguments.Arguments;
+import dev.spoocy.jdaextensions.commands.arguments.ProvidedArgument;
 import dev.spoocy.jdaextensions.commands.arguments.impl.AbstractArgument;
 import dev.spoocy.jdaextensions.commands.cooldown.CooldownScope;
 import dev.spoocy.jdaextensions.commands.event.CommandContext;
@@ -14,6 +15,7 @@ import dev.spoocy.utils.reflection.accessor.MethodAccessor;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.interactions.InteractionContextType;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 
 import java.util.List;
 import java.util.Set;
@@ -54,6 +56,22 @@ public class CommandAnnotationProcessorTest {
             // noop
         }
 
+    }
+
+    @Command(name = "exec", description = "Executor command")
+    public static class ExecutorFixture {
+
+        static Object[] received;
+
+        @Command.Default
+        private static void execute(CommandContext ctx,
+                                    @Arguments.Text(name = "text", description = "d", minLength = 1, maxLength = 10) String text,
+                                    @Arguments.Integer(name = "count", description = "d", minValue = 0, maxValue = 5, required = false) int count,
+                                    @Arguments.Integer(name = "limit", description = "d", minValue = 0, maxValue = 5, required = false) Integer limit,
+                                    @Arguments.Number(name = "ratio", description = "d", minValue = 0.0, maxValue = 1.0) double ratio) {
+            received = new Object[] { ctx, text, count, limit, ratio };
+        }
+
     }
 
      @Test
@@ -128,4 +146,24 @@ public class CommandAnnotationProcessorTest {
         assertEquals("flag", sub2.getArgumentData().get(0).name());
     }
 
+    @Test
+    public void compiledExecutorReadsArgumentsBySlot() {
+        CommandNodeData root = CommandAnnotationProcessor.parseCommand(ExecutorFixture.class).rootNode();
+
+        ProvidedArgument text = Mockito.mock(ProvidedArgument.class);
+        Mockito.when(text.getAsString()).thenReturn("hello");
+        ProvidedArgument ratio = Mockito.mock(ProvidedArgument.class);
+        Mockito.when(ratio.getAsDouble()).thenReturn(0.5);
+
+        CommandContext context = Mockito.mock(CommandContext.class);
+        Mockito.when(context.hasArgumentSlots()).thenReturn(true);
+        Mockito.when(context.getArgument(0)).thenReturn(text);
+        Mockito.when(context.getArgument(3)).thenReturn(ratio);
+
+        root.execute(context);
+
+        assertArrayEquals(new Object[] { context, "hello", 0, null, 0.5 }, ExecutorFixture.received);
+        Mockito.verify(context, Mockito.never()).getArgument(Mockito.anyString());
+    }
+
 }
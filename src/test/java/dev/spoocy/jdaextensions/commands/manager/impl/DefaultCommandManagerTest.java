@@ -1,8 +1,23 @@
 package dev.spoocy.jdaextensions.commands.manager.impl;
 
+import dev.spoocy.jdaextensions.commands.event.Acknowledgement;
+import dev.spoocy.jdaextensions.commands.manager.CommandListener;
 import dev.spoocy.jdaextensions.commands.structure.DiscordCommand;
 import dev.spoocy.jdaextensions.commands.tree.CommandTree;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.interaction.command.SlashCommandInteractionEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.requests.restaction.interactions.ReplyCallbackAction;
+import net.dv8tion.jda.api.utils.TimeUtil;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,6 +44,60 @@ public class DefaultCommandManagerTest {
         assertNull(mgr.getCommand("foo"));
     }
 
+    @Test
+    public void routesResolveFullCommandPaths() {
+        DefaultCommandManager mgr = DefaultCommandManager.builder().build();
+        mgr.register(new CommandTree("mod", "desc")
+                .executes(ctx -> { })
+                .then(CommandTree.command("kick", "desc").executes(ctx -> { }))
+                .then(CommandTree.group("ban", "desc")
+                        .then(CommandTree.command("temp", "desc").executes(ctx -> { })))
+                .build());
+
+        CommandRoutes routes = mgr.routes();
+        assertEquals(3, routes.size());
+        assertEquals("mod", routes.find("mod").name());
+        assertEquals("kick", routes.find("mod kick").name());
+        assertEquals("temp", routes.find("mod ban temp").name());
+        assertNull(routes.find("mod ban"));
+
+        mgr.removeCommand("mod");
+        assertNull(mgr.routes().find("mod kick"));
+    }
+
+    @Test
+    public void trieMatchesLongestPrefixCommand() {
+        DefaultCommandManager mgr = DefaultCommandManager.builder().messagePrefix("!").build();
+        mgr.register(new CommandTree("mod", "desc")
+                .executes(ctx -> { })
+                .then(CommandTree.group("ban", "desc")
+                        .then(CommandTree.command("temp", "desc").executes(ctx -> { })))
+                .build());
+
+        CommandTrie.Match match = mgr.routes().match("!MOD   ban temp @user 5d", 1);
+        assertNotNull(match);
+        assertEquals("mod ban temp", match.route.path);
+        assertEquals("temp", match.route.subCommand);
+        assertEquals(" @user 5d", "!MOD   ban temp @user 5d".substring(match.end));
+
+        match = mgr.routes().match("!mod ban", 1);
+        assertNotNull(match);
+        assertEquals("mod", match.route.path);
+        assertEquals(4, match.end);
+
+        assertNull(mgr.routes().match("!moderate", 1));
+        assertNull(mgr.routes().match("!help", 1));
+    }
+
+    @Test
+    public void mentionPrefixOnlyMatchesSelf() {
+        assertEquals(6, DefaultCommandManager.mentionLength("<@123> help", 123L));
+        assertEquals(7, DefaultCommandManager.mentionLength("<@!123> help", 123L));
+        assertEquals(-1, DefaultCommandManager.mentionLength("<@124> help", 123L));
+        assertEquals(-1, DefaultCommandManager.mentionLength("<@123 help", 123L));
+        assertEquals(-1, DefaultCommandManager.mentionLength("hello", 123L));
+    }
+
     @Test
     public void setAndGetListener() {
         CommandListenerImpl l = new CommandListenerImpl();
@@ -40,6 +109,111 @@ public class DefaultCommandManagerTest {
         assertSame(l, mgr.getListener());
     }
 
+    @Test
+    public void expiredInteractionsAreDroppedBeforeExecution() {
+        AtomicLong expiredAge = new AtomicLong(-1);
+        AtomicInteger executions = new AtomicInteger();
+        DefaultCommandManager mgr = DefaultCommandManager.builder()
+                .listener(new CommandListener() {
+                    @Override
+                    public void onInteractionExpired(@NotNull SlashCommandInteractionEvent event, long age) {
+                        expiredAge.set(age);
+                    }
+                })
+                .dropExpiredInteractions()
+                .build();
+        mgr.register(new CommandTree("foo", "desc").executes(ctx -> executions.incrementAndGet()).build());
+
+        SlashCommandInteractionEvent late = interaction(System.currentTimeMillis() - 5000);
+        mgr.handleCommand(late);
+
+        assertEquals(0, executions.get());
+        assertTrue(expiredAge.get() >= 5000);
+        Mockito.verify(late, Mockito.never()).deferReply(Mockito.anyBoolean());
+        assertEquals(1, mgr.getLatencies().get("foo").getExpired());
+
+        SlashCommandInteractionEvent fresh = interaction(System.currentTimeMillis());
+        ReplyCallbackAction defer = Mockito.mock(ReplyCallbackAction.class);
+        Mockito.when(fresh.deferReply(Mockito.anyBoolean())).thenReturn(defer);
+        mgr.handleCommand(fresh);
+
+        assertEquals(1, executions.get());
+        Mockito.verify(defer).queue();
+        CommandLatency latency = mgr.getLatencies().get("foo");
+        assertEquals(1, latency.getAcknowledged());
+        assertTrue(latency.getMax(TimeUnit.MILLISECONDS) < Acknowledgement.DEADLINE);
+    }
+
+    @Test
+    public void expiredInteractionsAreExecutedByDefault() {
+        AtomicInteger executions = new AtomicInteger();
+        DefaultCommandManager mgr = DefaultCommandManager.builder().build();
+        mgr.register(new CommandTree("foo", "desc").executes(ctx -> executions.incrementAndGet()).build());
+
+        // a local clock running ahead must not drop every command
+        SlashCommandInteractionEvent late = interaction(System.currentTimeMillis() - 5000);
+        ReplyCallbackAction defer = Mockito.mock(ReplyCallbackAction.class);
+        Mockito.when(late.deferReply(Mockito.anyBoolean())).thenReturn(defer);
+        mgr.handleCommand(late);
+
+        assertEquals(1, executions.get());
+        assertEquals(0, mgr.getLatencies().get("foo").getExpired());
+    }
+
+    @Test
+    public void prefixesAreOnlyResolvedForPossibleCommands() {
+        AtomicInteger loads = new AtomicInteger();
+        AtomicInteger unknown = new AtomicInteger();
+        DefaultCommandManager mgr = DefaultCommandManager.builder()
+                .listener(new CommandListener() {
+                    @Override
+                    public void onUnknownCommand(@NotNull MessageReceivedEvent event) {
+                        unknown.incrementAndGet();
+                    }
+                })
+                .messagePrefix("!")
+                .prefixResolver(guildId -> {
+                    loads.incrementAndGet();
+                    return "$";
+                })
+                .build();
+
+        mgr.handlePrefixCommand(message(true, "!help"));
+        mgr.handlePrefixCommand(message(false, "hello"));
+        assertEquals(0, mgr.getPrefixCache().size());
+        assertEquals(0, loads.get());
+
+        // the prefix of an unseen guild is not known to the filter yet
+        mgr.handlePrefixCommand(message(false, "$help"));
+        mgr.handlePrefixCommand(message(false, "$help"));
+        assertEquals(1, mgr.getPrefixCache().size());
+        assertEquals(1, loads.get());
+        assertEquals(1, unknown.get());
+    }
+
+    private static MessageReceivedEvent message(boolean bot, String content) {
+        User author = Mockito.mock(User.class);
+        Mockito.when(author.isBot()).thenReturn(bot);
+        Message message = Mockito.mock(Message.class);
+        Mockito.when(message.getContentRaw()).thenReturn(content);
+        Guild guild = Mockito.mock(Guild.class);
+        Mockito.when(guild.getIdLong()).thenReturn(1L);
+
+        MessageReceivedEvent event = Mockito.mock(MessageReceivedEvent.class);
+        Mockito.when(event.getAuthor()).thenReturn(author);
+        Mockito.when(event.getMessage()).thenReturn(message);
+        Mockito.when(event.isFromGuild()).thenReturn(true);
+        Mockito.when(event.getGuild()).thenReturn(guild);
+        return event;
+    }
+
+    private static SlashCommandInteractionEvent interaction(long created) {
+        SlashCommandInteractionEvent event = Mockito.mock(SlashCommandInteractionEvent.class);
+        Mockito.when(event.getFullCommandName()).thenReturn("foo");
+        Mockito.when(event.getIdLong()).thenReturn(TimeUtil.getDiscordTimestamp(created));
+        return event;
+    }
+
     static class CommandListenerImpl implements dev.spoocy.jdaextensions.commands.manager.CommandListener {
     }
 }
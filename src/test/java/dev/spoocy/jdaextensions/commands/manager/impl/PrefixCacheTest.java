@@ -0,0 +1,69 @@
+package dev.spoocy.jdaextensions.commands.manager.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PrefixCacheTest {
+
+    @Test
+    public void loadsPrefixesAndFallsBackToDefault() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        PrefixCache cache = new PrefixCache(guildId -> {
+            loads.incrementAndGet();
+            return guildId == 1L ? "?" : guildId == 3L ? "#" : null;
+        }, "!", 2, 1, TimeUnit.HOURS);
+
+        assertEquals("!", cache.get(1L));
+        awaitPrefix(cache, 1L, "?");
+        assertEquals("!", cache.get(2L));
+        awaitLoads(loads, 2);
+        assertTrue(cache.getMisses() >= 2);
+        assertTrue(cache.getHits() >= 1);
+
+        assertTrue(cache.couldBeCommand("?help"));
+        assertTrue(cache.couldBeCommand("!help"));
+        assertFalse(cache.couldBeCommand("hello"));
+
+        // the cache is full, guild 1 was loaded first and is evicted
+        cache.get(3L);
+        awaitLoads(loads, 3);
+        assertEquals(2, cache.size());
+        awaitPrefix(cache, 3L, "#");
+        assertTrue(cache.couldBeCommand("#help"));
+        assertFalse(cache.couldBeCommand("?help"));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void putOverridesLoadedPrefix() {
+        PrefixCache cache = new PrefixCache(guildId -> "?", "!", 10, 1, TimeUnit.HOURS);
+
+        cache.put(5L, "$");
+        assertEquals("$", cache.get(5L));
+
+        cache.invalidate(5L);
+        assertEquals(0, cache.getMisses());
+        cache.get(5L);
+        assertEquals(1, cache.getMisses());
+    }
+
+    private static void awaitPrefix(PrefixCache cache, long guildId, String prefix) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!cache.get(guildId).equals(prefix) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(prefix, cache.get(guildId));
+    }
+
+    private static void awaitLoads(AtomicInteger loads, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (loads.get() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(count, loads.get());
+    }
+}
@@ -1,12 +1,25 @@
 package dev.spoocy.jdaextensions.event;
 
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.events.Event;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -59,6 +72,463 @@ public class AdvancedEventManagerTest {
         assertTrue(secondCalled.get(), "Second listener should have been invoked even if first threw");
     }
 
+    static class OtherEvent extends Event {
+        public OtherEvent() { super(MOCK_JDA); }
+    }
+
+    @Test
+    public void dispatchResolvesSuperTypeHandlers() {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+
+        AtomicInteger calls = new AtomicInteger();
+        mgr.register(new Object() {
+            @net.dv8tion.jda.api.hooks.SubscribeEvent
+            public void specific(MyEvent e) { calls.incrementAndGet(); }
+
+            @net.dv8tion.jda.api.hooks.SubscribeEvent
+            public void generic(GenericEvent e) { calls.incrementAndGet(); }
+        });
+
+        mgr.handle(new MyEvent());
+        assertEquals(2, calls.get());
+
+        mgr.handle(new OtherEvent());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void dispatchTableIsRebuiltOnUnregister() {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+
+        AtomicInteger calls = new AtomicInteger();
+        Object listener = new Object() {
+            @net.dv8tion.jda.api.hooks.SubscribeEvent
+            public void listen(MyEvent e) { calls.incrementAndGet(); }
+        };
+
+        mgr.register(listener);
+        mgr.handle(new MyEvent());
+        assertEquals(1, calls.get());
+
+        mgr.unregister(listener);
+        mgr.handle(new MyEvent());
+        assertEquals(1, calls.get());
+
+        EventListener plain = e -> calls.incrementAndGet();
+        mgr.register(plain);
+        mgr.handle(new MyEvent());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void registrationIsIdentityBasedAndIdempotent() {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+
+        AtomicInteger calls = new AtomicInteger();
+        EventListener listener = e -> calls.incrementAndGet();
+
+        mgr.register(listener);
+        mgr.register(listener);
+        mgr.handle(new MyEvent());
+
+        assertEquals(1, calls.get());
+        assertEquals(1, mgr.getRegisteredListeners().size());
+    }
+
+    @Test
+    public void bulkRegisterAndUnregister() {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+
+        AtomicInteger calls = new AtomicInteger();
+        EventListener first = e -> calls.incrementAndGet();
+        EventListener second = e -> calls.incrementAndGet();
+
+        mgr.registerAll(List.of(first, second));
+        assertEquals(List.of(first, second), mgr.getRegisteredListeners());
+
+        mgr.handle(new MyEvent());
+        assertEquals(2, calls.get());
+
+        mgr.unregisterAll(List.of(first, second));
+        assertTrue(mgr.getRegisteredListeners().isEmpty());
+
+        mgr.handle(new MyEvent());
+        assertEquals(2, calls.get());
+    }
+
+    static class GuildTestEvent extends GenericGuildEvent {
+        final int sequence;
+
+        GuildTestEvent(Guild guild, int sequence) {
+            super(MOCK_JDA, 0, guild);
+            this.sequence = sequence;
+        }
+    }
+
+    @Test
+    public void parallelDispatchKeepsGuildOrder() throws Exception {
+        AdvancedEventManager mgr = AdvancedEventManager.builder()
+                .parallel(4, 16)
+                .build();
+
+        Guild first = Mockito.mock(Guild.class);
+        Mockito.when(first.getIdLong()).thenReturn(1L);
+        Guild second = Mockito.mock(Guild.class);
+        Mockito.when(second.getIdLong()).thenReturn(2L);
+
+        Map<Long, List<Integer>> received = new ConcurrentHashMap<>();
+        CountDownLatch latch = new CountDownLatch(200);
+        mgr.register(new Object() {
+            @net.dv8tion.jda.api.hooks.SubscribeEvent
+            public void listen(GuildTestEvent e) {
+                received.computeIfAbsent(e.getGuild().getIdLong(), k -> new CopyOnWriteArrayList<>()).add(e.sequence);
+                latch.countDown();
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            mgr.handle(new GuildTestEvent(first, i));
+            mgr.handle(new GuildTestEvent(second, i));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (List<Integer> sequences : received.values()) {
+            for (int i = 0; i < sequences.size(); i++) {
+                assertEquals(i, sequences.get(i));
+            }
+        }
+
+        mgr.shutdown();
+
+        // events arriving after the shutdown are dropped instead of failing the gateway thread
+        long dropped = mgr.getDroppedEvents();
+        mgr.handle(new GuildTestEvent(first, 100));
+        assertEquals(dropped + 1, mgr.getDroppedEvents());
+    }
+
+    @Test
+    public void handlerDispatchingOntoItsFullStripeDoesNotDeadlock() throws Exception {
+        AdvancedEventManager mgr = AdvancedEventManager.builder()
+                .parallel(1, 1)
+                .build();
+
+        Guild guild = Mockito.mock(Guild.class);
+        Mockito.when(guild.getIdLong()).thenReturn(1L);
+
+        CountDownLatch latch = new CountDownLatch(4);
+        mgr.register(new Object() {
+            @net.dv8tion.jda.api.hooks.SubscribeEvent
+            public void listen(GuildTestEvent e) {
+                if (e.sequence == 0) {
+                    // the queue of this stripe only has room for one of them
+                    mgr.handle(new GuildTestEvent(guild, 1));
+                    mgr.handle(new GuildTestEvent(guild, 2));
+                    mgr.handle(new GuildTestEvent(guild, 3));
+                }
+                latch.countDown();
+            }
+        });
+
+        mgr.handle(new GuildTestEvent(guild, 0));
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        mgr.shutdown();
+    }
+
+    @Test
+    public void scopedListenersOnlyReceiveTheirGuild() {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+
+        Guild first = Mockito.mock(Guild.class);
+        Mockito.when(first.getIdLong()).thenReturn(1L);
+        Guild second = Mockito.mock(Guild.class);
+        Mockito.when(second.getIdLong()).thenReturn(2L);
+
+        AtomicInteger scopedCalls = new AtomicInteger();
+        AtomicInteger globalCalls = new AtomicInteger();
+        EventListener scoped = e -> scopedCalls.incrementAndGet();
+
+        mgr.register(scoped, ListenerScope.guilds(2L));
+        mgr.register((EventListener) e -> globalCalls.incrementAndGet());
+
+        mgr.handle(new GuildTestEvent(first, 0));
+        mgr.handle(new GuildTestEvent(second, 1));
+        mgr.handle(new MyEvent());
+
+        assertEquals(1, scopedCalls.get());
+        assertEquals(3, globalCalls.get());
+        assertTrue(mgr.getRegisteredListeners().contains(scoped));
+
+        mgr.unregister(scoped);
+        mgr.handle(new GuildTestEvent(second, 2));
+        assertEquals(1, scopedCalls.get());
+    }
+
+    @Test
+    public void unchangedScopesKeepTheirDispatchTables() {
+        ListenerRegistry registry = new ListenerRegistry(new HandlerExecutors(Collections.emptyList()), null);
+        EventListener first = e -> { };
+        EventListener second = e -> { };
+        EventListener global = e -> { };
+
+        registry.register(List.of(first), ListenerScope.guilds(1L));
+        registry.register(List.of(global), null);
+        DispatchTable firstTable = registry.scopeIndex().guildTable(1L);
+        DispatchTable globalTable = registry.dispatchTable();
+
+        registry.register(List.of(second), ListenerScope.guilds(2L));
+        assertSame(firstTable, registry.scopeIndex().guildTable(1L));
+        assertSame(globalTable, registry.dispatchTable());
+        DispatchTable secondTable = registry.scopeIndex().guildTable(2L);
+        assertNotNull(secondTable);
+
+        registry.register(List.of(global), ListenerScope.guilds(1L));
+        registry.unregister(List.of(second));
+        assertSame(firstTable, registry.scopeIndex().guildTable(1L));
+        assertNull(registry.scopeIndex().guildTable(2L));
+    }
+
+    public static class FilteredHolder {
+        final AtomicInteger guarded = new AtomicInteger();
+        final AtomicInteger unguarded = new AtomicInteger();
+
+        @Filter(guildOnly = true)
+        @net.dv8tion.jda.api.hooks.SubscribeEvent
+        public void guildOnly(GenericEvent e) { guarded.incrementAndGet(); }
+
+        @net.dv8tion.jda.api.hooks.SubscribeEvent
+        public void all(GenericEvent e) { unguarded.incrementAndGet(); }
+    }
+
+    @Test
+    public void filteredHandlersAreSkipped() {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+        FilteredHolder holder = new FilteredHolder();
+        mgr.register(holder);
+
+        Guild guild = Mockito.mock(Guild.class);
+        Mockito.when(guild.getIdLong()).thenReturn(1L);
+
+        mgr.handle(new MyEvent());
+        mgr.handle(new GuildTestEvent(guild, 0));
+
+        assertEquals(1, holder.guarded.get());
+        assertEquals(2, holder.unguarded.get());
+    }
+
+    @Test
+    public void asyncHandlersRunOnTheirPoolInGuildOrder() throws Exception {
+        AdvancedEventManager mgr = AdvancedEventManager.builder()
+                .handlerPool("io", 4, 256)
+                .build();
+
+        Guild guild = Mockito.mock(Guild.class);
+        Mockito.when(guild.getIdLong()).thenReturn(1L);
+
+        List<Integer> sequences = new CopyOnWriteArrayList<>();
+        List<String> threads = new CopyOnWriteArrayList<>();
+        CountDownLatch latch = new CountDownLatch(100);
+        mgr.register(new Object() {
+            @Async(value = "io", mode = AsyncMode.ORDERED)
+            @net.dv8tion.jda.api.hooks.SubscribeEvent
+            public void listen(GuildTestEvent e) {
+                sequences.add(e.sequence);
+                threads.add(Thread.currentThread().getName());
+                latch.countDown();
+            }
+        });
+
+        for (int i = 0; i < 100; i++) {
+            mgr.handle(new GuildTestEvent(guild, i));
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < sequences.size(); i++) {
+            assertEquals(i, sequences.get(i));
+        }
+        assertTrue(threads.stream().allMatch(name -> name.startsWith("EventHandler-io-")));
+
+        HandlerPool pool = mgr.getHandlerPools().get(0);
+        assertEquals("io", pool.getName());
+        assertEquals(100, pool.getSubmittedTasks());
+        assertEquals(0, pool.getRejectedTasks());
+
+        mgr.shutdown();
+    }
+
+    @Test
+    public void publisherHonoursRequestedAmountAndBufferSize() throws Exception {
+        AdvancedEventManager mgr = new AdvancedEventManager();
+        EventPublisher<MyEvent> publisher = mgr.publisher(MyEvent.class, 2, BackpressureStrategy.DROP_OLDEST);
+
+        List<MyEvent> received = new CopyOnWriteArrayList<>();
+        List<Flow.Subscription> subscriptions = new ArrayList<>();
+        CountDownLatch completed = new CountDownLatch(1);
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) { subscriptions.add(subscription); }
+
+            @Override
+            public void onNext(MyEvent item) { received.add(item); }
+
+            @Override
+            public void onError(Throwable throwable) { }
+
+            @Override
+            public void onComplete() { completed.countDown(); }
+        });
+
+        MyEvent first = new MyEvent();
+        MyEvent second = new MyEvent();
+        MyEvent third = new MyEvent();
+        mgr.handle(first);
+        mgr.handle(new OtherEvent());
+        mgr.handle(second);
+        mgr.handle(third);
+
+        assertTrue(received.isEmpty());
+        assertEquals(1, publisher.getDroppedEvents());
+
+        subscriptions.get(0).request(10);
+        mgr.shutdown();
+
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(second, third), received);
+        assertEquals(0, publisher.getSubscriberCount());
+        assertEquals(0, mgr.publisherCount());
+        assertTrue(mgr.getRegisteredListeners().isEmpty());
+    }
+
+    @Test
+    public void publisherDeliversOnConfiguredExecutorAndIsReleased() {
+        AtomicInteger tasks = new AtomicInteger();
+        AdvancedEventManager mgr = AdvancedEventManager.builder()
+                .publisherExecutor(task -> {
+                    tasks.incrementAndGet();
+                    task.run();
+                })
+                .build();
+        EventPublisher<MyEvent> publisher = mgr.publisher(MyEvent.class);
+        assertEquals(0, mgr.publisherCount());
+
+        List<MyEvent> received = new ArrayList<>();
+        List<Flow.Subscription> subscriptions = new ArrayList<>();
+        publisher.subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) { subscriptions.add(subscription); }
+
+            @Override
+            public void onNext(MyEvent item) { received.add(item); }
+
+            @Override
+            public void onError(Throwable throwable) { }
+
+            @Override
+            public void onComplete() { }
+        });
+        assertEquals(1, mgr.publisherCount());
+
+        subscriptions.get(0).request(1);
+        MyEvent event = new MyEvent();
+        mgr.handle(event);
+
+        assertEquals(List.of(event), received);
+        assertTrue(tasks.get() > 0);
+
+        subscriptions.get(0).cancel();
+        assertEquals(0, mgr.publisherCount());
+        assertTrue(mgr.getRegisteredListeners().isEmpty());
+    }
+
+    public static class SlowHolder {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Quarantine(QuarantineAction.DISABLE)
+        @net.dv8tion.jda.api.hooks.SubscribeEvent
+        public void slow(MyEvent e) throws InterruptedException {
+            calls.incrementAndGet();
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    public void watchdogQuarantinesSlowHandlers() {
+        AdvancedEventManager mgr = AdvancedEventManager.builder()
+                .watchdog(1, TimeUnit.MILLISECONDS, 1)
+                .quarantine(QuarantineAction.NONE, 2)
+                .build();
+
+        SlowHolder holder = new SlowHolder();
+        AtomicInteger failing = new AtomicInteger();
+        mgr.register(holder);
+        mgr.register((EventListener) e -> {
+            failing.incrementAndGet();
+            throw new IllegalStateException("fail");
+        });
+
+        for (int i = 0; i < 4; i++) {
+            mgr.handle(new MyEvent());
+        }
+
+        assertEquals(2, holder.calls.get());
+        assertEquals(4, failing.get());
+
+        List<ListenerStats> stats = mgr.getListenerStats();
+        assertEquals(2, stats.size());
+
+        ListenerStats slow = stats.get(0);
+        assertEquals("SlowHolder#slow", slow.getName());
+        assertEquals(QuarantineAction.DISABLE, slow.getQuarantine());
+        assertEquals(2, slow.getSlowInvocations());
+        assertTrue(slow.getMax(TimeUnit.MILLISECONDS) >= 5);
+
+        ListenerStats plain = stats.get(1);
+        assertEquals(4, plain.getFailures());
+        assertEquals(QuarantineAction.NONE, plain.getQuarantine());
+
+        slow.release();
+        mgr.handle(new MyEvent());
+        assertEquals(3, holder.calls.get());
+
+        mgr.shutdown();
+    }
+
+    public static class SlowAsyncHolder {
+        final CountDownLatch called = new CountDownLatch(1);
+
+        @Async("io")
+        @net.dv8tion.jda.api.hooks.SubscribeEvent
+        public void slow(MyEvent e) throws InterruptedException {
+            Thread.sleep(5);
+            called.countDown();
+        }
+    }
+
+    @Test
+    public void watchdogTimesAsyncHandlersOnTheirPool() throws Exception {
+        AdvancedEventManager mgr = AdvancedEventManager.builder()
+                .handlerPool("io", 1, 16)
+                .watchdog(1, TimeUnit.MILLISECONDS, 1)
+                .build();
+
+        SlowAsyncHolder holder = new SlowAsyncHolder();
+        mgr.register(holder);
+        mgr.handle(new MyEvent());
+        assertTrue(holder.called.await(5, TimeUnit.SECONDS));
+
+        ListenerStats stats = mgr.getListenerStats().get(0);
+        long deadline = System.currentTimeMillis() + 1000;
+        while (stats.getSampledInvocations() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, stats.getSampledInvocations());
+        assertEquals(1, stats.getSlowInvocations());
+        assertTrue(stats.getMax(TimeUnit.MILLISECONDS) >= 5);
+
+        mgr.shutdown();
+    }
+
     public static class EventThrower {
         @net.dv8tion.jda.api.hooks.SubscribeEvent
         public void on(MyEvent e) { throw new RuntimeException("fail"); }
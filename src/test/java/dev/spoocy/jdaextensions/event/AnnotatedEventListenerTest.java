@@ -41,6 +41,29 @@ public class AnnotatedEventListenerTest {
          assertEquals("hello", holder.last.get());
      }
 
+     static class StaticHolder {
+         static final AtomicReference<String> LAST = new AtomicReference<>(null);
+
+         @SubscribeEvent
+         public static void onMyEvent(MyEvent e) {
+             LAST.set(e.payload);
+         }
+
+         @SubscribeEvent
+         public void onInstance(MyEvent e) {
+             LAST.set("instance");
+         }
+     }
+
+     @Test
+     public void invokesStaticMethodsOfClassHolder() {
+         AnnotatedEventListener listener = new AnnotatedEventListener(StaticHolder.class);
+
+         listener.onEvent(new MyEvent("static"));
+
+         assertEquals("static", StaticHolder.LAST.get());
+     }
+
      @Test
      public void equalsAndHashCodeForSameHolder() {
          Holder holder = new Holder();
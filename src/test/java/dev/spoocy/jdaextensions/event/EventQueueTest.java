@@ -0,0 +1,135 @@
+package dev.spoocy.jdaextensions.event;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.Event;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventQueueTest {
+
+    private static final JDA MOCK_JDA = Mockito.mock(JDA.class);
+
+    static class TestEvent extends Event {
+        public TestEvent() { super(MOCK_JDA); }
+    }
+
+    static class UserTestEvent extends GenericUserEvent {
+        public UserTestEvent(User user) { super(MOCK_JDA, 0, user); }
+    }
+
+    private static User user(long id) {
+        User user = Mockito.mock(User.class);
+        Mockito.when(user.getIdLong()).thenReturn(id);
+        return user;
+    }
+
+    @Test
+    public void takesHigherPrioritiesFirst() throws InterruptedException {
+        EventQueue queue = new EventQueue(8, OverflowPolicy.BLOCK);
+
+        GenericEvent low = new TestEvent();
+        GenericEvent normal = new TestEvent();
+        GenericEvent high = new TestEvent();
+
+        queue.offer(low, EventPriority.LOW);
+        queue.offer(normal, EventPriority.NORMAL);
+        queue.offer(high, EventPriority.HIGH);
+
+        assertSame(high, queue.take());
+        assertSame(normal, queue.take());
+        assertSame(low, queue.take());
+        assertEquals(0, queue.size());
+    }
+
+    @Test
+    public void dropsOldestOfLowestPriority() throws InterruptedException {
+        EventQueue queue = new EventQueue(2, OverflowPolicy.DROP_LOWEST);
+
+        GenericEvent oldLow = new TestEvent();
+        GenericEvent newLow = new TestEvent();
+        GenericEvent high = new TestEvent();
+
+        assertTrue(queue.offer(oldLow, EventPriority.LOW));
+        assertTrue(queue.offer(newLow, EventPriority.LOW));
+        assertTrue(queue.offer(high, EventPriority.HIGH));
+
+        assertEquals(1, queue.dropped());
+        assertSame(high, queue.take());
+        assertSame(newLow, queue.take());
+    }
+
+    @Test
+    public void dropsNewEventIfEverythingQueuedIsMoreImportant() throws InterruptedException {
+        EventQueue queue = new EventQueue(1, OverflowPolicy.DROP_LOWEST);
+
+        GenericEvent high = new TestEvent();
+        assertTrue(queue.offer(high, EventPriority.HIGH));
+        assertFalse(queue.offer(new TestEvent(), EventPriority.LOW));
+
+        assertEquals(1, queue.dropped());
+        assertSame(high, queue.take());
+    }
+
+    @Test
+    public void coalescesEventsOfSameUser() throws InterruptedException {
+        EventQueue queue = new EventQueue(2, OverflowPolicy.COALESCE);
+        User user = user(42L);
+
+        GenericEvent first = new UserTestEvent(user);
+        GenericEvent other = new UserTestEvent(user(7L));
+        GenericEvent second = new UserTestEvent(user);
+
+        queue.offer(first, EventPriority.LOW);
+        queue.offer(other, EventPriority.LOW);
+        assertTrue(queue.offer(second, EventPriority.LOW));
+
+        assertEquals(1, queue.coalesced());
+        assertEquals(0, queue.dropped());
+        assertEquals(2, queue.size());
+        assertSame(second, queue.take());
+        assertSame(other, queue.take());
+    }
+
+    @Test
+    public void closeWakesBlockedProducer() throws InterruptedException {
+        EventQueue queue = new EventQueue(1, OverflowPolicy.BLOCK);
+        queue.offer(new TestEvent(), EventPriority.NORMAL);
+
+        AtomicBoolean queued = new AtomicBoolean(true);
+        Thread producer = new Thread(() -> {
+            try {
+                queued.set(queue.offer(new TestEvent(), EventPriority.NORMAL));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        queue.close();
+        producer.join(5000);
+
+        assertFalse(producer.isAlive());
+        assertFalse(queued.get());
+        assertEquals(1, queue.dropped());
+        assertFalse(queue.tryOffer(new TestEvent(), EventPriority.HIGH));
+    }
+
+    @Test
+    public void classifiesEventsByConfiguredPriority() {
+        PriorityTable defaults = new PriorityTable(Collections.emptyMap());
+        assertEquals(EventPriority.NORMAL, defaults.get(TestEvent.class));
+        assertEquals(EventPriority.LOW, defaults.get(UserTestEvent.class));
+
+        PriorityTable configured = new PriorityTable(Collections.singletonMap(GenericUserEvent.class, EventPriority.HIGH));
+        assertEquals(EventPriority.HIGH, configured.get(UserTestEvent.class));
+    }
+
+}
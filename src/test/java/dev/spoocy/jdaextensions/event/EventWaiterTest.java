@@ -1,15 +1,26 @@
 package dev.spoocy.jdaextensions.event;
 
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.entities.channel.ChannelType;
+import net.dv8tion.jda.api.entities.channel.unions.MessageChannelUnion;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
 import net.dv8tion.jda.api.events.Event;
 import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
 import org.mockito.Mockito;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -67,6 +78,241 @@ public class EventWaiterTest {
         assertTrue(timedOut.get(), "Timeout action should have been executed");
     }
 
+    static class UserEvent extends GenericUserEvent {
+        public UserEvent(long userId) {
+            super(MOCK_JDA, 0, user(userId));
+        }
+
+        private static User user(long id) {
+            User user = Mockito.mock(User.class);
+            Mockito.when(user.getIdLong()).thenReturn(id);
+            return user;
+        }
+    }
+
+    @Test
+    public void keyedWaitersOnlyMatchTheirUser() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+
+        AtomicInteger tested = new AtomicInteger();
+        EventWaiter.WaitingEvent<UserEvent> keyed = waiter.waitFor(UserEvent.class)
+                .fromUser(42L)
+                .runIf(e -> tested.incrementAndGet() > 0)
+                .build();
+        EventWaiter.WaitingEvent<UserEvent> unkeyed = waiter.waitFor(UserEvent.class)
+                .runIf(e -> e.getUser().getIdLong() == 7L)
+                .build();
+
+        assertEquals(2, waiter.getPendingWaiters(UserEvent.class));
+
+        waiter.onEvent(new UserEvent(1L));
+        assertEquals(0, tested.get());
+
+        waiter.onEvent(new UserEvent(42L));
+        assertEquals(1, tested.get());
+        assertTrue(keyed.wasExecuted());
+        assertFalse(unkeyed.wasExecuted());
+
+        waiter.onEvent(new UserEvent(7L));
+        assertTrue(unkeyed.wasExecuted());
+        assertEquals(0, waiter.getPendingWaiters(UserEvent.class));
+    }
+
+    @Test
+    public void completedWaitersRemoveTheirTimeout() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        waiter.waitFor(TestEvent.class)
+                .timeoutAfter(1, TimeUnit.MINUTES)
+                .runOnTimeout(() -> timedOut.set(true))
+                .build();
+
+        assertEquals(1, waiter.getPendingTimeouts());
+
+        waiter.onEvent(new TestEvent());
+
+        assertEquals(0, waiter.getPendingTimeouts());
+        assertFalse(timedOut.get());
+    }
+
+    @Test
+    public void futureCompletesAndCancelsWaiter() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+
+        CompletableFuture<UserEvent> first = waiter.waitFor(UserEvent.class).fromUser(1L).future();
+        CompletableFuture<UserEvent> second = waiter.waitFor(UserEvent.class).fromUser(2L).future();
+        CompletableFuture<UserEvent> any = EventWaiter.firstOf(first, second);
+
+        UserEvent event = new UserEvent(2L);
+        waiter.onEvent(event);
+
+        assertSame(event, any.get(1, TimeUnit.SECONDS));
+        assertTrue(first.isCancelled());
+        assertEquals(0, waiter.getPendingWaiters(UserEvent.class));
+        assertEquals(0, waiter.getPendingTimeouts());
+    }
+
+    @Test
+    public void futureFailsWhenCallbackThrows() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+
+        EventWaiter.Builder<TestEvent> builder = waiter.waitFor(TestEvent.class)
+                .run(e -> { throw new IllegalArgumentException("expected"); });
+        CompletableFuture<TestEvent> future = builder.future();
+        CompletableFuture<TestEvent> other = builder.future();
+
+        waiter.onEvent(new TestEvent());
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertThrows(ExecutionException.class, () -> other.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void futureTimesOut() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false, 10, TimeUnit.MILLISECONDS);
+
+        CompletableFuture<TestEvent> future = waiter.waitFor(TestEvent.class)
+                .timeout(20, TimeUnit.MILLISECONDS)
+                .future();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(java.util.concurrent.TimeoutException.class, e.getCause());
+        assertEquals(0, waiter.getPendingWaiters(TestEvent.class));
+    }
+
+    @Test
+    public void collectorCollectsUntilLimitOrStopCondition() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+
+        AtomicInteger each = new AtomicInteger();
+        CompletableFuture<List<UserEvent>> limited = waiter.waitFor(UserEvent.class)
+                .fromUser(1L)
+                .collect(2)
+                .onEach(e -> each.incrementAndGet())
+                .future();
+        CompletableFuture<List<UserEvent>> stopped = waiter.waitFor(UserEvent.class)
+                .collect(10)
+                .until(e -> e.getUser().getIdLong() == 3L)
+                .future();
+
+        UserEvent first = new UserEvent(1L);
+        UserEvent second = new UserEvent(1L);
+        waiter.onEvent(first);
+        waiter.onEvent(second);
+        waiter.onEvent(new UserEvent(1L));
+        waiter.onEvent(new UserEvent(3L));
+
+        assertEquals(List.of(first, second), limited.get(1, TimeUnit.SECONDS));
+        assertEquals(2, each.get());
+        assertEquals(3, stopped.get(1, TimeUnit.SECONDS).size());
+        assertEquals(0, waiter.getPendingWaiters(UserEvent.class));
+        assertEquals(0, waiter.getPendingTimeouts());
+    }
+
+    @Test
+    public void collectorFinishesOnTimeout() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false, 10, TimeUnit.MILLISECONDS);
+
+        EventCollector<TestEvent> collector = waiter.waitFor(TestEvent.class)
+                .timeout(30, TimeUnit.MILLISECONDS)
+                .collect(5)
+                .start();
+
+        waiter.onEvent(new TestEvent());
+
+        assertEquals(1, collector.future().get(1, TimeUnit.SECONDS).size());
+        assertTrue(collector.isDone());
+    }
+
+    @Test
+    public void collectorFinishesWhenTimeoutActionThrows() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false, 10, TimeUnit.MILLISECONDS);
+
+        EventCollector<TestEvent> collector = waiter.waitFor(TestEvent.class)
+                .timeout(30, TimeUnit.MILLISECONDS)
+                .runOnTimeout(() -> { throw new IllegalArgumentException("expected"); })
+                .collect(5)
+                .start();
+
+        assertTrue(collector.future().get(1, TimeUnit.SECONDS).isEmpty());
+        assertTrue(collector.isDone());
+    }
+
+    @Test
+    public void userKeyedWaiterReceivesMessageUpdates() throws Exception {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+
+        CompletableFuture<MessageUpdateEvent> future = waiter.waitFor(MessageUpdateEvent.class)
+                .fromUser(42L)
+                .future();
+
+        MessageChannelUnion channel = Mockito.mock(MessageChannelUnion.class);
+        Mockito.when(channel.getType()).thenReturn(ChannelType.PRIVATE);
+        User author = UserEvent.user(42L);
+        Message message = Mockito.mock(Message.class);
+        Mockito.when(message.getChannel()).thenReturn(channel);
+        Mockito.when(message.getAuthor()).thenReturn(author);
+
+        MessageUpdateEvent event = new MessageUpdateEvent(MOCK_JDA, 0, message);
+        assertEquals(42L, EventKeys.userId(event));
+
+        waiter.onEvent(event);
+        assertSame(event, future.get(1, TimeUnit.SECONDS));
+        assertEquals(0, waiter.getPendingWaiters(MessageUpdateEvent.class));
+    }
+
+    @Test
+    public void perUserLimitEvictsOldestWaiter() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+        waiter.setLimits(WaiterLimits.builder().maxPerUser(2).build());
+
+        CompletableFuture<UserEvent> oldest = waiter.waitFor(UserEvent.class).fromUser(42L).future();
+        CompletableFuture<UserEvent> second = waiter.waitFor(UserEvent.class).fromUser(42L).future();
+        CompletableFuture<UserEvent> other = waiter.waitFor(UserEvent.class).fromUser(7L).future();
+        CompletableFuture<UserEvent> newest = waiter.waitFor(UserEvent.class).fromUser(42L).future();
+
+        assertTrue(oldest.isCancelled());
+        assertFalse(second.isDone());
+        assertFalse(other.isDone());
+        assertEquals(3, waiter.getPendingWaiters());
+        assertEquals(Map.of(UserEvent.class, 3), waiter.getPendingWaitersByType());
+
+        waiter.onEvent(new UserEvent(42L));
+        assertTrue(second.isDone());
+        assertTrue(newest.isDone());
+        assertEquals(1, waiter.getPendingWaiters());
+    }
+
+    @Test
+    public void globalLimitRejectsNewWaiters() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        EventWaiter waiter = new EventWaiter(executor, false);
+        waiter.setLimits(WaiterLimits.builder()
+                .maxPending(1)
+                .policy(WaiterLimits.Policy.REJECT)
+                .build());
+
+        EventWaiter.WaitingEvent<TestEvent> first = waiter.waitFor(TestEvent.class).build();
+        assertThrows(IllegalStateException.class, () -> waiter.waitFor(TestEvent.class).build());
+        assertTrue(waiter.waitFor(TestEvent.class).future().isCompletedExceptionally());
+
+        first.cancel();
+        assertNotNull(waiter.waitFor(TestEvent.class).build());
+        assertEquals(1, waiter.getPendingWaiters(TestEvent.class));
+    }
+
     @Test
     public void constructorRejectsShutdownExecutor() {
         executor = Executors.newSingleThreadScheduledExecutor();
@@ -0,0 +1,52 @@
+package dev.spoocy.jdaextensions.event;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandlerPoolTest {
+
+    @Test
+    public void orderedLanesAreBoundedByTheQueueSize() throws Exception {
+        HandlerPool pool = HandlerPool.fixed("test", 1, 2);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(3);
+        AtomicInteger ran = new AtomicInteger();
+
+        assertTrue(pool.execute(1L, () -> {
+            started.countDown();
+            await(release);
+            ran.incrementAndGet();
+            done.countDown();
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+
+        assertTrue(pool.execute(1L, () -> { ran.incrementAndGet(); done.countDown(); }));
+        assertTrue(pool.execute(1L, () -> { ran.incrementAndGet(); done.countDown(); }));
+        assertFalse(pool.execute(1L, ran::incrementAndGet));
+
+        assertEquals(2, pool.getQueueDepth());
+        assertEquals(1, pool.getRejectedTasks());
+        assertEquals(4, pool.getSubmittedTasks());
+
+        release.countDown();
+        assertTrue(done.await(1, TimeUnit.SECONDS));
+        assertEquals(3, ran.get());
+        assertEquals(0, pool.getQueueDepth());
+        pool.shutdown();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
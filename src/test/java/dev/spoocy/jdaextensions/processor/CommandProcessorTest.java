@@ -0,0 +1,147 @@
+package dev.spoocy.jdaextensions.processor;
+
+import dev.spoocy.jdaextensions.commands.arguments.ProvidedArgument;
+import dev.spoocy.jdaextensions.commands.event.CommandContext;
+import dev.spoocy.jdaextensions.commands.manager.CommandRegistrar;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandGroupData;
+import dev.spoocy.jdaextensions.commands.structure.impl.CommandNodeData;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CommandProcessorTest {
+
+    private static final String VALID = String.join("\n",
+            "package demo;",
+            "import dev.spoocy.jdaextensions.commands.annotations.*;",
+            "import dev.spoocy.jdaextensions.commands.arguments.Arguments;",
+            "import dev.spoocy.jdaextensions.commands.cooldown.CooldownScope;",
+            "import dev.spoocy.jdaextensions.commands.event.CommandContext;",
+            "import net.dv8tion.jda.api.entities.channel.concrete.TextChannel;",
+            "@Command(name = \"greet\", description = \"Says \\\"hi\\\"\")",
+            "public class GreetCommand {",
+            "    public static Object[] received;",
+            "    @Command.Default(ephemeral = true)",
+            "    @Cooldown(value = 3, unit = java.util.concurrent.TimeUnit.SECONDS, scope = CooldownScope.GUILD)",
+            "    @Choice.Text(argument = \"mood\", name = \"Happy\", value = \"happy\")",
+            "    static void greet(CommandContext context,",
+            "                      @Arguments.Text(name = \"mood\", description = \"d\", minLength = 1, maxLength = 10) String mood,",
+            "                      @Arguments.Integer(name = \"times\", description = \"d\", minValue = 1, maxValue = 5, required = false) long times) {",
+            "        received = new Object[] { mood, times };",
+            "    }",
+            "    @Command.Sub(name = \"channel\", description = \"d\")",
+            "    @Command.Group(name = \"in\", description = \"d\")",
+            "    @Command.DisableAcknowledge",
+            "    public static void channel(CommandContext context, @Arguments.Channel(name = \"target\", description = \"d\") TextChannel target) { }",
+            "}");
+
+    private static final String INVALID = String.join("\n",
+            "package demo;",
+            "import dev.spoocy.jdaextensions.commands.annotations.*;",
+            "import dev.spoocy.jdaextensions.commands.arguments.Arguments;",
+            "import dev.spoocy.jdaextensions.commands.event.CommandContext;",
+            "@Command(name = \"broken\", description = \"d\")",
+            "public class BrokenCommand {",
+            "    @Command.Default",
+            "    public static void run(CommandContext context, String missing) { }",
+            "    @Command.Sub(name = \"sub\", description = \"d\")",
+            "    public void notStatic(CommandContext context) { }",
+            "    @Command.Sub(name = \"typed\", description = \"d\")",
+            "    public static void typed(CommandContext context, @Arguments.Bool(name = \"flag\", description = \"d\") String flag) { }",
+            "}");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void generatesRegistrarEqualToAnnotations() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(compile("demo/GreetCommand.java", VALID, diagnostics), diagnostics.getDiagnostics().toString());
+
+        Path index = this.directory.resolve("classes/META-INF/services/" + CommandProcessor.REGISTRAR);
+        assertEquals(List.of("demo.GreetCommand_CommandRegistrar"), Files.readAllLines(index));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { this.directory.resolve("classes").toUri().toURL() }, getClass().getClassLoader())) {
+            CommandRegistrar registrar = (CommandRegistrar) loader.loadClass("demo.GreetCommand_CommandRegistrar").getDeclaredConstructor().newInstance();
+            assertEquals("demo.GreetCommand", registrar.commandClass().getName());
+
+            CommandData data = registrar.create();
+            assertEquals("greet", data.name());
+            assertEquals("Says \"hi\"", data.description());
+
+            CommandNodeData root = data.rootNode();
+            assertTrue(root.ephemeral());
+            assertTrue(root.acknowledge());
+            assertEquals(TimeUnit.SECONDS.toMillis(3), root.cooldown().duration().toMillis());
+            assertEquals(2, root.getArgumentData().size());
+            assertEquals("mood", root.getArgumentData().get(0).name());
+            assertFalse(root.getArgumentData().get(1).required());
+
+            CommandGroupData group = data.getSubCommandGroupData("in");
+            CommandNodeData channel = (CommandNodeData) group.getNode("channel");
+            assertFalse(channel.acknowledge());
+
+            ProvidedArgument mood = Mockito.mock(ProvidedArgument.class);
+            Mockito.when(mood.getAsString()).thenReturn("happy");
+            CommandContext context = Mockito.mock(CommandContext.class);
+            Mockito.when(context.getArgument(0)).thenReturn(mood);
+
+            root.execute(context);
+            Object[] received = (Object[]) registrar.commandClass().getField("received").get(null);
+            assertArrayEquals(new Object[] { "happy", 0L }, received);
+        }
+    }
+
+    @Test
+    public void reportsInvalidCommandsAtCompileTime() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile("demo/BrokenCommand.java", INVALID, diagnostics));
+
+        String errors = diagnostics.getDiagnostics().stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(d -> d.getMessage(Locale.ROOT))
+                .collect(Collectors.joining("\n"));
+
+        assertTrue(errors.contains("Parameter 'missing' is not annotated with any argument annotation"), errors);
+        assertTrue(errors.contains("Command method notStatic must be static"), errors);
+        assertTrue(errors.contains("Parameter 'flag' of type java.lang.String cannot hold a Bool argument"), errors);
+        assertFalse(Files.exists(this.directory.resolve("classes/demo/BrokenCommand_CommandRegistrar.class")));
+    }
+
+    private boolean compile(String path, String source, DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        Path file = this.directory.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        Path classes = Files.createDirectories(this.directory.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    files,
+                    diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()),
+                    null,
+                    files.getJavaFileObjects(file.toFile())
+            );
+            task.setProcessors(List.of(new CommandProcessor()));
+            return task.call();
+        }
+    }
+
+}
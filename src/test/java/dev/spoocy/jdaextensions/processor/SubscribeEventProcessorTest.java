@@ -0,0 +1,130 @@
+package dev.spoocy.jdaextensions.processor;
+
+import dev.spoocy.jdaextensions.event.ListenerFactory;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubscribeEventProcessorTest {
+
+    private static final String VALID = String.join("\n",
+            "package demo;",
+            "import net.dv8tion.jda.api.events.GenericEvent;",
+            "import net.dv8tion.jda.api.events.guild.GenericGuildEvent;",
+            "import net.dv8tion.jda.api.events.message.MessageReceivedEvent;",
+            "import net.dv8tion.jda.api.hooks.SubscribeEvent;",
+            "public class GreetListener extends BaseListener {",
+            "    public static final java.util.List<String> calls = new java.util.ArrayList<>();",
+            "    @SubscribeEvent",
+            "    public void onMessage(MessageReceivedEvent event) { calls.add(\"message\"); }",
+            "    @SubscribeEvent",
+            "    public void onFailure(MessageReceivedEvent event) { throw new IllegalStateException(\"expected\"); }",
+            "    @SubscribeEvent",
+            "    static void onAny(GenericEvent event) { calls.add(\"any\"); }",
+            "}",
+            "class BaseListener {",
+            "    @SubscribeEvent",
+            "    void onGuild(GenericGuildEvent event) { GreetListener.calls.add(\"guild\"); }",
+            "}");
+
+    private static final String INVALID = String.join("\n",
+            "package demo;",
+            "import net.dv8tion.jda.api.events.GenericEvent;",
+            "import net.dv8tion.jda.api.hooks.SubscribeEvent;",
+            "public class BrokenListener {",
+            "    @SubscribeEvent",
+            "    public void twoParameters(GenericEvent event, String other) { }",
+            "    @SubscribeEvent",
+            "    public void wrongType(String event) { }",
+            "}");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void generatedListenerCallsMethodsDirectly() throws Exception {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertTrue(compile("demo/GreetListener.java", VALID, diagnostics), diagnostics.getDiagnostics().toString());
+
+        Path index = this.directory.resolve("classes/META-INF/services/" + SubscribeEventProcessor.FACTORY);
+        assertEquals(List.of("demo.BaseListener_EventAdapter", "demo.GreetListener_EventAdapter"), Files.readAllLines(index));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[] { this.directory.resolve("classes").toUri().toURL() }, getClass().getClassLoader())) {
+            ListenerFactory factory = (ListenerFactory) loader.loadClass("demo.GreetListener_EventAdapter").getDeclaredConstructor().newInstance();
+            Class<?> type = factory.listenerClass();
+            assertEquals("demo.GreetListener", type.getName());
+            List<String> calls = (List<String>) type.getField("calls").get(null);
+
+            EventListener listener = factory.create(type.getDeclaredConstructor().newInstance());
+            listener.onEvent(Mockito.mock(MessageReceivedEvent.class));
+            assertEquals(List.of("message", "any"), calls);
+
+            calls.clear();
+            listener.onEvent(Mockito.mock(GenericGuildEvent.class));
+            assertEquals(List.of("any", "guild"), calls);
+
+            // only static methods are called for a registered class
+            calls.clear();
+            factory.create(type).onEvent(Mockito.mock(MessageReceivedEvent.class));
+            assertEquals(List.of("any"), calls);
+
+            calls.clear();
+            listener.onEvent(Mockito.mock(GenericEvent.class));
+            assertEquals(List.of("any"), calls);
+        }
+    }
+
+    @Test
+    public void reportsInvalidMethodsAtCompileTime() throws IOException {
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        assertFalse(compile("demo/BrokenListener.java", INVALID, diagnostics));
+
+        String errors = diagnostics.getDiagnostics().stream()
+                .filter(d -> d.getKind() == Diagnostic.Kind.ERROR)
+                .map(d -> d.getMessage(Locale.ROOT))
+                .collect(Collectors.joining("\n"));
+
+        assertTrue(errors.contains("Method twoParameters in class demo.BrokenListener has @SubscribeEvent annotation but does not have the correct number of parameters."), errors);
+        assertTrue(errors.contains("Method wrongType in class demo.BrokenListener has @SubscribeEvent annotation but has an incorrect parameter type. (java.lang.String)"), errors);
+    }
+
+    private boolean compile(String path, String source, DiagnosticCollector<JavaFileObject> diagnostics) throws IOException {
+        Path file = this.directory.resolve("src").resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.write(file, source.getBytes(StandardCharsets.UTF_8));
+        Path classes = Files.createDirectories(this.directory.resolve("classes"));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, Locale.ROOT, StandardCharsets.UTF_8)) {
+            JavaCompiler.CompilationTask task = compiler.getTask(
+                    null,
+                    files,
+                    diagnostics,
+                    List.of("-classpath", System.getProperty("java.class.path"), "-d", classes.toString()),
+                    null,
+                    files.getJavaFileObjects(file.toFile())
+            );
+            task.setProcessors(List.of(new SubscribeEventProcessor()));
+            return task.call();
+        }
+    }
+
+}
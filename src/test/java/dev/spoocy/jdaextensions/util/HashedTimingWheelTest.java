@@ -0,0 +1,48 @@
+package dev.spoocy.jdaextensions.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HashedTimingWheelTest {
+
+    @Test
+    public void firesExpiredTimeoutsOnly() throws InterruptedException {
+        HashedTimingWheel wheel = new HashedTimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger fired = new AtomicInteger();
+
+        HashedTimingWheel.Timeout soon = wheel.schedule(fired::incrementAndGet, 5, TimeUnit.MILLISECONDS);
+        // longer than one rotation of the wheel
+        HashedTimingWheel.Timeout later = wheel.schedule(fired::incrementAndGet, 1, TimeUnit.MINUTES);
+        assertEquals(2, wheel.pendingTimeouts());
+
+        TimeUnit.MILLISECONDS.sleep(30);
+        wheel.advance();
+
+        assertEquals(1, fired.get());
+        assertTrue(soon.isExpired());
+        assertFalse(later.isExpired());
+        assertEquals(1, wheel.pendingTimeouts());
+    }
+
+    @Test
+    public void cancelledTimeoutsNeverFire() throws InterruptedException {
+        HashedTimingWheel wheel = new HashedTimingWheel(1, TimeUnit.MILLISECONDS, 8);
+        AtomicInteger fired = new AtomicInteger();
+
+        HashedTimingWheel.Timeout timeout = wheel.schedule(fired::incrementAndGet, 5, TimeUnit.MILLISECONDS);
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertEquals(0, wheel.pendingTimeouts());
+
+        TimeUnit.MILLISECONDS.sleep(30);
+        wheel.advance();
+
+        assertEquals(0, fired.get());
+        assertTrue(timeout.isCancelled());
+    }
+
+}
@@ -0,0 +1,73 @@
+package dev.spoocy.jdaextensions.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongObjectHashMapTest {
+
+    @Test
+    public void putGetRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertNull(map.put(0L, "zero"));
+
+        assertEquals("b", map.get(1L));
+        assertEquals("zero", map.get(0L));
+        assertEquals(2, map.size());
+
+        assertEquals("zero", map.remove(0L));
+        assertEquals("b", map.remove(1L));
+        assertNull(map.remove(1L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void behavesLikeHashMap() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(2);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            // small key range to force collisions and removals of probed entries
+            long key = random.nextInt(512) * 4096L;
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, (long) i), map.put(key, (long) i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        assertEquals(expected.size(), map.values().size());
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        map.put(0L, "zero");
+        map.put(42L, "a");
+
+        LongObjectHashMap<String> copy = new LongObjectHashMap<>(map);
+        copy.put(7L, "b");
+        copy.remove(42L);
+
+        assertEquals(2, map.size());
+        assertEquals("a", map.get(42L));
+        assertNull(map.get(7L));
+        assertEquals(2, copy.size());
+        assertEquals("zero", copy.get(0L));
+        assertEquals("b", copy.get(7L));
+        assertNull(copy.get(42L));
+    }
+
+}